@@ -0,0 +1,41 @@
+package keyboard;
+
+import javax.swing.JLabel;
+import javax.swing.SwingUtilities;
+import midi.ChordRecognizer.ChordListener;
+
+/**
+ * This class shows the chord recognizer's chord names in a label. Names arrive
+ * on the MIDI input thread, and the label is updated later on the Event
+ * Dispatch Thread. Chords changed while one is waiting to be shown are shown
+ * together as the latest one.
+ */
+public class ChordDisplay implements ChordListener {
+
+	private final JLabel label;
+	private volatile String latestChord = "";
+	private volatile boolean displayPending = false;
+
+	/**
+	 * @param label
+	 *            - The label that shows the detected chord's name.
+	 */
+	public ChordDisplay(JLabel label) {
+		this.label = label;
+	}
+
+	@Override
+	public void chordChanged(String chordName) {
+		latestChord = chordName;
+		if (!displayPending) {
+			displayPending = true;
+			SwingUtilities.invokeLater(new Runnable() {
+				@Override
+				public void run() {
+					displayPending = false;
+					label.setText(latestChord);
+				}
+			});
+		}
+	}
+}
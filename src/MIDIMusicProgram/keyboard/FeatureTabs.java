@@ -58,7 +58,7 @@ public class FeatureTabs {
 		// Inner border colour
 		instancePanel.setBackground(Color.decode("#FFFFFF"));
 		jListTableWidth = SwingComponents.getJListWidth();
-		DefaultListModel<String> allInstruments = loadedInstruments.getAllInstruments();
+		DefaultListModel<String> allInstruments = components.listModel(loadedInstruments.getAllInstruments());
 		JList<String> jListInstruments = new JList<String>(allInstruments);
 		components.colourFeatureTab(jListInstruments, Color.decode("#505050"));
 		jListInstruments.setLayoutOrientation(JList.HORIZONTAL_WRAP);
@@ -87,7 +87,7 @@ public class FeatureTabs {
 	public JPanel tempoPanel() {
 		MidiMessageTypes midiMessages = MidiMessageTypes.getInstance();
 		JPanel instancePanel = new JPanel();
-		DefaultListModel<String> tempoList = midiMessages.getTemposInModel();
+		DefaultListModel<String> tempoList = components.listModel(midiMessages.getTemposInModel());
 		JList<String> jListTempos = new JList<String>(tempoList);
 		jListTempos.setLayoutOrientation(JList.HORIZONTAL_WRAP);
 		jListTempos.setSelectionMode(ListSelectionModel.SINGLE_INTERVAL_SELECTION);
@@ -105,7 +105,7 @@ public class FeatureTabs {
 				MidiMessageTypes messageTypes = MidiMessageTypes.getInstance();
 				String selectedTempo = "";
 				int index = jListTempos.locationToIndex(tempoPressed.getPoint());
-				selectedTempo = messageTypes.getTemposInModel().getElementAt(index);
+				selectedTempo = messageTypes.getTemposInModel().get(index);
 				selectedTempo = selectedTempo.substring(0, selectedTempo.indexOf(":"));
 
 				// Might be needed if can use tempo for other functions
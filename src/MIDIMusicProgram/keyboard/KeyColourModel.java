@@ -0,0 +1,138 @@
+package keyboard;
+
+import java.awt.Color;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import javax.swing.Timer;
+
+/**
+ * This class holds the colour each piano key should be shown in, indexed by
+ * pitch. Colour mode, the feature sets and playback only change this model,
+ * from whichever thread they run on, and mark the key as changed. Once a frame
+ * the Event Dispatch Thread copies the keys changed since the last frame into
+ * the colours the PianoKeyboard paints, and repaints just those keys. A key
+ * struck and released many times between frames is repainted once, in its
+ * latest colour.
+ */
+public class KeyColourModel {
+
+	private static final int FRAME_MILLIS = 16;
+
+	private final Color[] colours = new Color[Note.MIDI_PITCH_RANGE];
+
+	// The colours last painted, only used on the EDT
+	private final Color[] paintedColours = new Color[Note.MIDI_PITCH_RANGE];
+	private PianoKeyboard piano = null;
+
+	// One bit for each of the 128 MIDI pitches changed since the last frame
+	private long dirtyLow = 0;
+	private long dirtyHigh = 0;
+	private Timer frameTimer = null;
+
+	private static volatile KeyColourModel instance = null;
+
+	private KeyColourModel() {
+		for (int pitch = 0; pitch < Note.MIDI_PITCH_RANGE; pitch++) {
+			colours[pitch] = getKeyColour(pitch);
+			paintedColours[pitch] = colours[pitch];
+		}
+	}
+
+	public static KeyColourModel getInstance() {
+		if (instance == null) {
+			synchronized (KeyColourModel.class) {
+				if (instance == null) {
+					instance = new KeyColourModel();
+				}
+			}
+		}
+		return instance;
+	}
+
+	/**
+	 * @return The colour of a key when it is not being played.
+	 */
+	public static Color getKeyColour(int pitch) {
+		return PianoKeyboard.isSharp(pitch) ? Color.BLACK : Color.WHITE;
+	}
+
+	/**
+	 * Sets the piano the model is painted on, and starts painting changed keys
+	 * once a frame.
+	 *
+	 * @param keyboard
+	 *            - The internal controller's keys.
+	 */
+	public synchronized void setPiano(PianoKeyboard keyboard) {
+		piano = keyboard;
+		if (frameTimer == null) {
+			frameTimer = new Timer(FRAME_MILLIS, new ActionListener() {
+				@Override
+				public void actionPerformed(ActionEvent e) {
+					paintChangedKeys();
+				}
+			});
+			frameTimer.setCoalesce(true);
+			frameTimer.start();
+		}
+	}
+
+	/**
+	 * Changes the colour a key should be shown in. The key is painted in the
+	 * next frame.
+	 *
+	 * @param pitch
+	 *            - The MIDI pitch of the key.
+	 * @param colour
+	 *            - The colour to show.
+	 */
+	public synchronized void setColour(int pitch, Color colour) {
+		if (!PianoKeyboard.hasKey(pitch)) {
+			return;
+		}
+		colours[pitch] = colour;
+		if (pitch < 64) {
+			dirtyLow |= 1L << pitch;
+		} else {
+			dirtyHigh |= 1L << (pitch - 64);
+		}
+	}
+
+	public synchronized Color getColour(int pitch) {
+		return colours[pitch];
+	}
+
+	/**
+	 * @return The colour the key was last painted in. Only called on the EDT.
+	 */
+	public Color getPaintedColour(int pitch) {
+		return paintedColours[pitch];
+	}
+
+	/**
+	 * Repaints every key changed since the last frame. Runs on the Event
+	 * Dispatch Thread.
+	 */
+	private void paintChangedKeys() {
+		long changedLow;
+		long changedHigh;
+		synchronized (this) {
+			if (dirtyLow == 0 && dirtyHigh == 0) {
+				return;
+			}
+			changedLow = dirtyLow;
+			changedHigh = dirtyHigh;
+			dirtyLow = 0;
+			dirtyHigh = 0;
+			System.arraycopy(colours, 0, paintedColours, 0, colours.length);
+		}
+		while (changedLow != 0) {
+			piano.repaintKey(Long.numberOfTrailingZeros(changedLow));
+			changedLow &= changedLow - 1;
+		}
+		while (changedHigh != 0) {
+			piano.repaintKey(64 + Long.numberOfTrailingZeros(changedHigh));
+			changedHigh &= changedHigh - 1;
+		}
+	}
+}
@@ -4,15 +4,10 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
-import java.time.Instant;
-import java.util.Timer;
 import javax.sound.midi.InvalidMidiDataException;
-import javax.sound.midi.MetaEventListener;
-import javax.sound.midi.MetaMessage;
 import javax.sound.midi.MidiEvent;
 import javax.sound.midi.Sequence;
 import javax.sound.midi.ShortMessage;
-import javax.sound.midi.Track;
 import javax.swing.JButton;
 import javax.swing.JList;
 import javax.swing.JSlider;
@@ -20,8 +15,9 @@ import javax.swing.JToggleButton;
 import javax.swing.event.ChangeEvent;
 import javax.swing.event.ChangeListener;
 import midiDevices.PlayBackDevices;
-import midi.DurationTimer;
 import midi.MidiMessageTypes;
+import midi.RecordingClock;
+import tools.DebugConsole;
 import tools.MIDIFileManager;
 import tools.MIDIRecord;
 import tools.ScreenPrompt;
@@ -32,12 +28,12 @@ import midiDevices.GetInstruments;
  * includes playing input on the internal controller, recording input, and
  * saving and playing back recorded sequences.
  */
-public class KeyboardInteractions implements ActionListener, ChangeListener, MouseListener, MetaEventListener {
+public class KeyboardInteractions implements ActionListener, ChangeListener, MouseListener {
 
 	// Swing components
 	private JSlider slider;
 	private JToggleButton recordMIDI;
-	private JButton pressedNote;
+	private PianoKeyboard piano;
 	private JToggleButton debugButton;
 	private JToggleButton playMIDI;
 	private JToggleButton saveMIDI;
@@ -45,12 +41,8 @@ public class KeyboardInteractions implements ActionListener, ChangeListener, Mou
 	private JList<String> allInstruments;
 
 	// MIDI Timing and message variables
-	private int durationValue;
-	private long startTick;
-	int resolution;
-	static Timer timer;
 	boolean noteIsOn = true;
-	private int playedNotePitch;
+	private int playedNotePitch = -1;
 	private boolean debugNoNotes = false;
 	private MidiMessageTypes messages = MidiMessageTypes.getInstance();
 	private PlayBackDevices devices = PlayBackDevices.getInstance();
@@ -97,9 +89,8 @@ public class KeyboardInteractions implements ActionListener, ChangeListener, Mou
 	}
 
 	// Construct Create MIDI track
-	public KeyboardInteractions(JButton pressedNote, int playedNotePitch) {
-		this.pressedNote = pressedNote;
-		this.playedNotePitch = playedNotePitch;
+	public KeyboardInteractions(PianoKeyboard piano) {
+		this.piano = piano;
 	}
 
 	// JSlider volume event
@@ -117,12 +108,17 @@ public class KeyboardInteractions implements ActionListener, ChangeListener, Mou
 		if (obj.equals(allInstruments)) {
 			String selectedInstrument = "";
 			int index = allInstruments.locationToIndex(pressed.getPoint());
-			selectedInstrument = getInstruments.getAllInstruments().getElementAt(index);
+			selectedInstrument = getInstruments.getAllInstruments().get(index);
 			getInstruments.selectInstrument(selectedInstrument);
 			getInstruments.instrumentChanged(true);
 		}
 
-		else if (obj.equals(pressedNote)) {
+		else if (obj.equals(piano)) {
+			playedNotePitch = piano.pitchAt(pressed.getPoint());
+			if (playedNotePitch < 0) {
+				return;
+			}
+			piano.setPressedPitch(playedNotePitch);
 
 			// Free play mode
 			if (devices.isFreePlayEnded() == false) {
@@ -135,54 +131,19 @@ public class KeyboardInteractions implements ActionListener, ChangeListener, Mou
 
 			// Record mode
 			else if (devices.isRecEnded() == false) {
+				// Time the press before anything else so the tick is not
+				// delayed by the work below
+				long pressedNanos = System.nanoTime();
 				if (devices.getTrack().size() == 1) {
 					devices.returnSequencer().startRecording();
-					startTick = 0;
+					RecordingClock.getInstance().reset();
 					if (messages.getDebugStatus()) {
-						String startTickString = Long.toString(startTick);
 						messages.sequenceTimingMessages(">>>>>Start timing");
-						messages.sequenceTimingMessages("First Note start tick value is: " + startTickString);
-						// Console debug
-						// System.out.println("First Note start tick value is: "
-						// + startTick);
-					}
-
-				} else if (devices.getTrack().size() >= 3) {
-
-					// Get the current time in milliseconds, and remove the last
-					// note's off time from current time to get absolute time
-					// difference to use later.
-					// Storage of the current time in memory is not needed, only
-					// each note's off time.
-					messages.sequenceTimingMessages(">>>>>START TIME OF NEW NOTE");
-
-					Instant instantOnTime = Instant.now();
-					long timeStampMillisOnTime = instantOnTime.toEpochMilli();
-
-					long diffBetweenRest = timeStampMillisOnTime - DurationTimer.getInstance().getNoteOffTimeStamp();
-					startTick = DurationTimer.getInstance().getCumulativeTime() + diffBetweenRest;
-
-					if (messages.getDebugStatus()) {
-						String rangeRestDiff = Long.toString(diffBetweenRest);
-						messages.sequenceTimingMessages(">>>>>CALCULATE TIME DIFFERENCE BETWEEN INTERVALS");
-						messages.sequenceTimingMessages(
-								"Time stamp of difference between last note and new note: " + rangeRestDiff);
-
-						// Console debug
-						// System.out.println("\nTime stamp of difference
-						// between last note and new note wihtot division: "
-						// + diffBetweenRest);
-
-						String startTickString = Long.toString(startTick);
-						messages.sequenceTimingMessages("Tick time per second based starttick: " + startTickString);
-						// Console debug
-						// System.out.println("\nTick time per second based
-						// starttick: " + startTickString);
 					}
-
 				}
 
 				try {
+					long startTick = RecordingClock.getInstance().tickAt(pressedNanos);
 					if (getInstruments.checkIfinstrumentChanged() == true) {
 						int program = getInstruments.getProgramNumber();
 						ShortMessage changeInstrument = new ShortMessage();
@@ -192,19 +153,15 @@ public class KeyboardInteractions implements ActionListener, ChangeListener, Mou
 						getInstruments.instrumentChanged(false);
 					}
 
-					ShortMessage message = new ShortMessage();
-
 					// Allows immediate wire play back while short messages
 					// are added to sequence
 					devices.freeNotePlay(playedNotePitch);
 
-					// System.out.println("Instrument choice
-					// :"+getInstruments.getChannelSetToInstrument());
-
-					message.setMessage(ShortMessage.NOTE_ON, 0, playedNotePitch, 90);
-					devices.getTrack().add(new MidiEvent(message, startTick));
-
-					DurationTimer.getInstance().setDurationTimer(pressedNote, false);
+					startTick = RecordingClock.getInstance().recordNoteOn(playedNotePitch, pressedNanos);
+					if (messages.getDebugStatus()) {
+						messages.sequenceTimingMessages(">>>>>START TIME OF NEW NOTE");
+						messages.sequenceTimingMessages("Note start tick value is: " + Long.toString(startTick));
+					}
 				} catch (InvalidMidiDataException e1) {
 					e1.printStackTrace();
 				}
@@ -213,67 +170,33 @@ public class KeyboardInteractions implements ActionListener, ChangeListener, Mou
 	}
 
 	public void mouseReleased(MouseEvent e) {
+		long releasedNanos = System.nanoTime();
+		// Only the key pressed is released, wherever the mouse is let go
+		if (playedNotePitch < 0) {
+			return;
+		}
+		piano.setPressedPitch(-1);
 		try {
 			if (devices.isFreePlayEnded() == false) {
 				devices.freeNoteStop(playedNotePitch);
 			}
 
 			if (devices.isRecEnded() == false) {
-				resolution = devices.returnSequencer().getSequence().getResolution();
-				durationValue = DurationTimer.getInstance().getCycledDuration();
-
-				ShortMessage turnNoteOff = new ShortMessage();
-				turnNoteOff.setMessage(ShortMessage.NOTE_OFF, 0, playedNotePitch, 0);
-				devices.getTrack().add(new MidiEvent(turnNoteOff, startTick + durationValue - 1));
-
-				if (messages.getDebugStatus()) {
-					String durationValueString = Integer.toString(durationValue);
-					messages.sequenceTimingMessages(">>>>>CALCULATE DURATION OF A PLAYED NOTE");
-					messages.sequenceTimingMessages("Duration value of note is: " + durationValueString);
-					// Console debug
-					// System.out.println("Duration value of note is: " +
-					// durationValue);
-				}
-
-				// Uses the epoch to capture time in milliseconds when a button
-				// is pressed. This code utilises the absolute time value
-				// approach to rest time in the sequence.
-				Instant instantOffTime = Instant.now();
-				long timeStampMillisOffTime = instantOffTime.toEpochMilli();
-				DurationTimer.getInstance().storeNoteOffTimeStamp(timeStampMillisOffTime);
-				////////////////////////////////////////////////////////
+				long endTick = RecordingClock.getInstance().recordNoteOff(playedNotePitch, releasedNanos);
 
 				// When user released a button before or after it has decayed
 				devices.freeNoteStop(playedNotePitch);
 
-				// Make the value of the duration timer be 0 at end of note
-				// messages construction
-				DurationTimer.getInstance().resetDuration();
-
-				// The true boolean value is used to turn the timer off during
-				// the construction of a new note
-				DurationTimer.getInstance().setDurationTimer(pressedNote, true);
-
-				// Add this note's cumulative time to the time difference
-				// between this note off and new note on (a new button pressed)
-				// and assign the value to the start tick variable
-				long cumulativeTime = startTick + durationValue;
-				DurationTimer.getInstance().storeCumulativeTime(cumulativeTime);
 				if (messages.getDebugStatus()) {
-					String cumulativeTimeString = Long.toString(cumulativeTime);
-					messages.sequenceTimingMessages(">>>>>CALCULATE CUMULATIVE TIME");
-					messages.sequenceTimingMessages(
-							"The cumultive value of start tick and duration is: " + cumulativeTimeString);
-
+					messages.sequenceTimingMessages(">>>>>CALCULATE DURATION OF A PLAYED NOTE");
+					messages.sequenceTimingMessages("Note end tick value is: " + Long.toString(endTick));
 					messages.sequenceTimingMessages(">>>>>END OF NOTE TIMING");
-					// Console debug
-					// System.out.println("The cumulative value of start tick
-					// and duration is: " + cumulativeTime);
 				}
 			}
 		} catch (InvalidMidiDataException e1) {
 			e1.printStackTrace();
 		}
+		playedNotePitch = -1;
 	}
 
 	public void mouseEntered(MouseEvent e) {
@@ -302,7 +225,7 @@ public class KeyboardInteractions implements ActionListener, ChangeListener, Mou
 				if (messages.getDebugStatus() == false && messages.isRecordedDebug() == false) {
 					messages.clearTimingMessages();
 					messages.sequenceTimingMessages(messages.returnDefault());
-					messages.loadDebug();
+					DebugConsole.loadDebug();
 				}
 
 				// DEBUG Scenario 2
@@ -311,7 +234,7 @@ public class KeyboardInteractions implements ActionListener, ChangeListener, Mou
 					// messages.clearTimingMessages();
 					// messages.defaultNoTimingMessages();
 					messages.sequenceTimingMessages(messages.returnDefault());
-					messages.loadDebug();
+					DebugConsole.loadDebug();
 					debugNoNotes = true;
 				}
 
@@ -327,7 +250,7 @@ public class KeyboardInteractions implements ActionListener, ChangeListener, Mou
 					if (debugNoNotes == true) {
 						messages.editTimingMessages();
 					}
-					messages.loadDebug();
+					DebugConsole.loadDebug();
 				}
 
 				// DEBUG Scenario 4
@@ -340,7 +263,7 @@ public class KeyboardInteractions implements ActionListener, ChangeListener, Mou
 					if (debugNoNotes == true) {
 						messages.editTimingMessages();
 					}
-					messages.loadDebug();
+					DebugConsole.loadDebug();
 				}
 			}
 
@@ -356,16 +279,8 @@ public class KeyboardInteractions implements ActionListener, ChangeListener, Mou
 					int empty = devices.getSequence().getTracks()[0].size();
 					if (devices.isRecEnded() == true || empty >= 2 && devices.isRecEnded() == true) {
 
-						// Create meta event data
-						Track[] tracks = devices.returnSequencer().getSequence().getTracks();
-						Track trk = devices.returnSequencer().getSequence().createTrack();
-						for (Track track : tracks) {
-							MidiMessageTypes.generateMetaData(track, trk);
-						}
-						devices.returnSequencer().addMetaEventListener(this);
-
-						// Have to set the new sequence with a track of meta
-						// events onto the sequence
+						// Colour mode follows the notes as the sequencer plays
+						// them, see ColourReceiver
 						Sequence editSequence = devices.returnSequencer().getSequence();
 
 						devices.returnSequencer().setSequence(editSequence);
@@ -391,9 +306,4 @@ public class KeyboardInteractions implements ActionListener, ChangeListener, Mou
 	@Override
 	public void mouseExited(MouseEvent e) {
 	}
-
-	@Override
-	public void meta(MetaMessage metaRec) {
-		messages.eventColors(metaRec);
-	}
 }
\ No newline at end of file
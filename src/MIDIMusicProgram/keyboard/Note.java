@@ -1,9 +1,11 @@
 package keyboard;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import midi.ListOfScales;
+import midi.PitchClassSet;
 
 /**
  * This class defines the construct of a note, and it combines core aspects of
@@ -17,6 +19,14 @@ public class Note {
 	private int octave;
 	private static Map<String, Note> mapOfNotes = new LinkedHashMap<String, Note>();
 
+	// Pitch indexed look up tables, built once from the map of notes
+	public static final int MIDI_PITCH_RANGE = 128;
+	private static Note[] notesByPitch = new Note[MIDI_PITCH_RANGE];
+	private static String[] namesByPitch = new String[MIDI_PITCH_RANGE];
+	private static Map<String, Integer> pitchesByName = new HashMap<String, Integer>();
+	private static int lowestPitch = -1;
+	private static int highestPitch = -1;
+
 	public Note() {
 		;
 	}
@@ -58,6 +68,112 @@ public class Note {
 		return mapOfNotes.get(key);
 	}
 
+	/**
+	 * Builds the pitch indexed tables from the map of notes. Each MIDI pitch
+	 * (0 to 127) has its own slot, so that a note can be found from a pitch
+	 * value without traversing the map. Called once all piano keys have been
+	 * stored as notes.
+	 */
+	public static void buildPitchIndex() {
+		notesByPitch = new Note[MIDI_PITCH_RANGE];
+		namesByPitch = new String[MIDI_PITCH_RANGE];
+		pitchesByName = new HashMap<String, Integer>(mapOfNotes.size() * 2);
+		lowestPitch = -1;
+		highestPitch = -1;
+		for (Note aNote : mapOfNotes.values()) {
+			int pitch = aNote.getPitch();
+			if (pitch >= 0 && pitch < MIDI_PITCH_RANGE) {
+				notesByPitch[pitch] = aNote;
+				namesByPitch[pitch] = aNote.getName();
+				pitchesByName.put(aNote.getName(), pitch);
+				if (lowestPitch == -1 || pitch < lowestPitch) {
+					lowestPitch = pitch;
+				}
+				if (pitch > highestPitch) {
+					highestPitch = pitch;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Stores a note for every key of the piano, from the note's name, and
+	 * indexes them by pitch. The stored notes are used by the chords, scales
+	 * and colour mode, with or without the piano being shown.
+	 * 
+	 * @param lowest
+	 *            - The pitch of the piano's lowest key.
+	 * @param highest
+	 *            - The pitch of the piano's highest key.
+	 */
+	public static void storePianoNotes(int lowest, int highest) {
+		for (int pitch = lowest; pitch <= highest; pitch++) {
+			String noteName = nameOfPitch(pitch);
+			String noteOctave = noteName.substring(noteName.length() - 1, noteName.length());
+			int octaveInNumber = Integer.parseInt(noteOctave);
+			int getValue = convertToPitch(noteName);
+
+			// Store as notes in a map
+			if (noteName.contains("#")) {
+				Note aSharpNote = new Note(noteName, getValue, octaveInNumber, 100, "Sharp");
+				aSharpNote.storeNotes(noteName, aSharpNote);
+			} else {
+				Note aNaturalNote = new Note(noteName, getValue, octaveInNumber, 100, "Natural");
+				aNaturalNote.storeNotes(noteName, aNaturalNote);
+			}
+		}
+
+		// Index all stored notes by pitch for constant time retrieval
+		buildPitchIndex();
+	}
+
+	/**
+	 * @return The note's name with its octave, e.g. "C#4" for pitch 61.
+	 */
+	public static String nameOfPitch(int pitch) {
+		return PitchClassSet.name(pitch) + (pitch / 12 - 1);
+	}
+
+	/** Lowest pitch on the piano (A0), or -1 if the index is not built. */
+	public static int getLowestPitch() {
+		return lowestPitch;
+	}
+
+	/** Highest pitch on the piano (C8), or -1 if the index is not built. */
+	public static int getHighestPitch() {
+		return highestPitch;
+	}
+
+	/**
+	 * Constant time retrieval of a stored note from its MIDI pitch.
+	 * 
+	 * @param pitch
+	 *            - The MIDI pitch value; e.g. C4 equals 60
+	 * @return The matching note, or null if the pitch is not on the piano.
+	 */
+	public static Note getNoteByPitch(int pitch) {
+		if (pitch < 0 || pitch >= MIDI_PITCH_RANGE) {
+			return null;
+		}
+		return notesByPitch[pitch];
+	}
+
+	public static String getNameByPitch(int pitch) {
+		if (pitch < 0 || pitch >= MIDI_PITCH_RANGE) {
+			return null;
+		}
+		return namesByPitch[pitch];
+	}
+
+	/**
+	 * @return The pitch of the stored note name (e.g. "C#4"), or -1 if the
+	 *         name is not on the piano.
+	 */
+	public static int getPitchByName(String noteName) {
+		Integer pitch = pitchesByName.get(noteName);
+		return pitch == null ? -1 : pitch;
+	}
+
 	public String getType() {
 		return accidental;
 	}
@@ -0,0 +1,221 @@
+package keyboard;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.util.Arrays;
+import javax.swing.JComponent;
+
+/**
+ * This class draws the internal controller's 88 keys, from A0 to C8, as one
+ * component. Each key's colour is read from the KeyColourModel, and the
+ * position of every key is worked out from its pitch, so finding the key under
+ * the mouse and repainting a single key both need no search.
+ */
+public class PianoKeyboard extends JComponent {
+
+	private static final long serialVersionUID = 1L;
+
+	public static final int LOWEST_PITCH = 21; // A0
+	public static final int HIGHEST_PITCH = 108; // C8
+
+	private static final boolean[] SHARP_KEYS = { false, true, false, true, false, false, true, false, true, false,
+			true, false };
+
+	private static final Color PRESSED_NATURAL = Color.LIGHT_GRAY;
+	private static final Color PRESSED_SHARP = Color.DARK_GRAY;
+	private static final Font NATURAL_FONT = new Font("Arial", Font.PLAIN, 10);
+	private static final Font SHARP_FONT = new Font("Arial", Font.PLAIN, 6);
+
+	// [pitch] = number of natural keys below it on the piano
+	private final int[] naturalIndex = new int[HIGHEST_PITCH + 1];
+	// [n] = pitch of the nth natural key
+	private final int[] naturalPitches;
+
+	private final int startX;
+	private final int startY;
+	private final int naturalStep;
+	private final int naturalWidth;
+	private final int naturalHeight;
+	private final int sharpWidth;
+	private final int sharpHeight;
+
+	private int pressedPitch = -1;
+
+	// Reused while painting, which only happens on the EDT
+	private final Rectangle paintBounds = new Rectangle();
+	private final String[] keyNames = new String[HIGHEST_PITCH + 1];
+
+	/**
+	 * @param screenWidth
+	 *            - The width of the screen, which the keys are sized to.
+	 */
+	public PianoKeyboard(int screenWidth) {
+		startX = screenWidth / 125;
+		startY = 145;
+		naturalStep = screenWidth / 55;
+		naturalWidth = screenWidth / 58;
+		naturalHeight = 196;
+		sharpWidth = screenWidth / 70;
+		sharpHeight = 126;
+
+		int naturals = 0;
+		int[] pitches = new int[HIGHEST_PITCH - LOWEST_PITCH + 1];
+		for (int pitch = LOWEST_PITCH; pitch <= HIGHEST_PITCH; pitch++) {
+			naturalIndex[pitch] = naturals;
+			keyNames[pitch] = getKeyName(pitch);
+			if (!isSharp(pitch)) {
+				pitches[naturals++] = pitch;
+			}
+		}
+		naturalPitches = Arrays.copyOf(pitches, naturals);
+		setOpaque(false);
+	}
+
+	public static boolean isSharp(int pitch) {
+		return SHARP_KEYS[pitch % 12];
+	}
+
+	public static boolean hasKey(int pitch) {
+		return pitch >= LOWEST_PITCH && pitch <= HIGHEST_PITCH;
+	}
+
+	/**
+	 * @return The key's name with its octave, e.g. "C#4" for pitch 61.
+	 */
+	public static String getKeyName(int pitch) {
+		return Note.nameOfPitch(pitch);
+	}
+
+	/**
+	 * @return The area taken by a key. A sharp key sits across the boundary
+	 *         of the natural keys either side of it.
+	 */
+	public Rectangle getKeyBounds(int pitch) {
+		return keyBounds(pitch, new Rectangle());
+	}
+
+	private Rectangle keyBounds(int pitch, Rectangle bounds) {
+		int x = startX + naturalIndex[pitch] * naturalStep;
+		if (isSharp(pitch)) {
+			bounds.setBounds(x - sharpWidth / 2, startY, sharpWidth, sharpHeight);
+		} else {
+			bounds.setBounds(x, startY, naturalWidth, naturalHeight);
+		}
+		return bounds;
+	}
+
+	/**
+	 * Finds the key at a point. Sharp keys are checked first, as they lie on
+	 * top of the natural keys.
+	 *
+	 * @return The key's pitch, or -1 if there is no key at the point.
+	 */
+	public int pitchAt(Point point) {
+		int x = point.x - startX;
+		int y = point.y - startY;
+		if (x < 0 || y < 0 || y >= naturalHeight) {
+			return -1;
+		}
+		int natural = x / naturalStep;
+		if (natural >= naturalPitches.length) {
+			return -1;
+		}
+		int pitch = naturalPitches[natural];
+		if (y < sharpHeight) {
+			int offset = x - natural * naturalStep;
+			// Right half of the sharp key below the boundary on the left
+			if (offset < sharpWidth - sharpWidth / 2 && pitch - 1 >= LOWEST_PITCH && isSharp(pitch - 1)) {
+				return pitch - 1;
+			}
+			// Left half of the sharp key above the boundary on the right
+			if (offset >= naturalStep - sharpWidth / 2 && pitch + 1 <= HIGHEST_PITCH && isSharp(pitch + 1)) {
+				return pitch + 1;
+			}
+		}
+		if (x - natural * naturalStep >= naturalWidth) {
+			return -1;
+		}
+		return pitch;
+	}
+
+	/**
+	 * Shows a key as held down by the mouse, or no key if -1.
+	 */
+	public void setPressedPitch(int pitch) {
+		if (pitch == pressedPitch) {
+			return;
+		}
+		int released = pressedPitch;
+		pressedPitch = pitch;
+		if (released >= 0) {
+			repaintKey(released);
+		}
+		if (pitch >= 0) {
+			repaintKey(pitch);
+		}
+	}
+
+	/**
+	 * Repaints only the area of one key. A natural key also repaints the sharp
+	 * keys drawn over it.
+	 */
+	public void repaintKey(int pitch) {
+		if (!hasKey(pitch)) {
+			return;
+		}
+		Rectangle bounds = getKeyBounds(pitch);
+		if (!isSharp(pitch)) {
+			bounds.x -= sharpWidth / 2;
+			bounds.width += sharpWidth;
+		}
+		repaint(bounds);
+	}
+
+	@Override
+	protected void paintComponent(Graphics g) {
+		Rectangle clip = g.getClipBounds();
+		if (clip == null) {
+			clip = new Rectangle(0, 0, getWidth(), getHeight());
+		}
+		// Natural keys first, so the sharp keys are drawn over them
+		for (int pitch = LOWEST_PITCH; pitch <= HIGHEST_PITCH; pitch++) {
+			if (!isSharp(pitch)) {
+				paintKey(g, clip, pitch);
+			}
+		}
+		for (int pitch = LOWEST_PITCH; pitch <= HIGHEST_PITCH; pitch++) {
+			if (isSharp(pitch)) {
+				paintKey(g, clip, pitch);
+			}
+		}
+	}
+
+	private void paintKey(Graphics g, Rectangle clip, int pitch) {
+		Rectangle bounds = keyBounds(pitch, paintBounds);
+		if (!bounds.intersects(clip)) {
+			return;
+		}
+		boolean sharp = isSharp(pitch);
+		Color colour = KeyColourModel.getInstance().getPaintedColour(pitch);
+		if (pitch == pressedPitch) {
+			colour = sharp ? PRESSED_SHARP : PRESSED_NATURAL;
+		}
+		g.setColor(colour);
+		g.fillRect(bounds.x, bounds.y, bounds.width, bounds.height);
+		g.setColor(Color.GRAY);
+		g.drawRect(bounds.x, bounds.y, bounds.width - 1, bounds.height - 1);
+
+		// Key name at the bottom of the key
+		String name = keyNames[pitch];
+		g.setFont(sharp ? SHARP_FONT : NATURAL_FONT);
+		g.setColor(sharp ? Color.WHITE : Color.BLACK);
+		FontMetrics metrics = g.getFontMetrics();
+		int textX = bounds.x + (bounds.width - metrics.stringWidth(name)) / 2;
+		int textY = bounds.y + bounds.height - metrics.getDescent() - 2;
+		g.drawString(name, textX, textY);
+	}
+}
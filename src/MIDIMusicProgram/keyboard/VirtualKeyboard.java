@@ -2,16 +2,14 @@ package keyboard;
 
 import javax.swing.*;
 import javax.swing.border.LineBorder;
-import javax.imageio.ImageIO;
 import javax.sound.midi.*;
 import java.awt.*;
 import java.awt.event.*;
 import java.awt.image.BufferedImage;
-import java.io.File;
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.EnumSet;
 import keyboard.FeatureTabs;
+import midi.ChordRecognizer;
+import tools.ImageAssets;
 import tools.MIDIFilePlayer;
 import tools.ScreenPrompt;
 import tools.SwingComponents;
@@ -38,19 +36,13 @@ public class VirtualKeyboard {
 		return instance;
 	}
 
-	private ArrayList<JButton> naturalKeys = new ArrayList<JButton>();
 	private int screenWidth = (int) SwingComponents.getInstance().getScreenWidth();
 	private int screenHeight = (int) SwingComponents.getInstance().getScreenHeight();
-	private int PITCH_OCTAVE = 0;
-	private int START_WHOTE_NOTE_POSITION = screenWidth / 125; // Start from A0
-	// private int START_SHARP_NOTE_POSITION = screenWidth / 45;
-
-	private int START_SHARP_NOTE_POSITION = screenWidth / 55; // Start from A#0
+	private PianoKeyboard piano;
 
 	// Java Swing Components
 	private JPanel originalScreenPrompt = null;
 	private JPanel contentPane = new JPanel();
-	private JLayeredPane allPianoKeysLayeredPanel = new JLayeredPane();
 	private JPanel pianoBackingPanel = new JPanel();
 	private JFrame freeGuiFrame;
 	private JFrame learnGuiFrame;
@@ -64,120 +56,16 @@ public class VirtualKeyboard {
 
 	private SwingComponents components = SwingComponents.getInstance();
 
-	////////////////////////
-	public void storeButtons(JButton noteButton) {
-		naturalKeys.add(noteButton);
-	}
-
-	public ArrayList<JButton> getButtons() {
-		return naturalKeys;
-	}
-
-	/**
-	 * Style whole and accidental keys colour
-	 * 
-	 * @param button
-	 *            - JButton piano key to style
-	 */
-	public void styleKeys(JButton button) {
-		if (button.getText().contains("#")) {
-			button.setForeground(Color.WHITE);
-			button.setBackground(Color.BLACK);
-			allPianoKeysLayeredPanel.add(button, new Integer(1));
-		} else {
-			button.setBackground(Color.WHITE);
-			allPianoKeysLayeredPanel.add(button, new Integer(0));
-		}
-	}
-
 	/**
-	 * Creates the piano's accidental (black) keys.
-	 * 
+	 * Creates the piano's keys, drawn together as one component.
 	 */
-	public void createSharpKeys() throws InvalidMidiDataException, MidiUnavailableException {
-		PITCH_OCTAVE = 0;
-		int counter = 0;
-		boolean end = false;
-		EnumSet<Note.SharpNoteType> sharpKeysEnums = EnumSet.allOf(Note.SharpNoteType.class);
-		while (PITCH_OCTAVE < 8) {
-			if (end) {
-				break;
-			}
-			for (Note.SharpNoteType getNote : sharpKeysEnums) {
-				if (getNote.getSharp().equals("C#")) {
-					PITCH_OCTAVE++;
-				}
-				JButton button = new JButton(getNote.getSharp() + Integer.toString(PITCH_OCTAVE));
-				if (button.getText().startsWith("C") && PITCH_OCTAVE > 0) {
-					// START_SHARP_NOTE_POSITION += screenWidth / 55;
-					START_SHARP_NOTE_POSITION += screenWidth / 105;
-				} else if (button.getText().startsWith("F")) {
-					// START_SHARP_NOTE_POSITION += screenWidth / 42;
-					START_SHARP_NOTE_POSITION += screenWidth / 122;
-				}
-				// button.setBounds(START_SHARP_NOTE_POSITION, 145, screenWidth
-				// / 55, 126);
-				button.setBounds(START_SHARP_NOTE_POSITION, 145, screenWidth / 70, 126);
-				button.setFont(new Font("Arial", Font.PLAIN, 6));
-				button.setVerticalAlignment(SwingConstants.BOTTOM);
-				button.setMargin(new Insets(1, 1, 1, 1));
-				styleKeys(button);
-				storeButtons(button);
-				// START_SHARP_NOTE_POSITION += screenWidth / 35.5;
-
-				if (counter == 35) {
-					end = true;
-					break;
-				} else if (button.getText().startsWith("G")) {
-					// START_SHARP_NOTE_POSITION += screenWidth / 42;
-					START_SHARP_NOTE_POSITION += screenWidth / 55.5;
-				} else {
-					START_SHARP_NOTE_POSITION += screenWidth / 45.5;
-				}
-				counter++;
-			}
-		}
-		counter = 100;
+	public void createPianoKeys() {
+		piano = new PianoKeyboard(screenWidth);
+		KeyColourModel.getInstance().setPiano(piano);
 	}
 
-	/**
-	 * Creates the piano's whole (white) keys.
-	 * 
-	 */
-	public void createWholeKeys() throws InvalidMidiDataException, MidiUnavailableException {
-
-		EnumSet<Note.NoteType> naturalKeysEnums = EnumSet.allOf(Note.NoteType.class);
-		boolean endOctave = false;
-		while (endOctave == false) {
-			for (Note.NoteType getNote : naturalKeysEnums) {
-				JButton button = new JButton(getNote.toString() + Integer.toString(PITCH_OCTAVE));
-
-				// button.setBounds(START_WHOTE_NOTE_POSITION, 145, screenWidth
-				// / 37, 196);
-				button.setBounds(START_WHOTE_NOTE_POSITION, 145, screenWidth / 58, 196);
-				button.setFont(new Font("Arial", Font.PLAIN, 10));
-				button.setVerticalAlignment(SwingConstants.BOTTOM);
-				button.setMargin(new Insets(1, 1, 1, 1));
-
-				// Fixed octave number matches 61 notes keyboard
-				if (getNote.toString().equals("C") && PITCH_OCTAVE == 8) {
-					styleKeys(button);
-					storeButtons(button);
-					endOctave = true;
-					break;
-				}
-				styleKeys(button);
-				storeButtons(button);
-
-				// START_WHOTE_NOTE_POSITION += screenWidth / 38;
-				// Fits in piano
-				START_WHOTE_NOTE_POSITION += screenWidth / 55;
-				if (getNote.toString().equals("B")) {
-					PITCH_OCTAVE++;
-				}
-
-			}
-		}
+	public PianoKeyboard getPiano() {
+		return piano;
 	}
 
 	/**
@@ -198,7 +86,7 @@ public class VirtualKeyboard {
 	}
 
 	public void changeToMIDIKeyboardButton() throws IOException {
-		BufferedImage home = ImageIO.read(new File("src/Images/auxIcon.png"));
+		BufferedImage home = ImageAssets.getInstance().image("src/Images/auxIcon.png");
 		inputButton = components.customJButtonTwo(70, 50, "Home", home, Color.decode("#404040"),
 				Color.decode("#303030"), false);
 
@@ -212,7 +100,7 @@ public class VirtualKeyboard {
 	}
 
 	public void debugModeButton() throws InvalidMidiDataException, IOException {
-		BufferedImage playOff = ImageIO.read(new File("src/Images/DebugImage.png"));
+		BufferedImage playOff = ImageAssets.getInstance().image("src/Images/DebugImage.png");
 		JToggleButton debugMIDI = components.featureJToggleButton(false, 50, 42, "Debug", "Debug",
 				Color.decode("#404040"), Color.WHITE, Color.decode("#303030"), false, playOff, null, false);
 		ActionListener debugButtonActionListener = new KeyboardInteractions(debugMIDI);
@@ -226,8 +114,8 @@ public class VirtualKeyboard {
 	}
 
 	public void recordButton() throws InvalidMidiDataException, IOException {
-		BufferedImage recOff = ImageIO.read(new File("src/Images/recordOff.png"));
-		BufferedImage recOn = ImageIO.read(new File("src/Images/recordOn.png"));
+		BufferedImage recOff = ImageAssets.getInstance().image("src/Images/recordOff.png");
+		BufferedImage recOn = ImageAssets.getInstance().image("src/Images/recordOn.png");
 
 		JToggleButton recordMIDI = components.featureJToggleButton(true, 70, 42, "Off", "recordButton",
 				Color.decode("#404040"), Color.WHITE, Color.decode("#303030"), false, recOff, recOn, false);
@@ -243,8 +131,8 @@ public class VirtualKeyboard {
 	}
 
 	public void playButton() throws IOException {
-		BufferedImage playOff = ImageIO.read(new File("src/Images/play button off.png"));
-		BufferedImage playOn = ImageIO.read(new File("src/Images/play button.png"));
+		BufferedImage playOff = ImageAssets.getInstance().image("src/Images/play button off.png");
+		BufferedImage playOn = ImageAssets.getInstance().image("src/Images/play button.png");
 		JToggleButton playMIDI = components.featureJToggleButtonAlt(50, 42, "playButton", false, false,
 				Color.decode("#404040"), Color.decode("#303030"), playOff, playOn);
 
@@ -259,8 +147,8 @@ public class VirtualKeyboard {
 
 	public void saveMIDIButton() throws IOException {
 
-		BufferedImage saveOff = ImageIO.read(new File("src/Images/midi document.png"));
-		BufferedImage saveOn = ImageIO.read(new File("src/Images/midi document - clicked.png"));
+		BufferedImage saveOff = ImageAssets.getInstance().image("src/Images/midi document.png");
+		BufferedImage saveOn = ImageAssets.getInstance().image("src/Images/midi document - clicked.png");
 		JToggleButton saveMIDI = components.featureJToggleButtonAlt(50, 42, "saveButton", false, false,
 				Color.decode("#404040"), Color.decode("#303030"), saveOff, saveOn);
 
@@ -273,33 +161,30 @@ public class VirtualKeyboard {
 	}
 
 	/**
-	 * This function has two purposes.The first is to use each stored note
-	 * JButton's note name, and subsequently uses the derived pitch value to
-	 * create a note object. Each object is then stored in a map to be used with
-	 * other features. The second purpose is the allow the user to add input to
-	 * the controller using the mouse listener interface.
+	 * Shows the name of the chord held on the MIDI keyboard, as found by the
+	 * chord recognizer.
 	 */
-	public void freePlayOrMakeTrack() throws InvalidMidiDataException, MidiUnavailableException {
-		ArrayList<JButton> retrievedList = getButtons();
-		for (int i = 0; i < retrievedList.size(); i++) {
-			JButton pressedNote = retrievedList.get(i);
-			String noteName = pressedNote.getText();
-			String noteOctave = noteName.substring(noteName.length() - 1, noteName.length());
-			int octaveInNumber = Integer.parseInt(noteOctave);
-			int getValue = Note.convertToPitch(noteName);
-
-			// Store as notes in a map
-			if (noteName.contains("#")) {
-				Note aSharpNote = new Note(noteName, getValue, octaveInNumber, 100, "Sharp");
-				aSharpNote.storeNotes(noteName, aSharpNote);
-			} else {
-				Note aNaturalNote = new Note(noteName, getValue, octaveInNumber, 100, "Natural");
-				aNaturalNote.storeNotes(noteName, aNaturalNote);
-			}
+	public void chordNameDisplay() {
+		JLabel chordName = components.customJLabelEditing("", 120, 42);
+		chordName.setForeground(Color.WHITE);
+		chordName.setFont(new Font("Tahoma", Font.BOLD, 16));
+		ChordRecognizer.getInstance().setChordListener(new ChordDisplay(chordName));
 
-			MouseListener mouseListener = new KeyboardInteractions(pressedNote, getValue);
-			pressedNote.addMouseListener(mouseListener);
-		}
+		aConstraint = components.conditionalConstraints(1, 1, 6, 0, GridBagConstraints.NONE);
+		aConstraint.anchor = GridBagConstraints.LINE_START;
+		aConstraint.gridwidth = 1;
+		innerButtonHolder.add(chordName, aConstraint);
+	}
+
+	/**
+	 * Allows the user to add input to the controller using the mouse listener
+	 * interface. The piano key's notes are stored before this by the theory
+	 * stage of the program's start up, see ProgramMainGUI.loadApplication.
+	 */
+	public void freePlayOrMakeTrack() throws InvalidMidiDataException, MidiUnavailableException {
+		// One listener finds the key pressed from the mouse position
+		MouseListener mouseListener = new KeyboardInteractions(piano);
+		piano.addMouseListener(mouseListener);
 	}
 
 	public void deleteFreeFrame() {
@@ -375,6 +260,7 @@ public class VirtualKeyboard {
 		recordButton();
 		playButton();
 		saveMIDIButton();
+		chordNameDisplay();
 	}
 
 	public JPanel createSpeaker() throws IOException {
@@ -391,9 +277,8 @@ public class VirtualKeyboard {
 		speakerConstraints.fill = GridBagConstraints.BOTH;
 		speaker.add(holdSpeaker);
 
-		BufferedImage image = ImageIO.read(new File("src/Images/Speaker Grill 4.jpg"));
-		Image dimg = image.getScaledInstance(screenWidth / 4, screenHeight / 2, Image.SCALE_SMOOTH);
-		JLabel picLabel = new JLabel(new ImageIcon(dimg));
+		JLabel picLabel = new JLabel(
+				ImageAssets.getInstance().scaledIcon("src/Images/Speaker Grill 4.jpg", screenWidth / 4, screenHeight / 2));
 		holdSpeaker.add(picLabel);
 
 		return speaker;
@@ -429,7 +314,7 @@ public class VirtualKeyboard {
 		redPanelkeysHolder = components.customPanelTwo(screenWidth - 90, 122, Color.decode("#8C1400"),
 				new BorderLayout());
 		pianoBackingPanel.add(redPanelkeysHolder, aConstraint);
-		redPanelkeysHolder.add(allPianoKeysLayeredPanel, BorderLayout.CENTER);
+		redPanelkeysHolder.add(piano, BorderLayout.CENTER);
 
 		aConstraint = components.conditionalConstraints(1, 1, 0, 0, GridBagConstraints.NONE);
 		aConstraint.anchor = GridBagConstraints.LINE_START;
@@ -1,6 +1,7 @@
 package midi;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import keyboard.Note;
 
 /**
@@ -11,6 +12,8 @@ public class Chord {
 
 	private String aChordName = "";
 	private ArrayList<Note> chordNotes = new ArrayList<Note>();
+	private byte[] packedPitches;
+	private int pitchClassMask;
 	private static ArrayList<String> chordList = new ArrayList<String>();
 
 	private static String uiSelectedChordName = "";
@@ -41,65 +44,43 @@ public class Chord {
 	public Chord(String chordName, ArrayList<Note> editedChordNotes) {
 		this.aChordName = chordName;
 		this.chordNotes = editedChordNotes;
+		packedPitches = new byte[chordNotes.size()];
+		for (int i = 0; i < packedPitches.length; i++) {
+			packedPitches[i] = (byte) chordNotes.get(i).getPitch();
+		}
+		pitchClassMask = PitchClassSet.maskOf(packedPitches);
 	}
 
 	// Used in Blues scale, which can add variation to
 	public Chord(String chordName, Note note1, Note note2) {
-		this.aChordName = chordName;
-		this.chordNotes.add(note1);
-		this.chordNotes.add(note2);
+		this(chordName, new ArrayList<Note>(Arrays.asList(note1, note2)));
 	}
 
 	// 3 notes chord
 	// The arraylist segments the notes from the chord name for
 	// easy manipulation of the notes, and to get its size of notes
 	public Chord(String chordName, Note note1, Note note2, Note note3) {
-		this.aChordName = chordName;
-		this.chordNotes.add(note1);
-		this.chordNotes.add(note2);
-		this.chordNotes.add(note3);
+		this(chordName, new ArrayList<Note>(Arrays.asList(note1, note2, note3)));
 	}
 
 	// 4 notes chord - add6, add9, etc
 	public Chord(String chordName, Note note1, Note note2, Note note3, Note note4) {
-		this.aChordName = chordName;
-		this.chordNotes.add(note1);
-		this.chordNotes.add(note2);
-		this.chordNotes.add(note3);
-		this.chordNotes.add(note4);
+		this(chordName, new ArrayList<Note>(Arrays.asList(note1, note2, note3, note4)));
 	}
 
 	// 5 notes chord - dominant seventh, minor Ninth,etc
 	public Chord(String chordName, Note note1, Note note2, Note note3, Note note4, Note note5) {
-		this.aChordName = chordName;
-		this.chordNotes.add(note1);
-		this.chordNotes.add(note2);
-		this.chordNotes.add(note3);
-		this.chordNotes.add(note4);
-		this.chordNotes.add(note5);
+		this(chordName, new ArrayList<Note>(Arrays.asList(note1, note2, note3, note4, note5)));
 	}
 
 	// 6 notes chord - minor Eleventh, dominant Eleventh, etc
 	public Chord(String chordName, Note note1, Note note2, Note note3, Note note4, Note note5, Note note6) {
-		this.aChordName = chordName;
-		this.chordNotes.add(note1);
-		this.chordNotes.add(note2);
-		this.chordNotes.add(note3);
-		this.chordNotes.add(note4);
-		this.chordNotes.add(note5);
-		this.chordNotes.add(note6);
+		this(chordName, new ArrayList<Note>(Arrays.asList(note1, note2, note3, note4, note5, note6)));
 	}
 
 	// 7 notes chord - minor Thirteen, dominant Thirteen, etc
 	public Chord(String chordName, Note note1, Note note2, Note note3, Note note4, Note note5, Note note6, Note note7) {
-		this.aChordName = chordName;
-		this.chordNotes.add(note1);
-		this.chordNotes.add(note2);
-		this.chordNotes.add(note3);
-		this.chordNotes.add(note4);
-		this.chordNotes.add(note5);
-		this.chordNotes.add(note6);
-		this.chordNotes.add(note7);
+		this(chordName, new ArrayList<Note>(Arrays.asList(note1, note2, note3, note4, note5, note6, note7)));
 	}
 
 	public void setChordName(String currentChord) {
@@ -114,6 +95,62 @@ public class Chord {
 		return chordNotes;
 	}
 
+	/**
+	 * PITCH CLASS SET: The chord's notes reduced to a 12-bit mask, with the
+	 * chord's pitches packed in play order alongside it. Both are fixed when
+	 * the chord is created, so comparisons need no traversal of its notes.
+	 */
+	public int getPitchClassMask() {
+		return pitchClassMask;
+	}
+
+	public int size() {
+		return packedPitches.length;
+	}
+
+	public int getPitch(int index) {
+		return packedPitches[index];
+	}
+
+	/** @return The lowest sounding (first) pitch, i.e. the bass note. */
+	public int getBassPitch() {
+		return packedPitches[0];
+	}
+
+	/**
+	 * @return True if both chords use the same pitch classes, regardless of
+	 *         octave or voicing.
+	 */
+	public boolean hasSameNotes(Chord other) {
+		return pitchClassMask == other.pitchClassMask;
+	}
+
+	/**
+	 * @return True if this chord is the other chord with a different note in
+	 *         the bass.
+	 */
+	public boolean isInversionOf(Chord other) {
+		return pitchClassMask == other.pitchClassMask && PitchClassSet
+				.pitchClass(getBassPitch()) != PitchClassSet.pitchClass(other.getBassPitch());
+	}
+
+	/**
+	 * @return True if the interval in semitones above the bass note is in the
+	 *         chord; e.g. 4 for a major third or 3 for a minor third.
+	 */
+	public boolean containsInterval(int semitones) {
+		return PitchClassSet.contains(pitchClassMask, getBassPitch() + semitones);
+	}
+
+	/** @return True if every note of the chord is in the argument set. */
+	public boolean isSubsetOf(int mask) {
+		return PitchClassSet.isSubset(pitchClassMask, mask);
+	}
+
+	public int transposedMask(int semitones) {
+		return PitchClassSet.transpose(pitchClassMask, semitones);
+	}
+
 	//////////////////
 	public static ArrayList<String> getAllChordEnums() {
 		chordList = new ArrayList<String>();
@@ -1,6 +1,5 @@
 package midi;
 import java.util.ArrayList;
-import javax.swing.DefaultListModel;
 import keyboard.Note;
 import midi.ChordProgression.chordSymbol;
 import midi.ChordProgression.majorChordProgressions;
@@ -19,9 +18,6 @@ public class ChordProgressionActions {
 	private chordSymbol[] symbols = chordSymbol.values();
 
 	// Display and user interaction
-	private DefaultListModel<String> storeAllChordProgressions = new DefaultListModel<String>();
-	private DefaultListModel<String> storeMajorChordProgressions = new DefaultListModel<String>();
-	private DefaultListModel<String> storeMinorChordProgressions = new DefaultListModel<String>();
 
 	// Used to get actual chords to be used
 	private ArrayList<String> minorAsString = new ArrayList<String>();
@@ -53,7 +49,6 @@ public class ChordProgressionActions {
 		for (majorChordProgressions prog : majorProgressions) {
 			String progresion = prog.chord;
 			majorAsString.add(progresion);
-			storeMajorChordProgressions.addElement(progresion);
 		}
 	}
 
@@ -61,8 +56,8 @@ public class ChordProgressionActions {
 		return majorAsString;
 	}
 
-	public DefaultListModel<String> getMajorChordProgressions() {
-		return storeMajorChordProgressions;
+	public ArrayList<String> getMajorChordProgressions() {
+		return majorAsString;
 	}
 
 	public void storeMinorProgressionInList() {
@@ -70,12 +65,11 @@ public class ChordProgressionActions {
 		for (minorChordProgressions prog : minorProgressions) {
 			String progresion = prog.chord;
 			minorAsString.add(progresion);
-			storeMinorChordProgressions.addElement(progresion);
 		}
 	}
 
-	public DefaultListModel<String> getMinorChordProgressions() {
-		return storeMinorChordProgressions;
+	public ArrayList<String> getMinorChordProgressions() {
+		return minorAsString;
 	}
 
 	public void storeAllProgressionInList() {
@@ -85,8 +79,8 @@ public class ChordProgressionActions {
 		allAsString.addAll(minorAsString);
 	}
 
-	public DefaultListModel<String> getAllChordProgressions() {
-		return storeAllChordProgressions;
+	public ArrayList<String> getAllChordProgressions() {
+		return allAsString;
 	}
 
 	/**
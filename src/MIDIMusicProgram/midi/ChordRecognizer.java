@@ -0,0 +1,239 @@
+package midi;
+
+import java.util.ArrayList;
+import javax.sound.midi.MidiMessage;
+import javax.sound.midi.ShortMessage;
+import midi.TheoryCatalogue.chordFormulas;
+
+/**
+ * This class names the chord being held on a MIDI keyboard as it is played. It
+ * receives the same messages as the DummyReceiver, keeps the set of held
+ * pitches, and looks the held pitch classes up in a table of every catalogue
+ * chord in all 12 keys. As a chord's inversions share its pitch classes, one
+ * look up finds the chord whichever note is in the bass, and the bass note is
+ * then used to name the inversion.
+ *
+ * Each message costs a few bit operations and one table look up, so the
+ * input thread is never held up. A changed chord name is given to the
+ * ChordListener, e.g. the piano's ChordDisplay, which shows it later on the
+ * Event Dispatch Thread.
+ */
+public class ChordRecognizer {
+
+	/**
+	 * Told the name of the held chord each time it changes. It is called on
+	 * the MIDI input thread, so must return quickly.
+	 */
+	public interface ChordListener {
+		void chordChanged(String chordName);
+	}
+
+	private static final int NO_CHORD = -1;
+	private static final int MIN_CHORD_SIZE = 3;
+
+	// [12-bit pitch class mask] = packed (formula ordinal, root pitch class)
+	// candidates, in catalogue order
+	private final int[][] chordsByMask = new int[PitchClassSet.ALL_PITCH_CLASSES + 1][];
+	private final chordFormulas[] formulas = chordFormulas.values();
+
+	// One bit for each of the 128 MIDI pitches being held down
+	private long heldLow = 0;
+	private long heldHigh = 0;
+
+	private volatile String detectedChord = "";
+	private volatile ChordListener listener = null;
+
+	private static volatile ChordRecognizer instance = null;
+
+	private ChordRecognizer() {
+		buildChordTable();
+	}
+
+	public static ChordRecognizer getInstance() {
+		if (instance == null) {
+			synchronized (ChordRecognizer.class) {
+				if (instance == null) {
+					instance = new ChordRecognizer();
+				}
+			}
+		}
+		return instance;
+	}
+
+	/**
+	 * Fills the look up table with each chord formula transposed to all 12
+	 * roots. Tetrachords and the blues progression's two note chords are left
+	 * out, as they would name partial chords and intervals.
+	 */
+	private void buildChordTable() {
+		ArrayList<ArrayList<Integer>> candidates = new ArrayList<ArrayList<Integer>>();
+		for (int i = 0; i < chordsByMask.length; i++) {
+			candidates.add(null);
+		}
+		for (chordFormulas formula : formulas) {
+			if (formula == chordFormulas.majTetra || formula == chordFormulas.minTetra
+					|| formula == chordFormulas.bluesChord || formula == chordFormulas.fillerBluesChord) {
+				continue;
+			}
+			for (int root = 0; root < 12; root++) {
+				int mask = TheoryCatalogue.getChordMask(formula, root);
+				if (candidates.get(mask) == null) {
+					candidates.set(mask, new ArrayList<Integer>());
+				}
+				candidates.get(mask).add(formula.ordinal() << 4 | root);
+			}
+		}
+		for (int mask = 0; mask < chordsByMask.length; mask++) {
+			ArrayList<Integer> found = candidates.get(mask);
+			if (found != null) {
+				chordsByMask[mask] = new int[found.size()];
+				for (int i = 0; i < found.size(); i++) {
+					chordsByMask[mask][i] = found.get(i);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Sets the listener told of the detected chord's name, or null for none.
+	 */
+	public void setChordListener(ChordListener chordListener) {
+		listener = chordListener;
+	}
+
+	public String getDetectedChord() {
+		return detectedChord;
+	}
+
+	/**
+	 * Updates the held notes from a MIDI keyboard message, and names the chord
+	 * they make if it has changed.
+	 *
+	 * @param msg
+	 *            - the MidiMessage transmitted by the MIDI Keyboard device's
+	 *            MIDI Output port.
+	 */
+	public void process(MidiMessage msg) {
+		if (!(msg instanceof ShortMessage)) {
+			return;
+		}
+		ShortMessage message = (ShortMessage) msg;
+		switch (message.getCommand()) {
+		case ShortMessage.NOTE_ON:
+			// NOTE_ON (0) is used by most keyboards to release a note
+			if (message.getData2() == 0) {
+				release(message.getData1());
+			} else {
+				hold(message.getData1());
+			}
+			break;
+		case ShortMessage.NOTE_OFF:
+			release(message.getData1());
+			break;
+		case ShortMessage.CONTROL_CHANGE:
+			// All Sound Off and All Notes Off
+			if (message.getData1() == 120 || message.getData1() == 123) {
+				heldLow = 0;
+				heldHigh = 0;
+			} else {
+				return;
+			}
+			break;
+		default:
+			return;
+		}
+		publish(recognise());
+	}
+
+	private void hold(int pitch) {
+		if (pitch < 64) {
+			heldLow |= 1L << pitch;
+		} else {
+			heldHigh |= 1L << (pitch - 64);
+		}
+	}
+
+	private void release(int pitch) {
+		if (pitch < 64) {
+			heldLow &= ~(1L << pitch);
+		} else {
+			heldHigh &= ~(1L << (pitch - 64));
+		}
+	}
+
+	/**
+	 * @return The name of the chord made by the held notes, e.g. "C maj" in
+	 *         root position or "C maj / E" in its first inversion, or an empty
+	 *         String if they do not make a known chord.
+	 */
+	private String recognise() {
+		if (heldLow == 0 && heldHigh == 0) {
+			return "";
+		}
+		int mask = foldToPitchClasses(heldLow) | PitchClassSet.transpose(foldToPitchClasses(heldHigh), 64);
+		int bassPitch = heldLow != 0 ? Long.numberOfTrailingZeros(heldLow)
+				: 64 + Long.numberOfTrailingZeros(heldHigh);
+		return nameChord(mask, PitchClassSet.pitchClass(bassPitch));
+	}
+
+	/**
+	 * Names the chord made by a set of pitch classes.
+	 *
+	 * @param mask
+	 *            - The 12-bit pitch class set of the notes.
+	 * @param bassPitchClass
+	 *            - The pitch class of the lowest note, used to name the
+	 *            inversion.
+	 * @return The chord's name, e.g. "C maj / E", or an empty String if the
+	 *         notes do not make a known chord.
+	 */
+	public String nameChord(int mask, int bassPitchClass) {
+		if (PitchClassSet.size(mask) < MIN_CHORD_SIZE || chordsByMask[mask] == null) {
+			return "";
+		}
+		// Prefer the chord rooted on the bass note, e.g. C6 over Am7 / C
+		int match = NO_CHORD;
+		for (int candidate : chordsByMask[mask]) {
+			if ((candidate & 0xF) == bassPitchClass) {
+				match = candidate;
+				break;
+			}
+		}
+		if (match == NO_CHORD) {
+			match = chordsByMask[mask][0];
+		}
+		int root = match & 0xF;
+		String chordName = PitchClassSet.name(root) + " " + formulas[match >> 4].getChord();
+		if (root != bassPitchClass) {
+			chordName += " / " + PitchClassSet.name(bassPitchClass);
+		}
+		return chordName;
+	}
+
+	/**
+	 * Reduces a word of 64 consecutive pitches to pitch classes relative to
+	 * the word's base pitch, where bit 0 of the result is the base pitch's
+	 * class. heldLow's base is C-1 (pitch 0), so its classes are absolute;
+	 * heldHigh's base is E4 (pitch 64), so its result is transposed by 64.
+	 */
+	private static int foldToPitchClasses(long pitches) {
+		int mask = 0;
+		while (pitches != 0) {
+			mask |= (int) (pitches & PitchClassSet.ALL_PITCH_CLASSES);
+			pitches >>>= 12;
+		}
+		return mask;
+	}
+
+	/** Stores the new chord name, and tells the listener if it has changed. */
+	private void publish(String chordName) {
+		if (chordName.equals(detectedChord)) {
+			return;
+		}
+		detectedChord = chordName;
+		ChordListener current = listener;
+		if (current != null) {
+			current.chordChanged(chordName);
+		}
+	}
+}
@@ -1,10 +1,8 @@
 package midi;
 import java.util.ArrayList;
 import javax.sound.midi.InvalidMidiDataException;
-import javax.swing.DefaultListModel;
+import javax.sound.midi.MidiUnavailableException;
 import keyboard.Note;
-import tools.PlaybackFunctions;
-import tools.ScreenPrompt;
 
 /**
  * This class defines a genre in the system. It incorporates Chord progression
@@ -12,10 +10,11 @@ import tools.ScreenPrompt;
  */
 public class Genre {
 
-	private DefaultListModel<String> genreModel = new DefaultListModel<String>();
+	private ArrayList<String> genreModel = new ArrayList<String>();
 	private ArrayList<Chord> chordProgression = new ArrayList<Chord>();
 	private ArrayList<Chord> breakProgression = new ArrayList<Chord>();
 	private ChordProgressionActions prog = ChordProgressionActions.getInstance();
+	private PatternCompiler song = null;
 
 	// Not implemented fully yet
 	// private ArrayList<Chord> diffChord = new ArrayList<Chord>();
@@ -53,7 +52,7 @@ public class Genre {
 				playClassical();
 				break;
 			}
-		} catch (InvalidMidiDataException | InterruptedException e) {
+		} catch (InvalidMidiDataException | MidiUnavailableException e) {
 			e.printStackTrace();
 		}
 	}
@@ -86,26 +85,17 @@ public class Genre {
 		chordProgression.add(rootChord);
 	}
 
-	public void playClassical() {
-		new Thread(new Runnable() {
-			@Override
-			public void run() {
-				try {
-					for (Chord aChord : chordProgression) {
-						if (!ScreenPrompt.getInstance().getShared()) {
-							PlaybackFunctions.playAnyChordLength(aChord);
-							PlaybackFunctions.timeDelay(1000);
-							PlaybackFunctions.resetChordsColor();
-						} else {
-							break;
-						}
-					}
-					chordProgression.clear();
-				} catch (InvalidMidiDataException | InterruptedException e) {
-					e.printStackTrace();
-				}
-			}
-		}).start();
+	/**
+	 * Compiles the classical progression into a sequence, holding each chord
+	 * for a second, and plays it.
+	 */
+	public void playClassical() throws InvalidMidiDataException, MidiUnavailableException {
+		song = new PatternCompiler(MidiMessageTypes.getInstance().isColourMode());
+		for (Chord aChord : chordProgression) {
+			song.addChord(aChord, 1000);
+		}
+		chordProgression.clear();
+		song.play();
 	}
 
 	public void bluesOneFourFive(String key) {
@@ -226,37 +216,36 @@ public class Genre {
 	//
 	// }
 
-	public void playBar(int pos, boolean endBar, int limit, int index)
-			throws InvalidMidiDataException, InterruptedException {
+	/**
+	 * Adds bars of the twelve bar blues to the song being compiled.
+	 */
+	public void playBar(int pos, boolean endBar, int limit, int index) throws InvalidMidiDataException {
 		if (!endBar) {
 			for (int i = 1; i <= limit; i++) {
-				PlaybackFunctions.playAnyChordLength(chordProgression.get(index));
-				PlaybackFunctions.timeDelay(400);
-				PlaybackFunctions.playAnyChordLength(chordProgression.get(index));
-				PlaybackFunctions.timeDelay(200);
+				song.addChord(chordProgression.get(index), 400);
+				song.addChord(chordProgression.get(index), 200);
 				Note adjustedNote = ListOfScales.getInstance()
 						.getKey(chordProgression.get(index).getChordNotes().get(1), 2);
 				ArrayList<Note> tempNotes = new ArrayList<Note>();
 				tempNotes.add(chordProgression.get(index).getChordNotes().get(0));
 				tempNotes.add(adjustedNote);
 				Chord editedChord = new Chord("temp", tempNotes);
-				PlaybackFunctions.playAnyChordLength(editedChord);
-				PlaybackFunctions.timeDelay(400);
-				PlaybackFunctions.playAnyChordLength(chordProgression.get(index));
-				PlaybackFunctions.timeDelay(200);
+				song.addChord(editedChord, 400);
+				song.addChord(chordProgression.get(index), 200);
 			}
 		} else if (endBar) {
-			PlaybackFunctions.timeDelay(300);
-			PlaybackFunctions.playAnyChordLength(breakProgression.get(0));
-			PlaybackFunctions.timeDelay(400);
-			PlaybackFunctions.playAnyChordLength(breakProgression.get(1));
-			PlaybackFunctions.timeDelay(400);
-			PlaybackFunctions.playAnyChordLength(breakProgression.get(2));
-			PlaybackFunctions.timeDelay(500);
+			song.addRest(300);
+			song.addChord(breakProgression.get(0), 400);
+			song.addChord(breakProgression.get(1), 400);
+			song.addChord(breakProgression.get(2), 500);
 		}
 	}
 
-	public void twelveBarProgression() throws InvalidMidiDataException, InterruptedException {
+	/**
+	 * Compiles the twelve bar blues into a sequence and plays it.
+	 */
+	public void twelveBarProgression() throws InvalidMidiDataException, MidiUnavailableException {
+		song = new PatternCompiler(MidiMessageTypes.getInstance().isColourMode());
 		playBar(1, false, 8, 0);// 4 bars
 		playBar(5, false, 4, 2);// 2 bars
 		playBar(1, false, 4, 0);// 2 bars
@@ -264,6 +253,7 @@ public class Genre {
 		playBar(4, false, 2, 1);// 1 bar
 		playBar(1, false, 2, 0);// 1 bar
 		playBar(0, true, 0, 0);// 1 bar
+		song.play();
 	}
 
 	public ArrayList<Chord> getBluesChords() {
@@ -287,11 +277,11 @@ public class Genre {
 	public void storeGenreNames() {
 		genre[] genreArray = genre.values();
 		for (genre aGenre : genreArray) {
-			genreModel.addElement(aGenre.getGen());
+			genreModel.add(aGenre.getGen());
 		}
 	}
 
-	public DefaultListModel<String> getGenreNames() {
+	public ArrayList<String> getGenreNames() {
 		return genreModel;
 	}
 }
\ No newline at end of file
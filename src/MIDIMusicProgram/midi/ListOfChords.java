@@ -2,9 +2,11 @@ package midi;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import javax.sound.midi.InvalidMidiDataException;
 import keyboard.Note;
 import keyboard.Note.allNotesType;
+import midi.TheoryCatalogue.chordFormulas;
 
 /**
  * This class handles all the variations of chord manipulation in the system.
@@ -13,16 +15,6 @@ import keyboard.Note.allNotesType;
  */
 public class ListOfChords {
 
-	// Traditional note positions in a chord
-	////////////////////////////////////////
-	private Note rootNote; // tonic (first)
-	private Note secondNote; // supertonic (second)
-	private Note thirdNote; // mediant (third)
-	private Note fourthNote; // subdominant (fourth)
-	private Note fifthNote; // dominant (fifth)
-	private Note sixthNote; // submediant (sixth)
-	private Note seventhNote; // subtonic (seventh)
-
 	private boolean inverted = false;
 	private ArrayList<Chord> allMajorChords;
 	private ArrayList<Chord> allMinorChords;
@@ -42,6 +34,19 @@ public class ListOfChords {
 	private ArrayList<Chord> keptMinors = new ArrayList<Chord>();
 	private Chord currentInversion; // Store any chord inversions
 	private Chord firstInversion; // Store any chord inversions
+	private TheoryCatalogue catalogue = TheoryCatalogue.getInstance();
+
+	// Index of the scale groups in allScalesChords
+	private static final int MAJOR_CHORDS = 0;
+	private static final int MINOR_CHORDS = 1;
+	private static final int HALF_DIMINISHED_CHORDS = 2;
+	private static final int FULLY_DIMINISHED_CHORDS = 3;
+
+	// [scale group][chord formula ordinal][root pitch] = stored chord
+	private Chord[][][] chordIndex = new Chord[4][chordFormulas.values().length][];
+	private HashMap<String, chordFormulas> formulasByName = new HashMap<String, chordFormulas>();
+	private HashMap<String, Integer> scaleGroupsByChordName = new HashMap<String, Integer>();
+	private volatile boolean catalogueLoaded = false;
 	private static volatile ListOfChords instance = null;
 
 	private ListOfChords() {
@@ -85,13 +90,76 @@ public class ListOfChords {
 	}
 
 	public ArrayList<Note> getAllKeyNotes() {
+		if (noteNames.isEmpty()) {
+			setAllKeyNotes();
+		}
 		return noteNames;
 	}
 
 	public ArrayList<String> getAllKeyNotesStrings() {
+		if (noteNamesStrings.isEmpty()) {
+			setAllKeyNotes();
+		}
 		return noteNamesStrings;
 	}
 
+	/**
+	 * Builds every supported chord for each key from the theory catalogue the
+	 * first time any chord is requested, rather than on program start up. Later
+	 * calls return straight away.
+	 */
+	public void loadCatalogue() {
+		if (catalogueLoaded) {
+			return;
+		}
+		synchronized (this) {
+			if (!catalogueLoaded) {
+				for (chordFormulas formula : chordFormulas.values()) {
+					formulasByName.put(formula.getChord(), formula);
+				}
+				indexScaleGroups(Chord.getMajorEnums(), MAJOR_CHORDS);
+				indexScaleGroups(Chord.getMinorEnums(), MINOR_CHORDS);
+				indexScaleGroups(Chord.getHalfDimsEnums(), HALF_DIMINISHED_CHORDS);
+				indexScaleGroups(Chord.getFullDimsEnums(), FULLY_DIMINISHED_CHORDS);
+				loadMajorChords(getAllKeyNotes());
+				loadMinorChords(getAllKeyNotes());
+				loadHalfDimishedChords(getAllKeyNotes());
+				loadFullyDiminishedScaleChords(getAllKeyNotes());
+				catalogueLoaded = true;
+			}
+		}
+	}
+
+	private void indexScaleGroups(ArrayList<String> chordNames, int scaleGroup) {
+		for (String chordName : chordNames) {
+			if (!scaleGroupsByChordName.containsKey(chordName)) {
+				scaleGroupsByChordName.put(chordName, scaleGroup);
+			}
+		}
+	}
+
+	/**
+	 * Indexes a key's chords by their type and root pitch, so that they can be
+	 * found without searching. Where a scale's chords include the same type
+	 * twice, the first one is kept, as a search would find.
+	 */
+	private void indexChords(int scaleGroup, Note root, ArrayList<Chord> keyChords) {
+		for (Chord aChord : keyChords) {
+			chordFormulas formula = formulasByName.get(aChord.getChordName());
+			if (formula == null) {
+				continue;
+			}
+			Chord[] byRootPitch = chordIndex[scaleGroup][formula.ordinal()];
+			if (byRootPitch == null) {
+				byRootPitch = new Chord[Note.MIDI_PITCH_RANGE];
+				chordIndex[scaleGroup][formula.ordinal()] = byRootPitch;
+			}
+			if (byRootPitch[root.getPitch()] == null) {
+				byRootPitch[root.getPitch()] = aChord;
+			}
+		}
+	}
+
 	public void loadMajorChords(ArrayList<Note> noteNames) {
 		allKeysChords = new ArrayList<GivenKeyChords>();
 		Scale ionionScale = null;
@@ -108,6 +176,7 @@ public class ListOfChords {
 			ListOfChords.getInstance().setMajorChords(ionionScale);
 			ArrayList<Chord> loadedScaleChords = getMajorChords();
 			keepMajor(loadedScaleChords);
+			indexChords(MAJOR_CHORDS, aNote, loadedScaleChords);
 
 			GivenKeyChords givenKeyChords = new GivenKeyChords(aNote.getName(), loadedScaleChords);
 			allKeysChords.add(givenKeyChords);
@@ -121,6 +190,7 @@ public class ListOfChords {
 	}
 
 	public ArrayList<Chord> getKeptMajors() {
+		loadCatalogue();
 		return keptMajors;
 	}
 
@@ -140,6 +210,7 @@ public class ListOfChords {
 			ListOfChords.getInstance().setMinorChords(minorScale);
 			ArrayList<Chord> loadedScaleChords = getMinorChords();
 			keepMinor(loadedScaleChords);
+			indexChords(MINOR_CHORDS, aNote, loadedScaleChords);
 
 			GivenKeyChords givenKeyChords = new GivenKeyChords(aNote.getName(), loadedScaleChords);
 			allKeysChords.add(givenKeyChords);
@@ -153,6 +224,7 @@ public class ListOfChords {
 	}
 
 	public ArrayList<Chord> getKeptMinors() {
+		loadCatalogue();
 		return keptMinors;
 	}
 
@@ -163,6 +235,7 @@ public class ListOfChords {
 			halfDiminishedScale = ListOfScales.getInstance().halfDiminishedScale(aNote);
 			ListOfChords.getInstance().setHalfDimishedChords(halfDiminishedScale);
 			ArrayList<Chord> loadedScaleChords = getHalfDimishedChords();
+			indexChords(HALF_DIMINISHED_CHORDS, aNote, loadedScaleChords);
 			GivenKeyChords givenKeyChords = new GivenKeyChords(aNote.getName(), loadedScaleChords);
 			allKeysChords.add(givenKeyChords);
 		}
@@ -177,6 +250,7 @@ public class ListOfChords {
 			fullyDiminishedScaleChords = ListOfScales.getInstance().fullyDiminishedScale(aNote);
 			ListOfChords.getInstance().setFullyDimishedScaleChords(fullyDiminishedScaleChords);
 			ArrayList<Chord> loadedScaleChords = getFullyDimishedScaleChords();
+			indexChords(FULLY_DIMINISHED_CHORDS, aNote, loadedScaleChords);
 			GivenKeyChords givenKeyChords = new GivenKeyChords(aNote.getName(), loadedScaleChords);
 			allKeysChords.add(givenKeyChords);
 
@@ -191,6 +265,7 @@ public class ListOfChords {
 	}
 
 	public ArrayList<GivenKeyScales> getKeyScaleChords() {
+		loadCatalogue();
 		return allScalesChords;
 	}
 
@@ -204,24 +279,18 @@ public class ListOfChords {
 	 *            - The name of the note (single letter) to find
 	 * @param chordOrScale
 	 *            - The argument for either feature 1 or 5
-	 * @return The found chord that matches the arguments provided.
+	 * @return The found chord that matches the arguments provided, or null if
+	 *         there is none.
 	 */
 	public <T> Chord getChord(int i, T noteName, T chordOrScale) {
-		GivenKeyChords found = null;
-		for (GivenKeyChords test : allScalesChords.get(i).getScaleKeys()) {
-			if (test.getKeyName().equals(noteName)) {
-				found = test;
-				break;
-			}
-		}
-		Chord foundChord = null;
-		for (Chord findChord : found.getKeyChords()) {
-			if (findChord.getChordName().equals(chordOrScale)) {
-				foundChord = findChord;
-				break;
-			}
+		loadCatalogue();
+		int rootPitch = Note.getPitchByName(String.valueOf(noteName));
+		chordFormulas formula = formulasByName.get(String.valueOf(chordOrScale));
+		if (rootPitch == -1 || formula == null) {
+			return null;
 		}
-		return foundChord;
+		Chord[] byRootPitch = chordIndex[i][formula.ordinal()];
+		return byRootPitch == null ? null : byRootPitch[rootPitch];
 	}
 
 	/**
@@ -236,11 +305,9 @@ public class ListOfChords {
 	 *         progression.
 	 */
 	public Chord findChord(String noteName, String chordName) {
-		int i = 0;
+		int i = MAJOR_CHORDS;
 		if (chordName.equals("min")) {
-			i = 1;
-		} else if (chordName.equals("maj")) {
-			i = 0;
+			i = MINOR_CHORDS;
 		}
 		return getChord(i, noteName, chordName);
 	}
@@ -256,21 +323,9 @@ public class ListOfChords {
 	 */
 	public Chord getChordFromKeyScale(String noteName, String scaleName) {
 		noteName += 3;
-		int i = 0;
-		ArrayList<String> MajorChords = Chord.getMajorEnums();
-		ArrayList<String> MinorChords = Chord.getMinorEnums();
-		ArrayList<String> HalfDimishedChords = Chord.getHalfDimsEnums();
-		ArrayList<String> FullyDimishedChords = Chord.getFullDimsEnums();
-
-		if (MajorChords.contains(scaleName)) {
-			i = 0;
-		} else if (MinorChords.contains(scaleName)) {
-			i = 1;
-		} else if (HalfDimishedChords.contains(scaleName)) {
-			i = 2;
-		} else if (FullyDimishedChords.contains(scaleName)) {
-			i = 3;
-		} else {
+		loadCatalogue();
+		Integer i = scaleGroupsByChordName.get(scaleName);
+		if (i == null) {
 			return null;
 		}
 		return getChord(i, noteName, scaleName);
@@ -428,9 +483,16 @@ public class ListOfChords {
 		}
 
 		// Replace key with one octave higher, swap with last element, and
-		// save array in memory
-		Note increaseRootOctave = ListOfScales.getInstance().getKey(notesInChord.get(0), 12);
-		notesInChord.set(0, increaseRootOctave);
+		// save array in memory. If the root is too high to raise, the other
+		// notes are lowered an octave instead, which gives the same inversion.
+		ListOfScales scales = ListOfScales.getInstance();
+		if (scales.isKeyInRange(notesInChord.get(0), 12)) {
+			notesInChord.set(0, scales.getKey(notesInChord.get(0), 12));
+		} else {
+			for (int i = 1; i < notesInChord.size(); i++) {
+				notesInChord.set(i, scales.getKey(notesInChord.get(i), -12));
+			}
+		}
 
 		switch (notesInChord.size()) {
 		case 3:
@@ -476,58 +538,32 @@ public class ListOfChords {
 
 	// Uses Ionian scale's first 4 scale degrees
 	public Chord majorTetraChord(Scale carriedScale) {
-		rootNote = carriedScale.getTonic(); // 0
-		secondNote = carriedScale.getSubTonic(); // 2
-		thirdNote = carriedScale.getMediant(); // 4
-		fourthNote = carriedScale.getSubDominant(); // 5
-		Chord aChord = new Chord("majTetra", rootNote, secondNote, thirdNote, fourthNote);
-		return aChord;
+		return catalogue.buildChord(chordFormulas.majTetra, carriedScale.getTonic());
 	}
 
 	// Uses Aeolian scale's first 4 scale degrees
 	public Chord minorTetraChord(Scale carriedScale) {
-		rootNote = carriedScale.getTonic(); // 0
-		secondNote = carriedScale.getSubTonic(); // 2
-		thirdNote = carriedScale.getMediant(); // 4
-		fourthNote = carriedScale.getSubDominant(); // 5
-		Chord aChord = new Chord("minTetra", rootNote, secondNote, thirdNote, fourthNote);
-		return aChord;
+		return catalogue.buildChord(chordFormulas.minTetra, carriedScale.getTonic());
 	}
 
 	// Uses Ionian scale
 	public Chord majorChord(Scale carriedScale) {
-		rootNote = carriedScale.getTonic(); // 0
-		secondNote = carriedScale.getMediant(); // 4
-		thirdNote = carriedScale.getDominant(); // 7
-		Chord aChord = new Chord("maj", rootNote, secondNote, thirdNote);
-		return aChord;
+		return catalogue.buildChord(chordFormulas.maj, carriedScale.getTonic());
 	}
 
 	// Uses Aeolian scale
 	public Chord minorChord(Scale carriedScale) {
-		rootNote = carriedScale.getTonic(); // 0
-		secondNote = carriedScale.getMediant(); // 3
-		thirdNote = carriedScale.getDominant(); // 7
-		Chord aChord = new Chord("min", rootNote, secondNote, thirdNote);
-		return aChord;
+		return catalogue.buildChord(chordFormulas.min, carriedScale.getTonic());
 	}
 
 	// Could use augmented scale
 	public Chord augmentedChord(Scale carriedScale) {
-		rootNote = carriedScale.getTonic(); // 0
-		secondNote = carriedScale.getMediant(); // 4
-		thirdNote = ListOfScales.getInstance().getKey(secondNote, 4); // 8
-		Chord aChord = new Chord("aug", rootNote, secondNote, thirdNote);
-		return aChord;
+		return catalogue.buildChord(chordFormulas.aug, carriedScale.getTonic());
 	}
 
 	// Diminished cords use the Half Whole Diminished Scale
 	public Chord dimishedChord(Scale carriedScale) {
-		rootNote = carriedScale.getTonic(); // 0
-		secondNote = carriedScale.getMediant(); // 3
-		thirdNote = carriedScale.getDominant(); // 6
-		Chord aChord = new Chord("dim", rootNote, secondNote, thirdNote);
-		return aChord;
+		return catalogue.buildChord(chordFormulas.dim, carriedScale.getTonic());
 	}
 
 	/**
@@ -539,200 +575,86 @@ public class ListOfChords {
 	 *            - The scale to use as a base to create the chord.
 	 */
 	public Chord dominantSeventhChord(Scale carriedScale) {
-		rootNote = carriedScale.getTonic(); // 0
-		secondNote = carriedScale.getMediant(); // 4
-		thirdNote = carriedScale.getDominant(); // 7
-		fourthNote = ListOfScales.getInstance().getKey(thirdNote, 3); // 10
-		Chord aChord = new Chord("7", rootNote, secondNote, thirdNote, fourthNote);
-		return aChord;
+		return catalogue.buildChord(chordFormulas.seven, carriedScale.getTonic());
 	}
 
 	// A dominant chord could be the ionian or lydian scale
 	public Chord majorSeventhChord(Scale carriedScale) {
-		rootNote = carriedScale.getTonic(); // 0
-		secondNote = carriedScale.getMediant(); // 4
-		thirdNote = carriedScale.getDominant(); // 7
-		fourthNote = carriedScale.getSuperTonic(); // 11
-		Chord aChord = new Chord("maj7", rootNote, secondNote, thirdNote, fourthNote);
-		return aChord;
+		return catalogue.buildChord(chordFormulas.maj7, carriedScale.getTonic());
 	}
 
 	// This chord can use the dorian scale, phrygian scale, and aeolian scale
 	public Chord minorSeventhChord(Scale carriedScale) {
-		rootNote = carriedScale.getTonic(); // 0
-		secondNote = carriedScale.getMediant(); // 3
-		thirdNote = carriedScale.getDominant(); // 7
-		fourthNote = carriedScale.getSuperTonic(); // 10
-		Chord aChord = new Chord("min7", rootNote, secondNote, thirdNote, fourthNote);
-		return aChord;
+		return catalogue.buildChord(chordFormulas.min7, carriedScale.getTonic());
 	}
 
 	// Can use Ionion scale
 	public Chord suspendedFourthChord(Scale carriedScale) {
-		rootNote = carriedScale.getTonic(); // 0
-		secondNote = carriedScale.getSubDominant(); // 5
-		thirdNote = carriedScale.getDominant(); // 7
-		Chord aChord = new Chord("sus4", rootNote, secondNote, thirdNote);
-		return aChord;
+		return catalogue.buildChord(chordFormulas.sus4, carriedScale.getTonic());
 	}
 
 	// Can use Ionion scale
 	public Chord suspendedSecondChord(Scale carriedScale) {
-		rootNote = carriedScale.getTonic(); // 0
-		secondNote = carriedScale.getSubTonic(); // 2
-		thirdNote = carriedScale.getDominant(); // 7
-		Chord aChord = new Chord("sus2", rootNote, secondNote, thirdNote);
-		return aChord;
+		return catalogue.buildChord(chordFormulas.sus2, carriedScale.getTonic());
 	}
 
 	// Can use IonionScale
 	public Chord majorSixthChord(Scale carriedScale) {
-		rootNote = carriedScale.getTonic(); // 0
-		secondNote = carriedScale.getMediant(); // 4
-		thirdNote = carriedScale.getDominant(); // 7
-		fourthNote = carriedScale.getSubMediant(); // 9
-		Chord aChord = new Chord("maj6", rootNote, secondNote, thirdNote, fourthNote);
-		return aChord;
+		return catalogue.buildChord(chordFormulas.maj6, carriedScale.getTonic());
 	}
 
 	// Can use dorian scale
 	public Chord minorSixthChord(Scale carriedScale) {
-		rootNote = carriedScale.getTonic(); // 0
-		secondNote = carriedScale.getMediant(); // 3
-		thirdNote = carriedScale.getDominant(); // 7
-		fourthNote = carriedScale.getSubMediant(); // 9
-		Chord aChord = new Chord("min6", rootNote, secondNote, thirdNote, fourthNote);
-		return aChord;
+		return catalogue.buildChord(chordFormulas.min6, carriedScale.getTonic());
 	}
 
 	public Chord dominantNinthChord(Scale carriedScale) {
-		rootNote = carriedScale.getTonic(); // 0
-		secondNote = carriedScale.getMediant(); // 4
-		thirdNote = carriedScale.getDominant(); // 7
-		fourthNote = ListOfScales.getInstance().getKey(thirdNote, 3); // 10
-
-		// Not as part of a known scale, but rather an added ninth to the
-		// Ionian scale. Uses below function to get next step pitch against
-		// former from map of notes
-		fifthNote = ListOfScales.getInstance().getKey(fourthNote, 4); // 14
-		Chord aChord = new Chord("9", rootNote, secondNote, thirdNote, fourthNote, fifthNote);
-		return aChord;
+		return catalogue.buildChord(chordFormulas.nine, carriedScale.getTonic());
 	}
 
 	public Chord majorNinthChord(Scale carriedScale) {
-		rootNote = carriedScale.getTonic(); // 0
-		secondNote = carriedScale.getMediant(); // 4
-		thirdNote = carriedScale.getDominant(); // 7
-		fourthNote = carriedScale.getSuperTonic(); // 11
-		// Same as ninth dominant chord
-		fifthNote = ListOfScales.getInstance().getKey(fourthNote, 3); // 14
-		Chord aChord = new Chord("maj9", rootNote, secondNote, thirdNote, fourthNote, fifthNote);
-		return aChord;
+		return catalogue.buildChord(chordFormulas.maj9, carriedScale.getTonic());
 	}
 
 	// This chord can use the dorian scale, phrygian scale, and aeolian scale
 	public Chord minorNinthChord(Scale carriedScale) {
-		rootNote = carriedScale.getTonic(); // [0]; //0
-		secondNote = carriedScale.getMediant(); // [2]; //3
-		thirdNote = carriedScale.getDominant(); // [4]; //7
-		fourthNote = carriedScale.getSuperTonic();// [6]; //10
-		fifthNote = ListOfScales.getInstance().getKey(fourthNote, 4); // 14
-		Chord aChord = new Chord("min9", rootNote, secondNote, thirdNote, fourthNote, fifthNote);
-		return aChord;
+		return catalogue.buildChord(chordFormulas.min9, carriedScale.getTonic());
 	}
 
 	// This is enharmonically equivalent to the major sixth. Might not be found
 	// using a scale name
 	public Chord dimishedSeventhChord(Scale carriedScale) {
-		rootNote = carriedScale.getTonic(); // 0
-		secondNote = carriedScale.getMediant(); // 3
-		thirdNote = carriedScale.getDominant();// 6
-		fourthNote = carriedScale.getSuperTonic(); // 9
-		Chord aChord = new Chord("dim7", rootNote, secondNote, thirdNote, fourthNote);
-		return aChord;
+		return catalogue.buildChord(chordFormulas.dim7, carriedScale.getTonic());
 	}
 
 	// Ionian scale's 1st,3rd and 5th degree with added ninth
 	public Chord addNineChord(Scale carriedScale) {
-		rootNote = carriedScale.getTonic(); // 0
-		secondNote = carriedScale.getMediant(); // 4
-		thirdNote = carriedScale.getDominant(); // 7
-
-		// Same as ninth dominant chord
-		fourthNote = ListOfScales.getInstance().getKey(thirdNote, 7); // 14
-		Chord aChord = new Chord("add9", rootNote, secondNote, thirdNote, fourthNote);
-		return aChord;
+		return catalogue.buildChord(chordFormulas.add9, carriedScale.getTonic());
 	}
 
 	// Ionian scale's 1st,3rd and 5th degree with added ninth
 	public Chord addTwoChord(Scale carriedScale) {
-		rootNote = carriedScale.getTonic(); // 0
-		secondNote = ListOfScales.getInstance().getKey(rootNote, 2); // 2
-		thirdNote = ListOfScales.getInstance().getKey(secondNote, 2); // 4
-		fourthNote = ListOfScales.getInstance().getKey(thirdNote, 3); // 7
-		Chord aChord = new Chord("add2", rootNote, secondNote, thirdNote, fourthNote);
-		return aChord;
+		return catalogue.buildChord(chordFormulas.add2, carriedScale.getTonic());
 	}
 
 	public Chord minorEleventhChord(Scale carriedScale) {
-		rootNote = carriedScale.getTonic(); // 0
-		secondNote = carriedScale.getMediant(); // 3
-		thirdNote = carriedScale.getDominant(); // 7
-		fourthNote = ListOfScales.getInstance().getKey(thirdNote, 3); // 10
-		fifthNote = ListOfScales.getInstance().getKey(fourthNote, 4); // 14
-		sixthNote = ListOfScales.getInstance().getKey(fifthNote, 3); // 17
-		Chord aChord = new Chord("min11", rootNote, secondNote, thirdNote, fourthNote, fifthNote, sixthNote);
-		return aChord;
+		return catalogue.buildChord(chordFormulas.min11, carriedScale.getTonic());
 	}
 
 	public Chord dominantEleventhChord(Scale carriedScale) {
-		rootNote = carriedScale.getTonic(); // 0
-		secondNote = carriedScale.getMediant(); // 4
-		thirdNote = carriedScale.getDominant(); // 7
-		fourthNote = ListOfScales.getInstance().getKey(thirdNote, 3); // 10
-		fifthNote = ListOfScales.getInstance().getKey(fourthNote, 4); // 14
-		sixthNote = ListOfScales.getInstance().getKey(fifthNote, 3); // 17
-		Chord aChord = new Chord("11", rootNote, secondNote, thirdNote, fourthNote, fifthNote, sixthNote);
-		return aChord;
+		return catalogue.buildChord(chordFormulas.eleven, carriedScale.getTonic());
 	}
 
 	public Chord dominantThirteenChord(Scale carriedScale) {
-		rootNote = carriedScale.getTonic(); // 0
-		secondNote = carriedScale.getMediant(); // 4
-		thirdNote = carriedScale.getDominant(); // 7
-		fourthNote = ListOfScales.getInstance().getKey(thirdNote, 3); // 10
-		fifthNote = ListOfScales.getInstance().getKey(fourthNote, 4); // 14
-		sixthNote = ListOfScales.getInstance().getKey(fifthNote, 3); // 17
-		seventhNote = ListOfScales.getInstance().getKey(sixthNote, 4); // 21
-		Chord aChord = new Chord("13", rootNote, secondNote, thirdNote, fourthNote, fifthNote, sixthNote, seventhNote);
-		return aChord;
-
+		return catalogue.buildChord(chordFormulas.thirteen, carriedScale.getTonic());
 	}
 
 	public Chord minorThirteenChord(Scale carriedScale) {
-		rootNote = carriedScale.getTonic(); // 0
-		secondNote = carriedScale.getMediant(); // 3
-		thirdNote = carriedScale.getDominant(); // 7
-		fourthNote = ListOfScales.getInstance().getKey(thirdNote, 3); // 10
-		fifthNote = ListOfScales.getInstance().getKey(fourthNote, 4); // 14
-		sixthNote = ListOfScales.getInstance().getKey(fifthNote, 3); // 17
-		seventhNote = ListOfScales.getInstance().getKey(sixthNote, 4); // 21
-		Chord aChord = new Chord("min13", rootNote, secondNote, thirdNote, fourthNote, fifthNote, sixthNote,
-				seventhNote);
-		return aChord;
+		return catalogue.buildChord(chordFormulas.min13, carriedScale.getTonic());
 	}
 
 	public Chord majorThirteenChord(Scale carriedScale) {
-		rootNote = carriedScale.getTonic(); // 0
-		secondNote = carriedScale.getMediant(); // 4
-		thirdNote = carriedScale.getDominant(); // 7
-		fourthNote = ListOfScales.getInstance().getKey(thirdNote, 4); // 11
-		fifthNote = ListOfScales.getInstance().getKey(fourthNote, 3); // 14
-		sixthNote = ListOfScales.getInstance().getKey(fifthNote, 3); // 17
-		seventhNote = ListOfScales.getInstance().getKey(sixthNote, 4); // 21
-		Chord aChord = new Chord("maj13", rootNote, secondNote, thirdNote, fourthNote, fifthNote, sixthNote,
-				seventhNote);
-		return aChord;
+		return catalogue.buildChord(chordFormulas.maj13, carriedScale.getTonic());
 	}
 
 	/**
@@ -744,55 +666,29 @@ public class ListOfChords {
 	 * chord.
 	 */
 	public Chord sevenFlatFiveChord(Scale carriedScale) {
-		rootNote = carriedScale.getTonic(); // 0
-		secondNote = carriedScale.getMediant(); // 4
-		thirdNote = ListOfScales.getInstance().getKey(secondNote, 2); // 6
-		fourthNote = ListOfScales.getInstance().getKey(thirdNote, 4); // 10
-		Chord aChord = new Chord("7b5", rootNote, secondNote, thirdNote, fourthNote);
-		return aChord;
+		return catalogue.buildChord(chordFormulas.sevenFlatFive, carriedScale.getTonic());
 	}
 
 	public Chord sevenSharpFiveChord(Scale carriedScale) {
-		rootNote = carriedScale.getTonic(); // 0
-		secondNote = carriedScale.getMediant(); // 4
-		thirdNote = ListOfScales.getInstance().getKey(secondNote, 4); // 8
-		fourthNote = ListOfScales.getInstance().getKey(thirdNote, 2); // 10
-		Chord aChord = new Chord("7#5", rootNote, secondNote, thirdNote, fourthNote);
-		return aChord;
+		return catalogue.buildChord(chordFormulas.sevenSharpFive, carriedScale.getTonic());
 	}
 
 	// Based of minor scale
 	////////////////////////////////////
 	public Chord minorMajorSevenChord(Scale carriedScale) {
-		rootNote = carriedScale.getTonic(); // 0
-		secondNote = carriedScale.getMediant(); // 3
-		thirdNote = ListOfScales.getInstance().getKey(secondNote, 4); // 7
-		fourthNote = ListOfScales.getInstance().getKey(thirdNote, 4); // 11
-		Chord aChord = new Chord("minMaj7", rootNote, secondNote, thirdNote, fourthNote);
-		return aChord;
+		return catalogue.buildChord(chordFormulas.minMajSeven, carriedScale.getTonic());
 	}
 
 	// Based on locrian #2 (half-Diminished scale)
 	public Chord minorSevenFlatFiveChord(Scale carriedScale) {
-		rootNote = carriedScale.getTonic(); // 0
-		secondNote = carriedScale.getMediant(); // 4
-		thirdNote = carriedScale.getDominant(); // 6
-		fourthNote = carriedScale.getSuperTonic(); // 10
-		Chord aChord = new Chord("min7b5", rootNote, secondNote, thirdNote, fourthNote);
-		return aChord;
+		return catalogue.buildChord(chordFormulas.minSevenFlatFive, carriedScale.getTonic());
 	}
 
 	public Chord bluesChord(Scale carriedScale) {
-		rootNote = carriedScale.getTonic(); // 0
-		secondNote = carriedScale.getDominant(); // 7
-		Chord aChord = new Chord("Number Chord", rootNote, secondNote);
-		return aChord;
+		return catalogue.buildChord(chordFormulas.bluesChord, carriedScale.getTonic());
 	}
 
 	public Chord fillerBluesChord(Scale carriedScale) {
-		rootNote = carriedScale.getTonic(); // 0
-		secondNote = ListOfScales.getInstance().getKey(rootNote, 12); // 12
-		Chord aChord = new Chord("Adjusted Chord", rootNote, secondNote);
-		return aChord;
+		return catalogue.buildChord(chordFormulas.fillerBluesChord, carriedScale.getTonic());
 	}
 }
\ No newline at end of file
@@ -3,8 +3,8 @@ package midi;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Map;
-import java.util.Map.Entry;
 import keyboard.Note;
+import midi.TheoryCatalogue.scaleFormulas;
 
 /**
  * This class handles all the variations of scale manipulation in the system.
@@ -30,6 +30,7 @@ public class ListOfScales {
 	}
 
 	private Map<String, Note> mapOfNotes = Note.getNotesMap();
+	private TheoryCatalogue catalogue = TheoryCatalogue.getInstance();
 	private Collection<Integer> currentScaleIntervals;
 	private Scale currentDisplayedScaleColor;
 	private ArrayList<Scale> diatonicMajorScales = new ArrayList<Scale>();
@@ -85,6 +86,7 @@ public class ListOfScales {
 	}
 
 	public ArrayList<Scale> getDiatonicMajorScales() {
+		ListOfChords.getInstance().loadCatalogue();
 		return diatonicMajorScales;
 	}
 	///////////////////////////////////////////////////
@@ -95,6 +97,7 @@ public class ListOfScales {
 	}
 
 	public ArrayList<Scale> getDiatonicMinorScales() {
+		ListOfChords.getInstance().loadCatalogue();
 		return diatonicMinorScales;
 	}
 	///////////////////////////////////////////////////
@@ -118,29 +121,57 @@ public class ListOfScales {
 	}
 
 	/**
-	 * Find next interval / step based on previous note in scale
+	 * Find next interval / step based on previous note in scale. The step is
+	 * resolved by pitch arithmetic against the pitch indexed notes, rather than
+	 * by searching the map of notes.
 	 * 
 	 * @param passedNote
 	 *            - The note to use as a comparison base.
 	 * @param step
-	 *            - The internal to be used to find the note with it incremented
-	 *            on the passedNote.
-	 * @return The found increase pitch note from memory or null if not found.
+	 *            - The interval in semitones to add to the passedNote's pitch.
+	 *            Negative values step down.
+	 * @return The found note.
+	 * @throws IllegalArgumentException
+	 *             If the step goes past either end of the piano. Use
+	 *             isKeyInRange to check first.
 	 */
 	public Note getKey(Note passedNote, int step) {
-		for (Entry<String, Note> entry : mapOfNotes.entrySet()) {
-
-			// For some reason, the minus arithmetic increases the compared
-			// value. e.g: step = 2, To find 48 compared to 46, this makes 48
-			// rather than 44.
-			if (passedNote.getPitch() == entry.getValue().getPitch() - step) {
-				String key = entry.getKey();
-				Note stepNote = mapOfNotes.get(key);
-				return stepNote;
-			}
+		return getKey(passedNote.getPitch() + step);
+	}
 
+	/**
+	 * Resolves a pitch to a note on the piano.
+	 * 
+	 * @param pitch
+	 *            - The MIDI pitch value to resolve.
+	 * @return The note for the pitch.
+	 * @throws IllegalArgumentException
+	 *             If the pitch is not on the piano.
+	 */
+	public Note getKey(int pitch) {
+		if (Note.getLowestPitch() < 0 || Note.getHighestPitch() < 0) {
+			throw new IllegalStateException("Notes have not been indexed by pitch yet");
 		}
-		return null;
+		if (!isPitchInRange(pitch)) {
+			throw new IllegalArgumentException("Pitch " + pitch + " is not on the piano");
+		}
+		return Note.getNoteByPitch(pitch);
+	}
+
+	/**
+	 * @param passedNote
+	 *            - The note to use as a comparison base.
+	 * @param step
+	 *            - The interval in semitones to add to the passedNote's pitch.
+	 * @return True if the note stepped by the interval is on the piano, so
+	 *         getKey will find it.
+	 */
+	public boolean isKeyInRange(Note passedNote, int step) {
+		return isPitchInRange(passedNote.getPitch() + step);
+	}
+
+	private boolean isPitchInRange(int pitch) {
+		return pitch >= Note.getLowestPitch() && pitch <= Note.getHighestPitch();
 	}
 
 	/**
@@ -152,15 +183,7 @@ public class ListOfScales {
 	 * have a subtonic and submediant.
 	 */
 	public Scale majorPentatonicScale(Note rootKey) {
-		String scaleName = "Pentatonic Major";
-		Note tonic = rootKey; // do
-		Note mediant = getKey(tonic, 2); // re
-		Note subDominant = getKey(mediant, 2); // mi
-		Note dominant = getKey(subDominant, 3); // so
-		Note superTonic = getKey(dominant, 2); // so
-		Note endOctaveNote = getKey(superTonic, 3);
-		Scale aScale = new Scale(scaleName, tonic, mediant, subDominant, dominant, superTonic, endOctaveNote);
-		return aScale;
+		return catalogue.buildScale(scaleFormulas.pentatonicMajor, rootKey);
 	}
 
 	/**
@@ -168,15 +191,7 @@ public class ListOfScales {
 	 * have a subtonic and submediant.
 	 */
 	public Scale minorPentatonicScale(Note rootKey) {
-		String scaleName = "Pentatonic Minor";
-		Note tonic = rootKey; // do
-		Note mediant = getKey(tonic, 3); // re
-		Note subDominant = getKey(mediant, 2); // mi
-		Note dominant = getKey(subDominant, 2); // so
-		Note superTonic = getKey(dominant, 3); // so
-		Note endOctaveNote = getKey(superTonic, 2);
-		Scale aScale = new Scale(scaleName, tonic, mediant, subDominant, dominant, superTonic, endOctaveNote);
-		return aScale;
+		return catalogue.buildScale(scaleFormulas.pentatonicMinor, rootKey);
 	}
 
 	/**
@@ -190,16 +205,7 @@ public class ListOfScales {
 	 * considered the tonic.
 	 **/
 	public Scale augmentedScale(Note rootKey) {
-		String scaleName = "Augmented";
-		Note tonic = rootKey;
-		Note subtonic = getKey(tonic, 3);
-		Note mediant = getKey(subtonic, 1);
-		Note subdominant = getKey(mediant, 3);
-		Note dominant = getKey(subdominant, 1);
-		Note submediant = getKey(dominant, 3);
-		Note endOctaveNote = getKey(submediant, 1);
-		Scale aScale = new Scale(scaleName, tonic, subtonic, mediant, subdominant, dominant, submediant, endOctaveNote);
-		return aScale;
+		return catalogue.buildScale(scaleFormulas.augmented, rootKey);
 	}
 
 	/**
@@ -207,16 +213,7 @@ public class ListOfScales {
 	 * augmented fourth degree.
 	 **/
 	public Scale bluesScale(Note rootKey) {
-		String scaleName = "Blues";
-		Note tonic = rootKey; // do
-		Note subTonic = getKey(tonic, 3); // re
-		Note mediant = getKey(subTonic, 2); // re
-		Note subDominant = getKey(mediant, 1); // mi
-		Note dominant = getKey(subDominant, 1); // so
-		Note superTonic = getKey(dominant, 3); // so
-		Note endOctaveNote = getKey(superTonic, 2);
-		Scale aScale = new Scale(scaleName, tonic, subTonic, mediant, subDominant, dominant, superTonic, endOctaveNote);
-		return aScale;
+		return catalogue.buildScale(scaleFormulas.blues, rootKey);
 	}
 
 	/**
@@ -224,16 +221,7 @@ public class ListOfScales {
 	 * each note.
 	 */
 	public Scale wholeToneScale(Note rootKey) {
-		String scaleName = "Whole Tone";
-		Note tonic = rootKey;
-		Note subtonic = getKey(tonic, 2);
-		Note mediant = getKey(subtonic, 2);
-		Note subdominant = getKey(mediant, 2);
-		Note dominant = getKey(subdominant, 2);
-		Note submediant = getKey(dominant, 2);
-		Note endOctaveNote = getKey(submediant, 2);
-		Scale aScale = new Scale(scaleName, tonic, subtonic, mediant, subdominant, dominant, submediant, endOctaveNote);
-		return aScale;
+		return catalogue.buildScale(scaleFormulas.wholeTone, rootKey);
 	}
 
 	/**
@@ -248,91 +236,35 @@ public class ListOfScales {
 	 * This is the scale commonly referred to as the major scale.
 	 */
 	public Scale majorOrIonianScale(Note rootKey) {
-		String scaleName = "Diantonic Ionian";
-
-		Note tonic = rootKey;
-		Note subtonic = getKey(tonic, 2);
-		Note mediant = getKey(subtonic, 2);
-		Note subdominant = getKey(mediant, 1);
-		Note dominant = getKey(subdominant, 2);
-		Note submediant = getKey(dominant, 2);
-		Note supertonic = getKey(submediant, 2);
-		Note endOctaveNote = getKey(supertonic, 1);
-		Scale aScale = new Scale(scaleName, tonic, subtonic, mediant, subdominant, dominant, submediant, supertonic,
-				endOctaveNote);
-		return aScale;
+		return catalogue.buildScale(scaleFormulas.ionian, rootKey);
 	}
 
 	/**
 	 * Diatonic mode 2: Based of minor (Aeolian) scale.
 	 */
 	public Scale dorianScale(Note rootKey) {
-		String scaleName = "Diantonic Dorian";
-		Note tonic = rootKey;
-		Note subtonic = getKey(tonic, 2);
-		Note mediant = getKey(subtonic, 1);
-		Note subdominant = getKey(mediant, 2);
-		Note dominant = getKey(subdominant, 2);
-		Note submediant = getKey(dominant, 2);
-		Note supertonic = getKey(submediant, 1);
-		Note endOctaveNote = getKey(supertonic, 2);
-		Scale aScale = new Scale(scaleName, tonic, subtonic, mediant, subdominant, dominant, submediant, supertonic,
-				endOctaveNote);
-		return aScale;
+		return catalogue.buildScale(scaleFormulas.dorian, rootKey);
 	}
 
 	/**
 	 * Diatonic mode 3: Based of minor (Aeolian) scale.
 	 */
 	public Scale phrygianScale(Note rootKey) {
-		String scaleName = "Diatonic Phrygian";
-		Note tonic = rootKey; // Is a semi note
-		Note subtonic = getKey(tonic, 1);
-		Note mediant = getKey(subtonic, 2);
-		Note subdominant = getKey(mediant, 2);
-		Note dominant = getKey(subdominant, 2);
-		Note submediant = getKey(dominant, 1);
-		Note supertonic = getKey(submediant, 2);
-		Note endOctaveNote = getKey(supertonic, 2);
-		Scale aScale = new Scale(scaleName, tonic, subtonic, mediant, subdominant, dominant, submediant, supertonic,
-				endOctaveNote);
-		return aScale;
+		return catalogue.buildScale(scaleFormulas.phrygian, rootKey);
 	}
 
 	/**
 	 * Diatonic mode 4: Based of major (Ionian) scale.
 	 */
 	public Scale lydianScale(Note rootKey) {
-		String scaleName = "Diatonic Lydian";
-		Note tonic = rootKey;
-		Note subtonic = getKey(tonic, 2);
-		Note mediant = getKey(subtonic, 2);
-		Note subdominant = getKey(mediant, 2);
-		Note dominant = getKey(subdominant, 1);
-		Note submediant = getKey(dominant, 2);
-		Note supertonic = getKey(submediant, 2);
-		Note endOctaveNote = getKey(supertonic, 1);
-		Scale aScale = new Scale(scaleName, tonic, subtonic, mediant, subdominant, dominant, submediant, supertonic,
-				endOctaveNote);
-		return aScale;
+		return catalogue.buildScale(scaleFormulas.lydian, rootKey);
 	}
 
 	/**
 	 * Diatonic mode 5: Based of major (Ionian) scale.
 	 */
 	public Scale mixolydianScale(Note rootKey) {
-		String scaleName = "Diatonic Mixolydian";
-		Note tonic = rootKey;
-		Note subtonic = getKey(tonic, 2);
-		Note mediant = getKey(subtonic, 2);
-		Note subdominant = getKey(mediant, 1);
-		Note dominant = getKey(subdominant, 2);
-		Note submediant = getKey(dominant, 2);
-		Note supertonic = getKey(submediant, 1);
-		Note endOctaveNote = getKey(supertonic, 2);
-		Scale aScale = new Scale(scaleName, tonic, subtonic, mediant, subdominant, dominant, submediant, supertonic,
-				endOctaveNote);
-		return aScale;
+		return catalogue.buildScale(scaleFormulas.mixolydian, rootKey);
 	}
 
 	/**
@@ -341,36 +273,14 @@ public class ListOfScales {
 	 * the hepatonic diatonic scale.
 	 */
 	public Scale minorOrAeolianScale(Note rootKey) {
-		String scaleName = "Diatonic Aeolian";
-		Note tonic = rootKey;
-		Note subtonic = getKey(tonic, 2);
-		Note mediant = getKey(subtonic, 1);
-		Note subdominant = getKey(mediant, 2);
-		Note dominant = getKey(subdominant, 2);
-		Note submediant = getKey(dominant, 1);
-		Note supertonic = getKey(submediant, 2);
-		Note endOctaveNote = getKey(supertonic, 2);
-		Scale aScale = new Scale(scaleName, tonic, subtonic, mediant, subdominant, dominant, submediant, supertonic,
-				endOctaveNote);
-		return aScale;
+		return catalogue.buildScale(scaleFormulas.aeolian, rootKey);
 	}
 
 	/**
 	 * Diatonic mode 7: Based of a diminished note, and potentially scale.
 	 */
 	public Scale locrianScale(Note rootKey) {
-		String scaleName = "Diatonic Locrian";
-		Note tonic = rootKey;
-		Note subtonic = getKey(tonic, 1);
-		Note mediant = getKey(subtonic, 2);
-		Note subdominant = getKey(mediant, 2);
-		Note dominant = getKey(subdominant, 1);
-		Note submediant = getKey(dominant, 2);
-		Note supertonic = getKey(submediant, 2);
-		Note endOctaveNote = getKey(supertonic, 2);
-		Scale aScale = new Scale(scaleName, tonic, subtonic, mediant, subdominant, dominant, submediant, supertonic,
-				endOctaveNote);
-		return aScale;
+		return catalogue.buildScale(scaleFormulas.locrian, rootKey);
 	}
 
 	/**
@@ -379,37 +289,14 @@ public class ListOfScales {
 	 * half step from the seventh and eight note.
 	 */
 	public Scale harmonicMinorScale(Note rootKey) {
-		String scaleName = "Harmonic Minor";
-		Note tonic = rootKey;
-		Note subtonic = getKey(tonic, 2);
-		Note mediant = getKey(subtonic, 1);
-		Note subdominant = getKey(mediant, 2);
-		Note dominant = getKey(subdominant, 2);
-		Note submediant = getKey(dominant, 1);
-		Note supertonic = getKey(submediant, 3);
-		Note endOctaveNote = getKey(supertonic, 1);
-		Scale aScale = new Scale(scaleName, tonic, subtonic, mediant, subdominant, dominant, submediant, supertonic,
-				endOctaveNote);
-		return aScale;
-
+		return catalogue.buildScale(scaleFormulas.harmonicMinor, rootKey);
 	}
 
 	/**
 	 * Third type of heptatonic diatonic minor scale.
 	 */
 	public Scale ascendingMelodicMinorScale(Note rootKey) {
-		String scaleName = "Melodic Minor";
-		Note tonic = rootKey;
-		Note subtonic = getKey(tonic, 2);
-		Note mediant = getKey(subtonic, 1);
-		Note subdominant = getKey(mediant, 2);
-		Note dominant = getKey(subdominant, 2);
-		Note submediant = getKey(dominant, 2);
-		Note supertonic = getKey(submediant, 2);
-		Note endOctaveNote = getKey(supertonic, 1);
-		Scale aScale = new Scale(scaleName, tonic, subtonic, mediant, subdominant, dominant, submediant, supertonic,
-				endOctaveNote);
-		return aScale;
+		return catalogue.buildScale(scaleFormulas.melodicMinor, rootKey);
 	}
 
 	/**
@@ -424,18 +311,7 @@ public class ListOfScales {
 	 * Also known as the half-diminished scale, it has 7 notes not 8.
 	 */
 	public Scale halfDiminishedScale(Note rootKey) {
-		String scaleName = "Half-Dimished";
-		Note tonic = rootKey;
-		Note subtonic = getKey(tonic, 2); // 2nd note is major, not minor
-		Note mediant = getKey(subtonic, 1);
-		Note subdominant = getKey(mediant, 2);
-		Note dominant = getKey(subdominant, 1);
-		Note submediant = getKey(dominant, 2);
-		Note supertonic = getKey(submediant, 2);
-		Note endOctaveNote = getKey(supertonic, 2);
-		Scale aScale = new Scale(scaleName, tonic, subtonic, mediant, subdominant, dominant, submediant, supertonic,
-				endOctaveNote);
-		return aScale;
+		return catalogue.buildScale(scaleFormulas.halfDiminished, rootKey);
 	}
 
 	/**
@@ -443,18 +319,7 @@ public class ListOfScales {
 	 * whole tone scale.
 	 **/
 	public Scale alteredScale(Note rootKey) {
-		String scaleName = "Altered";
-		Note tonic = rootKey;
-		Note subtonic = getKey(tonic, 1);
-		Note mediant = getKey(subtonic, 2);
-		Note subdominant = getKey(mediant, 1);
-		Note dominant = getKey(subdominant, 2);
-		Note submediant = getKey(dominant, 2);
-		Note supertonic = getKey(submediant, 2);
-		Note endOctaveNote = getKey(supertonic, 2);
-		Scale aScale = new Scale(scaleName, tonic, subtonic, mediant, subdominant, dominant, submediant, supertonic,
-				endOctaveNote);
-		return aScale;
+		return catalogue.buildScale(scaleFormulas.altered, rootKey);
 	}
 
 	/**
@@ -466,19 +331,7 @@ public class ListOfScales {
 	 * alternate between half then whole in a linear order.
 	 **/
 	public Scale dominantDiminishedScale(Note rootKey) {
-		String scaleName = "Dominant Diminished";
-		Note tonic = rootKey;
-		Note subtonic = getKey(tonic, 1);
-		Note mediant = getKey(subtonic, 2);
-		Note subdominant = getKey(mediant, 1);
-		Note dominant = getKey(subdominant, 2);
-		Note submediant = getKey(dominant, 1);
-		Note supertonic = getKey(submediant, 2);
-		Note eigthNote = getKey(supertonic, 1);
-		Note endOctaveNote = getKey(eigthNote, 2);
-		Scale aScale = new Scale(scaleName, tonic, subtonic, mediant, subdominant, dominant, submediant, supertonic,
-				eigthNote, endOctaveNote);
-		return aScale;
+		return catalogue.buildScale(scaleFormulas.dominantDiminished, rootKey);
 	}
 
 	/**
@@ -486,19 +339,7 @@ public class ListOfScales {
 	 * diminished 7th scale.Its step intervals alternate whole/half.
 	 */
 	public Scale fullyDiminishedScale(Note rootKey) {
-		String scaleName = "Fully Diminished";
-		Note tonic = rootKey;
-		Note subtonic = getKey(tonic, 2);
-		Note mediant = getKey(subtonic, 1);
-		Note subdominant = getKey(mediant, 2);
-		Note dominant = getKey(subdominant, 1);
-		Note submediant = getKey(dominant, 2);
-		Note supertonic = getKey(submediant, 1);
-		Note eigthNote = getKey(supertonic, 2);
-		Note endOctaveNote = getKey(eigthNote, 1);
-		Scale aScale = new Scale(scaleName, tonic, subtonic, mediant, subdominant, dominant, submediant, supertonic,
-				eigthNote, endOctaveNote);
-		return aScale;
+		return catalogue.buildScale(scaleFormulas.fullyDiminished, rootKey);
 	}
 
 	/**
@@ -518,44 +359,14 @@ public class ListOfScales {
 	 * Traversal solfege order - includes sharp accidentals through rise.
 	 **/
 	public Scale ascendingChromaticScale(Note rootKey) {
-		String scaleName = "Ascending Chromatic";
-		Note Do = rootKey; // note name is in capital as java does not allow do
-							// keyword as name
-		Note di = getKey(Do, 1);
-		Note re = getKey(di, 1);
-		Note ri = getKey(re, 1);
-		Note mi = getKey(ri, 1);
-		Note fa = getKey(mi, 1);
-		Note fi = getKey(fa, 1);
-		Note sol = getKey(fi, 1);
-		Note si = getKey(sol, 1);
-		Note la = getKey(si, 1);
-		Note li = getKey(la, 1);
-		Note ti = getKey(li, 1);
-		Scale aScale = new Scale(scaleName, Do, di, re, ri, mi, fa, fi, sol, si, la, li, ti);
-		return aScale;
+		return catalogue.buildScale(scaleFormulas.ascendingChromatic, rootKey);
 	}
 
 	/**
 	 * Traversal solfege order - includes flat accidentals through reverse.
 	 */
 	public Scale descendingChromaticScale(Note rootKey) {
-		String scaleName = "Descending Chromatic";
-		Note Do = rootKey; // Again, note name is in capital as java does
-							// not allow "do" keyword as name.
-		Note ti = getKey(Do, -1);
-		Note te = getKey(ti, -1);
-		Note la = getKey(te, -1);
-		Note le = getKey(la, -1);
-		Note sol = getKey(le, -1);
-		Note se = getKey(sol, -1);
-		Note fa = getKey(se, -1);
-		Note mi = getKey(fa, -1);
-		Note me = getKey(mi, -1);
-		Note re = getKey(me, -1);
-		Note ra = getKey(re, -1);
-		Scale aScale = new Scale(scaleName, Do, ti, te, la, le, sol, se, fa, mi, me, re, ra);
-		return aScale;
+		return catalogue.buildScale(scaleFormulas.descendingChromatic, rootKey);
 	}
 }
 
@@ -1,27 +1,15 @@
 package midi;
 
-import java.awt.Color;
-import java.awt.GridLayout;
-import java.io.PrintStream;
+import java.util.ArrayList;
 import java.util.EnumSet;
 import java.util.LinkedHashMap;
 import java.util.Set;
-import javax.sound.midi.InvalidMidiDataException;
 import javax.sound.midi.MetaMessage;
 import javax.sound.midi.MidiChannel;
-import javax.sound.midi.MidiEvent;
 import javax.sound.midi.MidiMessage;
 import javax.sound.midi.ShortMessage;
-import javax.sound.midi.Track;
-import javax.swing.DefaultListModel;
-import javax.swing.JFrame;
-import javax.swing.JScrollPane;
-import javax.swing.JTextArea;
 import keyboard.Note;
 import midiDevices.PlayBackDevices;
-import tools.DebugConsole;
-import tools.PlaybackFunctions;
-import tools.SwingComponents;
 
 /**
  * This class stores MIDI message data that affects composition of tempo and
@@ -29,11 +17,20 @@ import tools.SwingComponents;
  */
 public class MidiMessageTypes {
 
+	/**
+	 * Told of each note played and released, e.g. by colour mode to change the
+	 * piano keys' colours. It is called on the thread the note arrived on.
+	 */
+	public interface NoteListener {
+		void noteOn(Note note);
+
+		void noteOff(int pitch);
+	}
+
 	private LinkedHashMap<String, Float> tempoMarkersMap = new LinkedHashMap<String, Float>();
-	private DefaultListModel<String> temposInModel = new DefaultListModel<String>();
+	private ArrayList<String> temposInModel = new ArrayList<String>();
 	private EnumSet<tempoNames> tempoEnums = null;
 	private String rememberedTempo = "AllegroModerato";
-	private static Track trk;
 	private static MidiChannel channel;
 	private int nextIntervalIndex;
 	private boolean tempoChanged = false;
@@ -41,6 +38,8 @@ public class MidiMessageTypes {
 	private boolean randomState = false;
 	private boolean melodyState = false;
 	private boolean noColorFirst = false;
+	private volatile boolean colourMode = false;
+	private volatile NoteListener noteListener = null;
 
 	private boolean debugMode = false;
 	private boolean showDebugMode = false;
@@ -54,7 +53,10 @@ public class MidiMessageTypes {
 			synchronized (Chord.class) {
 				if (instance == null) {
 					instance = new MidiMessageTypes();
-					channel = PlayBackDevices.getInstance().returnSynth().getChannels()[0];
+					// No synthesizer when run without devices, e.g. by Benchmarks
+					if (PlayBackDevices.getInstance().returnSynth() != null) {
+						channel = PlayBackDevices.getInstance().returnSynth().getChannels()[0];
+					}
 					instance.storedTemposMap();
 					instance.storeTemposInModel();
 				}
@@ -106,35 +108,23 @@ public class MidiMessageTypes {
 	}
 
 	/**
-	 * Generate meta event data for recorded sequence and external MIDI file
-	 * converter to sequence process i.e. MIDI File player colour visualiser
+	 * Sets the listener told of the notes passed to eventColors, or null for
+	 * none, e.g. when run without a display.
 	 */
-	public static final void generateMetaData(Track track, Track trk) throws InvalidMidiDataException {
-		for (int ii = 0; ii < track.size(); ii++) {
-			MidiEvent me = track.get(ii);
-			MidiMessage mm = me.getMessage();
-			if (mm instanceof ShortMessage) {
-				ShortMessage sm = (ShortMessage) mm;
-				int command = sm.getCommand();
-				int com = -1;
-				if (command == ShortMessage.NOTE_ON) {
-					com = 1;
-				} else if (command == ShortMessage.NOTE_OFF) {
-					com = 2;
-				}
-				if (com > 0) {
-					byte[] b = sm.getMessage();
-					int l = (b == null ? 0 : b.length);
-					MetaMessage metaMessage = new MetaMessage(com, b, l);
-					MidiEvent me2 = new MidiEvent(metaMessage, me.getTick());
-					trk.add(me2);
-				}
-			}
-		}
+	public void setNoteListener(NoteListener listener) {
+		noteListener = listener;
+	}
+
+	/**
+	 * Turns colour mode on or off, in which the notes of chords, scales and
+	 * songs are shown in colour as they are played.
+	 */
+	public void setColourMode(boolean state) {
+		colourMode = state;
 	}
 
-	public Track getMetaTrack() {
-		return trk;
+	public boolean isColourMode() {
+		return colourMode;
 	}
 
 	/**
@@ -154,7 +144,6 @@ public class MidiMessageTypes {
 		int notePitch = 0;
 		int velocity = 0;
 		byte[] messageBytes = null;
-		byte bytePitch = 0;
 
 		if (event.getClass().equals(MetaMessage.class)) {
 			MetaMessage convert = (MetaMessage) event;
@@ -166,7 +155,6 @@ public class MidiMessageTypes {
 			statusByteToInt = messageBytes[3] & 0xFF & 0xF0;
 			notePitch = messageBytes[4];
 			velocity = messageBytes[5];
-			bytePitch = messageBytes[4];
 		}
 
 		else if (event instanceof ShortMessage) {
@@ -175,9 +163,27 @@ public class MidiMessageTypes {
 			statusByteToInt = messageBytes[0] & 0xFF & 0xF0;
 			notePitch = messageBytes[1];
 			velocity = messageBytes[2];
-			bytePitch = messageBytes[1];
 		}
+		eventColors(statusByteToInt, notePitch, velocity);
+	}
 
+	/**
+	 * Tells the note listener of a note played or released, from the parts of
+	 * a message, e.g. those queued by the DummyReceiver for the Event Dispatch
+	 * Thread.
+	 * 
+	 * @param statusByteToInt
+	 *            - The message's command, without its channel.
+	 * @param notePitch
+	 *            - The pitch of the note.
+	 * @param velocity
+	 *            - The velocity of the note, where 0 releases it.
+	 */
+	public void eventColors(int statusByteToInt, int notePitch, int velocity) {
+		NoteListener listener = noteListener;
+		if (listener == null) {
+			return;
+		}
 		switch (statusByteToInt) {
 		// By default, MIDI Keyboard's do not use NOTE ON and OFF messages.
 		// It uses NOTE_ON velocity(1=> to <=100) for being on, and NOTE_ON (0)
@@ -186,17 +192,13 @@ public class MidiMessageTypes {
 			// For when releasing depressed notes creates a NOTE_ON (0) message
 			// with 0 velocity.
 			if (velocity == 0) {
-				PlaybackFunctions.resetLastNotePianoColor(notePitch);
+				listener.noteOff(notePitch);
 			} else {
-				Note playNote = null;
-				for (Note aNote : Note.getNotesMap().values()) {
-					if (aNote.getPitch() == bytePitch) {
-						playNote = aNote;
-						break;
-					}
+				Note playNote = Note.getNoteByPitch(notePitch);
+				if (playNote == null) {
+					break;
 				}
-				PlaybackFunctions.storedPreColorNotes(playNote);
-				PlaybackFunctions.colorChordsAndScales(playNote, Color.YELLOW);
+				listener.noteOn(playNote);
 				break;
 			}
 
@@ -204,7 +206,7 @@ public class MidiMessageTypes {
 			// rather than
 			// NOTE_ON (velocity 0)
 		case ShortMessage.NOTE_OFF:
-			PlaybackFunctions.resetLastNotePianoColor(notePitch);
+			listener.noteOff(notePitch);
 			break;
 		}
 	}
@@ -243,15 +245,15 @@ public class MidiMessageTypes {
 		return convertTempoKeys;
 	}
 	
-	/**Add tempo value names to Default List Model
+	/**Add tempo value names to the list shown in the tempo panel
 	 * */
 	public void storeTemposInModel() {
 		for (String s : storedTemposMapKeys()) {
-			temposInModel.addElement(s);
+			temposInModel.add(s);
 		}
 	}
 
-	public DefaultListModel<String> getTemposInModel() {
+	public ArrayList<String> getTemposInModel() {
 		return temposInModel;
 	}
 
@@ -332,34 +334,12 @@ public class MidiMessageTypes {
 	}
 
 	/** Print all debug text to console, which is actually stored in a JTextArea
-	* in a new JFrame.
+	* in a new JFrame, see DebugConsole.
 	 * */
 	public void getSequenceTimingMessages() {
 		System.out.print(debugMessage);
 	}
 
-	/**
-	 * Feature - Displays the MIDI sequence's timing values through stages of
-	 * its construction.
-	 */
-	public void loadDebug() {
-		int screenWidth = SwingComponents.getInstance().getScreenWidth();
-		int screenHeight = SwingComponents.getInstance().getScreenHeight();
-		JFrame debugPanel = SwingComponents.getInstance().floatingDebugFrame(true, false, null,
-				"Debug MIDI Timing Summary", 0, 0, screenWidth / 2 + screenWidth / 5,
-				screenHeight / 2 + screenHeight / 5);
-		debugPanel.getContentPane().setBackground(Color.decode("#303030"));
-		JTextArea log = new JTextArea();
-		JScrollPane debugDataScroll = new JScrollPane(log, JScrollPane.VERTICAL_SCROLLBAR_ALWAYS,
-				JScrollPane.HORIZONTAL_SCROLLBAR_NEVER);
-		DebugConsole debugInfo = new DebugConsole(log, "DebugConsole");
-		debugPanel.setLayout(new GridLayout(2, 1));
-		debugPanel.getContentPane().add(debugDataScroll);
-		System.setOut(new PrintStream(debugInfo));
-
-		MidiMessageTypes.getInstance().getSequenceTimingMessages();
-	}
-
 	public void storeIntervalStateID(int intervalState) {
 		nextIntervalIndex = intervalState;
 	}
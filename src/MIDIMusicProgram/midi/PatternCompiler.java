@@ -0,0 +1,158 @@
+package midi;
+
+import java.util.ArrayList;
+import javax.sound.midi.InvalidMidiDataException;
+import javax.sound.midi.MetaMessage;
+import javax.sound.midi.MidiEvent;
+import javax.sound.midi.MidiUnavailableException;
+import javax.sound.midi.Sequence;
+import javax.sound.midi.Sequencer;
+import javax.sound.midi.ShortMessage;
+import javax.sound.midi.Track;
+import keyboard.Note;
+import midiDevices.ColourReceiver;
+import midiDevices.PlayBackDevices;
+
+/**
+ * This class compiles chord progressions and arpeggios into a sequence, which
+ * the sequencer then plays with tick accurate timing. The timings used by the
+ * feature sets are in milliseconds, so the sequence runs at 60 beats per
+ * minute with 1000 ticks per beat, making one tick one millisecond.
+ *
+ * Notes are played as they were by hand: they are not released when the next
+ * chord starts, but left to decay naturally, and only stopped when struck again
+ * or at the end of the sequence. When colour mode is on, each note's key is
+ * coloured for as long as it is held by a copy of its note on and off on the
+ * colour channel. The pattern sequencer's ColourReceiver reads that channel,
+ * and its synthesiser never hears it.
+ */
+public class PatternCompiler {
+
+	public static final int TICKS_PER_BEAT = 1000;
+	private static final int MICROSECONDS_PER_BEAT = 1000000;
+	private static final int VELOCITY = 50;
+
+	private Sequence pattern;
+	private Track notesTrack;
+	private boolean showColours;
+	private boolean[] sounding = new boolean[Note.MIDI_PITCH_RANGE];
+	private long tick = 0;
+
+	/**
+	 * @param showColours
+	 *            - Whether the notes' keys change colour as they are played.
+	 */
+	public PatternCompiler(boolean showColours) throws InvalidMidiDataException {
+		this.showColours = showColours;
+		pattern = new Sequence(Sequence.PPQ, TICKS_PER_BEAT);
+		notesTrack = pattern.createTrack();
+
+		byte[] tempo = { (byte) (MICROSECONDS_PER_BEAT >> 16), (byte) (MICROSECONDS_PER_BEAT >> 8),
+				(byte) MICROSECONDS_PER_BEAT };
+		notesTrack.add(new MidiEvent(new MetaMessage(0x51, tempo, tempo.length), 0));
+	}
+
+	/**
+	 * Plays all the notes of a chord together.
+	 *
+	 * @param aChord
+	 *            - The chord to play.
+	 * @param holdTime
+	 *            - The time in milliseconds before the next event.
+	 */
+	public void addChord(Chord aChord, int holdTime) throws InvalidMidiDataException {
+		for (Note aNote : aChord.getChordNotes()) {
+			strike(aNote.getPitch());
+		}
+		tick += holdTime;
+		for (Note aNote : aChord.getChordNotes()) {
+			colour(ShortMessage.NOTE_OFF, aNote.getPitch());
+		}
+	}
+
+	/**
+	 * Plays a broken chord one note after another.
+	 *
+	 * @param brokenNotes
+	 *            - The notes to play in order.
+	 * @param intervalTime
+	 *            - The time in milliseconds between each note.
+	 * @param restTime
+	 *            - The time in milliseconds after the last note.
+	 */
+	public void addArpeggio(ArrayList<Note> brokenNotes, int intervalTime, int restTime)
+			throws InvalidMidiDataException {
+		for (Note aNote : brokenNotes) {
+			strike(aNote.getPitch());
+			tick += intervalTime;
+			colour(ShortMessage.NOTE_OFF, aNote.getPitch());
+		}
+		tick += restTime;
+	}
+
+	public void addRest(int restTime) {
+		tick += restTime;
+	}
+
+	/** @return The length of the pattern so far in milliseconds. */
+	public long getLength() {
+		return tick;
+	}
+
+	/**
+	 * Releases any notes still sounding at the end of the pattern.
+	 */
+	private void finish() throws InvalidMidiDataException {
+		for (int pitch = 0; pitch < sounding.length; pitch++) {
+			if (sounding[pitch]) {
+				notesTrack.add(new MidiEvent(new ShortMessage(ShortMessage.NOTE_ON, 0, pitch, 0), tick));
+				sounding[pitch] = false;
+			}
+		}
+	}
+
+	/**
+	 * Compiles the pattern and plays it on the pattern sequencer, replacing
+	 * any pattern already playing.
+	 */
+	public void play() throws InvalidMidiDataException, MidiUnavailableException {
+		Sequencer sequencer = PlayBackDevices.getInstance().returnPatternSequencer();
+		finish();
+		sequencer.stop();
+		sequencer.setSequence(pattern);
+		sequencer.setTickPosition(0);
+		sequencer.start();
+	}
+
+	/**
+	 * Stops the pattern playing, e.g. when the user leaves the feature.
+	 */
+	public static void stopPlaying() {
+		try {
+			Sequencer sequencer = PlayBackDevices.getInstance().returnPatternSequencer();
+			if (sequencer.isRunning()) {
+				sequencer.stop();
+			}
+		} catch (MidiUnavailableException e) {
+			e.printStackTrace();
+		}
+	}
+
+	private void strike(int pitch) throws InvalidMidiDataException {
+		// Release a note still ringing before striking it again
+		if (sounding[pitch]) {
+			notesTrack.add(new MidiEvent(new ShortMessage(ShortMessage.NOTE_ON, 0, pitch, 0), tick));
+		}
+		notesTrack.add(new MidiEvent(new ShortMessage(ShortMessage.NOTE_ON, 0, pitch, VELOCITY), tick));
+		sounding[pitch] = true;
+		colour(ShortMessage.NOTE_ON, pitch);
+	}
+
+	private void colour(int command, int pitch) throws InvalidMidiDataException {
+		if (!showColours) {
+			return;
+		}
+		int velocity = command == ShortMessage.NOTE_ON ? VELOCITY : 0;
+		notesTrack.add(new MidiEvent(new ShortMessage(command, ColourReceiver.COLOUR_CHANNEL, pitch, velocity), tick));
+	}
+}
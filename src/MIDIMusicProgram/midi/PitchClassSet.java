@@ -0,0 +1,84 @@
+package midi;
+
+/**
+ * This class defines the bit operations used on a 12-bit pitch class set. Bit 0
+ * stands for C, bit 1 for C#, up to bit 11 for B, so that a chord or scale in
+ * any octave or voicing is reduced to a single int. Comparing, transposing and
+ * testing one set against another then takes a few bit operations rather than
+ * traversing lists of notes.
+ */
+public final class PitchClassSet {
+
+	public static final int ALL_PITCH_CLASSES = 0xFFF;
+
+	private static final String[] NAMES = { "C", "C#", "D", "D#", "E", "F", "F#", "G", "G#", "A", "A#", "B" };
+
+	private PitchClassSet() {
+	}
+
+	/** @return The pitch class (0 for C up to 11 for B) of a MIDI pitch. */
+	public static int pitchClass(int pitch) {
+		return Math.floorMod(pitch, 12);
+	}
+
+	/**
+	 * Builds a set from MIDI pitch values.
+	 *
+	 * @param pitches
+	 *            - Pitch values in any octave.
+	 * @return The 12-bit set of their pitch classes.
+	 */
+	public static int maskOf(byte[] pitches) {
+		int mask = 0;
+		for (byte pitch : pitches) {
+			mask |= 1 << pitchClass(pitch);
+		}
+		return mask;
+	}
+
+	/**
+	 * Builds a set from semitone offsets, transposed to start on a root.
+	 */
+	public static int maskOf(int[] intervals, int rootPitchClass) {
+		int mask = 0;
+		for (int interval : intervals) {
+			mask |= 1 << pitchClass(rootPitchClass + interval);
+		}
+		return mask;
+	}
+
+	/**
+	 * Rotates the set up by a number of semitones, wrapping B round to C.
+	 * Negative values transpose down.
+	 */
+	public static int transpose(int mask, int semitones) {
+		int shift = pitchClass(semitones);
+		return ((mask << shift) | (mask >>> (12 - shift))) & ALL_PITCH_CLASSES;
+	}
+
+	/**
+	 * @return The set rotated so that the root pitch class sits on bit 0, which
+	 *         gives the same value for a chord type in all 12 keys.
+	 */
+	public static int normalise(int mask, int rootPitchClass) {
+		return transpose(mask, -rootPitchClass);
+	}
+
+	public static boolean contains(int mask, int pitchClass) {
+		return (mask & (1 << pitchClass(pitchClass))) != 0;
+	}
+
+	/** @return True if every pitch class in the subset is also in the set. */
+	public static boolean isSubset(int subset, int mask) {
+		return (subset & ~mask) == 0;
+	}
+
+	/** @return The note name of a pitch class without an octave, e.g. "C#" */
+	public static String name(int pitchClass) {
+		return NAMES[pitchClass(pitchClass)];
+	}
+
+	public static int size(int mask) {
+		return Integer.bitCount(mask);
+	}
+}
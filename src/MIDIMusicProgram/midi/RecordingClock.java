@@ -0,0 +1,139 @@
+package midi;
+
+import java.util.Arrays;
+import javax.sound.midi.InvalidMidiDataException;
+import javax.sound.midi.MidiEvent;
+import javax.sound.midi.ShortMessage;
+import keyboard.Note;
+import midiDevices.PlayBackDevices;
+
+/**
+ * This class times the notes input on the internal controller while recording.
+ * Each key press and release is stamped with System.nanoTime as soon as it
+ * arrives, and the elapsed time since the first note is converted to ticks
+ * using the sequence's resolution and the sequencer's current tempo. The note
+ * messages are then written straight into the recorded track, so no timer has
+ * to run while a key is held.
+ *
+ * If the tempo is changed during a recording, the ticks already elapsed are
+ * kept at the old tempo and only the time after the change uses the new one.
+ */
+public class RecordingClock {
+
+	private static final double NANOS_PER_MINUTE = 60000000000.0;
+	private static final int RECORD_VELOCITY = 90;
+
+	private boolean started = false;
+	private long originNanos;
+	private long originTick;
+	private float tempo;
+	private long lastTick = 0;
+	private long[] noteOnTicks = new long[Note.MIDI_PITCH_RANGE];
+	private PlayBackDevices devices = PlayBackDevices.getInstance();
+
+	private static volatile RecordingClock instance = null;
+
+	private RecordingClock() {
+		reset();
+	}
+
+	public static RecordingClock getInstance() {
+		if (instance == null) {
+			synchronized (RecordingClock.class) {
+				if (instance == null) {
+					instance = new RecordingClock();
+				}
+			}
+		}
+		return instance;
+	}
+
+	/**
+	 * Makes the next recorded note the first one, at tick 0.
+	 */
+	public synchronized void reset() {
+		started = false;
+		lastTick = 0;
+		Arrays.fill(noteOnTicks, -1);
+	}
+
+	public synchronized boolean isStarted() {
+		return started;
+	}
+
+	/**
+	 * Converts a time stamp into a tick of the recorded sequence. The first
+	 * time stamp after a reset becomes tick 0.
+	 *
+	 * @param nanos
+	 *            - A time stamp taken with System.nanoTime.
+	 * @return The tick at which an event at that time belongs.
+	 */
+	public synchronized long tickAt(long nanos) {
+		float currentTempo = devices.returnSequencer().getTempoInBPM();
+		if (!started) {
+			started = true;
+			originNanos = nanos;
+			originTick = 0;
+			tempo = currentTempo;
+		} else if (currentTempo != tempo) {
+			// Keep the time up to now at the old tempo
+			originTick = ticksSinceOrigin(nanos);
+			originNanos = nanos;
+			tempo = currentTempo;
+		}
+		// Time stamps taken on different threads can arrive slightly out of
+		// order, so never move backwards
+		lastTick = Math.max(lastTick, ticksSinceOrigin(nanos));
+		return lastTick;
+	}
+
+	private long ticksSinceOrigin(long nanos) {
+		int resolution = devices.getCurrentSequenceResolution();
+		double elapsedTicks = (nanos - originNanos) * resolution * tempo / NANOS_PER_MINUTE;
+		return originTick + Math.round(elapsedTicks);
+	}
+
+	/**
+	 * Writes a note on message into the recorded track.
+	 *
+	 * @param pitch
+	 *            - The pitch of the pressed key.
+	 * @param nanos
+	 *            - The System.nanoTime at which the key was pressed.
+	 * @return The tick of the note on message.
+	 */
+	public long recordNoteOn(int pitch, long nanos) throws InvalidMidiDataException {
+		long tick = tickAt(nanos);
+		synchronized (this) {
+			noteOnTicks[pitch] = tick;
+		}
+		ShortMessage message = new ShortMessage(ShortMessage.NOTE_ON, 0, pitch, RECORD_VELOCITY);
+		devices.getTrack().add(new MidiEvent(message, tick));
+		return tick;
+	}
+
+	/**
+	 * Writes a note off message into the recorded track. A note released in
+	 * the same tick as it was pressed is held for one tick, so that it is not
+	 * lost.
+	 *
+	 * @param pitch
+	 *            - The pitch of the released key.
+	 * @param nanos
+	 *            - The System.nanoTime at which the key was released.
+	 * @return The tick of the note off message.
+	 */
+	public long recordNoteOff(int pitch, long nanos) throws InvalidMidiDataException {
+		long tick = tickAt(nanos);
+		synchronized (this) {
+			if (noteOnTicks[pitch] >= 0) {
+				tick = Math.max(tick, noteOnTicks[pitch] + 1);
+				noteOnTicks[pitch] = -1;
+			}
+		}
+		ShortMessage message = new ShortMessage(ShortMessage.NOTE_OFF, 0, pitch, 0);
+		devices.getTrack().add(new MidiEvent(message, tick));
+		return tick;
+	}
+}
@@ -1,7 +1,7 @@
 package midi;
 
 import java.util.ArrayList;
-import javax.swing.DefaultListModel;
+import java.util.Arrays;
 import keyboard.Note;
 
 /**
@@ -65,9 +65,11 @@ public class Scale extends Note {
 	// Used to construct and edit list of notes to make a scale adjacent to
 	// scale name
 	private ArrayList<Note> scaleNotes = new ArrayList<Note>();
+	private byte[] packedPitches;
+	private int pitchClassMask;
 	private static ArrayList<Scale> tempScaleStorage = new ArrayList<Scale>();
 	private static ArrayList<Scale> allScaleNames = new ArrayList<Scale>();
-	private static DefaultListModel<String> listScaleNames = new DefaultListModel<String>();
+	private static ArrayList<String> listScaleNames = new ArrayList<String>();
 
 	public static void storeScaleKey(String scaleKey) {
 		currentScaleKey = scaleKey;
@@ -97,7 +99,7 @@ public class Scale extends Note {
 		return scaleNotes.get(index);
 	}
 
-	public static DefaultListModel<String> getScales() {
+	public static ArrayList<String> getScales() {
 		return listScaleNames;
 	}
 
@@ -118,13 +120,13 @@ public class Scale extends Note {
 
 		if (allScaleNames.size() == 0) {
 			allScaleNames.add(aScale);
-			listScaleNames.addElement(keyName + " " + aScale.getScaleName());
+			listScaleNames.add(keyName + " " + aScale.getScaleName());
 		} else if (!aScale.getScaleName().equals(allScaleNames.get(allScaleNames.size() - 1).getScaleName())) {
 			tempScaleStorage.add(aScale);
 			
 			// Added key name to scale name to make look better, but will
 			// convert back to original to get matching pitches if needed
-			listScaleNames.addElement(keyName + " " + aScale.getScaleName());
+			listScaleNames.add(keyName + " " + aScale.getScaleName());
 			allScaleNames.add(aScale);
 			tempScaleStorage = new ArrayList<Scale>();
 		}
@@ -132,100 +134,88 @@ public class Scale extends Note {
 
 	public static void resetScalesLists() {
 		tempScaleStorage = new ArrayList<Scale>();
-		listScaleNames = new DefaultListModel<String>();
+		listScaleNames = new ArrayList<String>();
 		allScaleNames = new ArrayList<Scale>();
 	}
 
+	/** Create a scale of any length from a list of its degrees */
+	public Scale(String scaleName, ArrayList<Note> scaleNotes) {
+		this.scaleName = scaleName;
+		this.scaleNotes = scaleNotes;
+		packedPitches = new byte[scaleNotes.size()];
+		for (int i = 0; i < packedPitches.length; i++) {
+			packedPitches[i] = (byte) scaleNotes.get(i).getPitch();
+		}
+		pitchClassMask = PitchClassSet.maskOf(packedPitches);
+	}
+
 	/** Create Pentatonic scale template */
 	public Scale(String scaleName, Note note1, Note note2, Note note3, Note note4, Note note5, Note newTonic) {
-		this.scaleName = scaleName;
-		this.scaleNotes.add(note1);
-		this.scaleNotes.add(note2);
-		this.scaleNotes.add(note3);
-		this.scaleNotes.add(note4);
-		this.scaleNotes.add(note5);
-		this.scaleNotes.add(newTonic);
+		this(scaleName, new ArrayList<Note>(Arrays.asList(note1, note2, note3, note4, note5, newTonic)));
 	}
 
 	/** Create Hexatonic scale template */
 	public Scale(String scaleName, Note note1, Note note2, Note note3, Note note4, Note note5, Note note6,
 			Note newTonic) {
-		this.scaleName = scaleName;
-		this.scaleNotes.add(note1);
-		this.scaleNotes.add(note2);
-		this.scaleNotes.add(note3);
-		this.scaleNotes.add(note4);
-		this.scaleNotes.add(note5);
-		this.scaleNotes.add(note6);
-		this.scaleNotes.add(newTonic);
+		this(scaleName, new ArrayList<Note>(Arrays.asList(note1, note2, note3, note4, note5, note6, newTonic)));
 	}
 
 	/** Create Hepatonic scale template */
 	public Scale(String scaleName, Note note1, Note note2, Note note3, Note note4, Note note5, Note note6, Note note7,
 			Note newTonic) {
-		this.scaleName = scaleName;
-		this.scaleNotes.add(note1);
-		this.scaleNotes.add(note2);
-		this.scaleNotes.add(note3);
-		this.scaleNotes.add(note4);
-		this.scaleNotes.add(note5);
-		this.scaleNotes.add(note6);
-		this.scaleNotes.add(note7);
-		this.scaleNotes.add(newTonic);
+		this(scaleName,
+				new ArrayList<Note>(Arrays.asList(note1, note2, note3, note4, note5, note6, note7, newTonic)));
 	}
 
 	/** Create Octatonic scale template */
 	public Scale(String scaleName, Note note1, Note note2, Note note3, Note note4, Note note5, Note note6, Note note7,
 			Note note8, Note newTonic) {
-		scaleNotes = new ArrayList<Note>();
-		this.scaleName = scaleName;
-		this.scaleNotes.add(note1);
-		this.scaleNotes.add(note2);
-		this.scaleNotes.add(note3);
-		this.scaleNotes.add(note4);
-		this.scaleNotes.add(note5);
-		this.scaleNotes.add(note6);
-		this.scaleNotes.add(note7);
-		this.scaleNotes.add(note8);
-		this.scaleNotes.add(newTonic);
-	}
-
-	/** Create Chromatic scale template : Ascending and Descending */
+		this(scaleName, new ArrayList<Note>(
+				Arrays.asList(note1, note2, note3, note4, note5, note6, note7, note8, newTonic)));
+	}
+
+	/**
+	 * Create Chromatic scale template : Ascending and Descending. Descends.
+	 * Sounds then same but would have difference chords based on whether using
+	 * flats or sharps
+	 */
 	public Scale(String scaleName, Note note1, Note note2, Note note3, Note note4, Note note5, Note note6, Note note7,
 			Note note8, Note note9, Note note10, Note note11, Note note12) {
-		if (scaleName.equals("Ascending Chromatic")) {
-			this.scaleName = scaleName;
-			this.scaleNotes.add(note1);
-			this.scaleNotes.add(note2);
-			this.scaleNotes.add(note3);
-			this.scaleNotes.add(note4);
-			this.scaleNotes.add(note5);
-			this.scaleNotes.add(note6);
-			this.scaleNotes.add(note7);
-			this.scaleNotes.add(note8);
-			this.scaleNotes.add(note9);
-			this.scaleNotes.add(note10);
-			this.scaleNotes.add(note11);
-			this.scaleNotes.add(note12);
-		}
+		this(scaleName, new ArrayList<Note>(Arrays.asList(note1, note2, note3, note4, note5, note6, note7, note8,
+				note9, note10, note11, note12)));
+	}
 
-		// Descends. Sounds then same but would have difference chords
-		// based on whether using flats or sharps
-		else if (scaleName.contains("Descending Chromatic")) {
-			this.scaleName = scaleName;
-			this.scaleNotes.add(note1);
-			this.scaleNotes.add(note2);
-			this.scaleNotes.add(note3);
-			this.scaleNotes.add(note4);
-			this.scaleNotes.add(note5);
-			this.scaleNotes.add(note6);
-			this.scaleNotes.add(note7);
-			this.scaleNotes.add(note8);
-			this.scaleNotes.add(note9);
-			this.scaleNotes.add(note10);
-			this.scaleNotes.add(note11);
-			this.scaleNotes.add(note12);
-		}
+	/**
+	 * PITCH CLASS SET: The scale's degrees reduced to a 12-bit mask, with the
+	 * degrees' pitches packed in order alongside it.
+	 */
+	public int getPitchClassMask() {
+		return pitchClassMask;
+	}
+
+	public int getDegreePitch(int index) {
+		return packedPitches[index];
+	}
+
+	public int getDegreeCount() {
+		return packedPitches.length;
+	}
+
+	/**
+	 * @return True if the interval in semitones above the tonic is in the
+	 *         scale; e.g. 4 for a major third or 3 for a minor third.
+	 */
+	public boolean containsInterval(int semitones) {
+		return PitchClassSet.contains(pitchClassMask, packedPitches[0] + semitones);
+	}
+
+	/** @return True if every note of the chord is found in this scale. */
+	public boolean containsChord(Chord aChord) {
+		return aChord.isSubsetOf(pitchClassMask);
+	}
+
+	public int transposedMask(int semitones) {
+		return PitchClassSet.transpose(pitchClassMask, semitones);
 	}
 
 	public String getScaleName() {
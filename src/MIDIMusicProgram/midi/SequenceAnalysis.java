@@ -0,0 +1,246 @@
+package midi;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import javax.sound.midi.MetaMessage;
+import javax.sound.midi.MidiEvent;
+import javax.sound.midi.MidiMessage;
+import javax.sound.midi.Sequence;
+import javax.sound.midi.ShortMessage;
+import javax.sound.midi.Track;
+import midi.TheoryCatalogue.chordFormulas;
+import midi.TheoryCatalogue.scaleFormulas;
+
+/**
+ * This class works out statistics of a whole sequence without playing it: how
+ * many notes it has and how densely they are played, its tempo changes, the
+ * key it is most likely in, and how often each chord is played.
+ *
+ * The sequence is cut into beats, and the pitch classes sounding in each beat
+ * are named as a chord by the ChordRecognizer's table. The key is the major
+ * or minor scale from the TheoryCatalogue holding the most of the song's
+ * note time, with its tonic chord used to tell a major key from its relative
+ * minor. Notes on the drum channel are counted, but not used for harmony.
+ */
+public class SequenceAnalysis {
+
+	private static final int DRUM_CHANNEL = 9;
+	private static final int DEFAULT_TEMPO = 500000; // 120 BPM
+
+	private final int noteCount;
+	private final double seconds;
+	private final String key;
+	private final LinkedHashMap<String, Integer> chordHistogram;
+	private final TreeMap<Long, Double> tempoMap;
+
+	private SequenceAnalysis(int noteCount, double seconds, String key, LinkedHashMap<String, Integer> chordHistogram,
+			TreeMap<Long, Double> tempoMap) {
+		this.noteCount = noteCount;
+		this.seconds = seconds;
+		this.key = key;
+		this.chordHistogram = chordHistogram;
+		this.tempoMap = tempoMap;
+	}
+
+	/**
+	 * Analyses every track of a sequence.
+	 *
+	 * @param sequence
+	 *            - A complete sequence, e.g. read from a .mid file.
+	 * @return The sequence's statistics.
+	 */
+	public static SequenceAnalysis analyse(Sequence sequence) {
+		long windowTicks = sequence.getDivisionType() == Sequence.PPQ ? sequence.getResolution()
+				: (long) (sequence.getDivisionType() * sequence.getResolution() / 2);
+		windowTicks = Math.max(1, windowTicks);
+		int windows = (int) (sequence.getTickLength() / windowTicks) + 1;
+
+		Harmony harmony = new Harmony(windowTicks, windows);
+		TreeMap<Long, Double> tempoMap = new TreeMap<Long, Double>();
+		int noteCount = 0;
+
+		// [channel * 128 + pitch] = tick the sounding note started on, or -1
+		long[] noteStarts = new long[16 * 128];
+		for (Track aTrack : sequence.getTracks()) {
+			Arrays.fill(noteStarts, -1);
+			long trackEnd = 0;
+			for (int i = 0; i < aTrack.size(); i++) {
+				MidiEvent event = aTrack.get(i);
+				MidiMessage message = event.getMessage();
+				long tick = event.getTick();
+				trackEnd = Math.max(trackEnd, tick);
+				if (message instanceof MetaMessage) {
+					MetaMessage meta = (MetaMessage) message;
+					byte[] data = meta.getData();
+					if (meta.getType() == 0x51 && data.length == 3) {
+						int tempo = (data[0] & 0xFF) << 16 | (data[1] & 0xFF) << 8 | data[2] & 0xFF;
+						tempoMap.put(tick, 60000000.0 / tempo);
+					}
+					continue;
+				}
+				if (!(message instanceof ShortMessage)) {
+					continue;
+				}
+				ShortMessage shortMessage = (ShortMessage) message;
+				int command = shortMessage.getCommand();
+				int channel = shortMessage.getChannel();
+				int pitch = shortMessage.getData1();
+				int slot = channel * 128 + pitch;
+				boolean noteOn = command == ShortMessage.NOTE_ON && shortMessage.getData2() > 0;
+				boolean noteOff = command == ShortMessage.NOTE_OFF
+						|| command == ShortMessage.NOTE_ON && shortMessage.getData2() == 0;
+				if (noteOn || noteOff) {
+					// A note played again before it ends is ended first
+					if (noteStarts[slot] >= 0 && channel != DRUM_CHANNEL) {
+						harmony.addNote(pitch, noteStarts[slot], tick);
+					}
+					noteStarts[slot] = -1;
+				}
+				if (noteOn) {
+					noteCount++;
+					noteStarts[slot] = tick;
+				}
+			}
+			// Notes still sounding end with their track
+			for (int slot = 0; slot < noteStarts.length; slot++) {
+				if (noteStarts[slot] >= 0 && slot / 128 != DRUM_CHANNEL) {
+					harmony.addNote(slot % 128, noteStarts[slot], trackEnd);
+				}
+			}
+		}
+		if (sequence.getDivisionType() == Sequence.PPQ && !tempoMap.containsKey(0L)) {
+			tempoMap.put(0L, 60000000.0 / DEFAULT_TEMPO);
+		}
+		return new SequenceAnalysis(noteCount, sequence.getMicrosecondLength() / 1000000.0, harmony.estimateKey(),
+				harmony.chordHistogram(), tempoMap);
+	}
+
+	/**
+	 * Collects the pitch classes sounding in each beat, and how long each
+	 * pitch class sounds in the whole song.
+	 */
+	private static class Harmony {
+		private final long windowTicks;
+		private final int[] windowMasks;
+		private final int[] windowBass;
+		private final double[] pitchClassTicks = new double[12];
+
+		Harmony(long windowTicks, int windows) {
+			this.windowTicks = windowTicks;
+			windowMasks = new int[windows];
+			windowBass = new int[windows];
+			Arrays.fill(windowBass, Integer.MAX_VALUE);
+		}
+
+		void addNote(int pitch, long start, long end) {
+			int pitchClass = PitchClassSet.pitchClass(pitch);
+			pitchClassTicks[pitchClass] += Math.max(1, end - start);
+			int first = (int) Math.min(start / windowTicks, windowMasks.length - 1);
+			int last = (int) Math.min(Math.max(start, end - 1) / windowTicks, windowMasks.length - 1);
+			for (int window = first; window <= last; window++) {
+				windowMasks[window] |= 1 << pitchClass;
+				windowBass[window] = Math.min(windowBass[window], pitch);
+			}
+		}
+
+		/**
+		 * @return The name of the most likely key, e.g. "A minor", or an
+		 *         empty String if the song has no pitched notes.
+		 */
+		String estimateKey() {
+			double best = 0;
+			String key = "";
+			scaleFormulas[] modes = { scaleFormulas.ionian, scaleFormulas.aeolian };
+			chordFormulas[] tonicChords = { chordFormulas.maj, chordFormulas.min };
+			String[] modeNames = { "major", "minor" };
+			for (int root = 0; root < 12; root++) {
+				for (int mode = 0; mode < modes.length; mode++) {
+					double score = weightOf(TheoryCatalogue.getScaleMask(modes[mode], root))
+							+ weightOf(TheoryCatalogue.getChordMask(tonicChords[mode], root)) / 2;
+					if (score > best) {
+						best = score;
+						key = PitchClassSet.name(root) + " " + modeNames[mode];
+					}
+				}
+			}
+			return key;
+		}
+
+		private double weightOf(int mask) {
+			double weight = 0;
+			for (int pitchClass = 0; pitchClass < 12; pitchClass++) {
+				if (PitchClassSet.contains(mask, pitchClass)) {
+					weight += pitchClassTicks[pitchClass];
+				}
+			}
+			return weight;
+		}
+
+		/**
+		 * @return The number of beats each chord is played in, the most
+		 *         played first.
+		 */
+		LinkedHashMap<String, Integer> chordHistogram() {
+			ChordRecognizer recognizer = ChordRecognizer.getInstance();
+			HashMap<String, Integer> counts = new HashMap<String, Integer>();
+			for (int window = 0; window < windowMasks.length; window++) {
+				if (windowMasks[window] == 0) {
+					continue;
+				}
+				String chord = recognizer.nameChord(windowMasks[window],
+						PitchClassSet.pitchClass(windowBass[window]));
+				if (!chord.isEmpty()) {
+					Integer count = counts.get(chord);
+					counts.put(chord, count == null ? 1 : count + 1);
+				}
+			}
+			ArrayList<Map.Entry<String, Integer>> sorted = new ArrayList<Map.Entry<String, Integer>>(
+					counts.entrySet());
+			Collections.sort(sorted, new Comparator<Map.Entry<String, Integer>>() {
+				@Override
+				public int compare(Map.Entry<String, Integer> a, Map.Entry<String, Integer> b) {
+					int byCount = b.getValue().compareTo(a.getValue());
+					return byCount != 0 ? byCount : a.getKey().compareTo(b.getKey());
+				}
+			});
+			LinkedHashMap<String, Integer> histogram = new LinkedHashMap<String, Integer>();
+			for (Map.Entry<String, Integer> entry : sorted) {
+				histogram.put(entry.getKey(), entry.getValue());
+			}
+			return histogram;
+		}
+	}
+
+	public int getNoteCount() {
+		return noteCount;
+	}
+
+	/** @return The length of the sequence in seconds. */
+	public double getSeconds() {
+		return seconds;
+	}
+
+	/** @return The number of notes started per second. */
+	public double getNoteDensity() {
+		return seconds > 0 ? noteCount / seconds : 0;
+	}
+
+	public String getKey() {
+		return key;
+	}
+
+	public LinkedHashMap<String, Integer> getChordHistogram() {
+		return chordHistogram;
+	}
+
+	/** @return Each tempo change's tick, and its tempo in beats per minute. */
+	public TreeMap<Long, Double> getTempoMap() {
+		return tempoMap;
+	}
+}
@@ -0,0 +1,214 @@
+package midi;
+
+import java.util.ArrayList;
+import keyboard.Note;
+
+/**
+ * This class holds the interval formulas of every supported chord and scale,
+ * fixed at compile time. From these formulas it derives a table of 12-bit
+ * pitch class masks for each chord and scale type in all 12 keys, and builds
+ * chord and scale objects from a root note by pitch arithmetic alone.
+ */
+public class TheoryCatalogue {
+
+	private static volatile TheoryCatalogue instance = null;
+
+	// [formula ordinal][root pitch class] = 12-bit pitch class mask
+	private static final int[][] chordMasks = new int[chordFormulas.values().length][12];
+	private static final int[][] scaleMasks = new int[scaleFormulas.values().length][12];
+
+	static {
+		for (chordFormulas formula : chordFormulas.values()) {
+			for (int root = 0; root < 12; root++) {
+				chordMasks[formula.ordinal()][root] = PitchClassSet.maskOf(formula.getIntervals(), root);
+			}
+		}
+		for (scaleFormulas formula : scaleFormulas.values()) {
+			for (int root = 0; root < 12; root++) {
+				scaleMasks[formula.ordinal()][root] = PitchClassSet.maskOf(formula.getIntervals(), root);
+			}
+		}
+	}
+
+	private TheoryCatalogue() {
+	}
+
+	public static TheoryCatalogue getInstance() {
+		if (instance == null) {
+			synchronized (TheoryCatalogue.class) {
+				if (instance == null) {
+					instance = new TheoryCatalogue();
+				}
+			}
+		}
+		return instance;
+	}
+
+	/**
+	 * Semitone offsets from the root of each supported chord. The names match
+	 * those used in Chord's enums.
+	 */
+	public enum chordFormulas {
+		majTetra("majTetra", 0, 2, 4, 5), minTetra("minTetra", 0, 2, 3, 5),
+
+		maj("maj", 0, 4, 7), min("min", 0, 3, 7), aug("aug", 0, 4, 8), dim("dim", 0, 3, 6), sus4("sus4", 0, 5,
+				7), sus2("sus2", 0, 2, 7),
+
+		seven("7", 0, 4, 7, 10), maj7("maj7", 0, 4, 7, 11), min7("min7", 0, 3, 7, 10), maj6("maj6", 0, 4, 7,
+				9), min6("min6", 0, 3, 7, 8), dim7("dim7", 0, 3, 6, 9), add9("add9", 0, 4, 7, 14), add2("add2", 0, 2,
+						4, 7), minMajSeven("minMaj7", 0, 3, 7, 11), minSevenFlatFive("min7b5", 0, 3, 6, 10),
+
+		nine("9", 0, 4, 7, 10, 14), maj9("maj9", 0, 4, 7, 11, 14), min9("min9", 0, 3, 7, 10, 14),
+
+		eleven("11", 0, 4, 7, 10, 14, 17), min11("min11", 0, 3, 7, 10, 14, 17),
+
+		thirteen("13", 0, 4, 7, 10, 14, 17, 21), maj13("maj13", 0, 4, 7, 11, 14, 17, 21), min13("min13", 0, 3, 7,
+				10, 14, 17, 21),
+
+		// Non scale based chords
+		sevenFlatFive("7b5", 0, 4, 6, 10), sevenSharpFive("7#5", 0, 4, 8, 10),
+
+		// Blues progression chords
+		bluesChord("Number Chord", 0, 7), fillerBluesChord("Adjusted Chord", 0, 12);
+
+		private final String chord;
+		private final int[] intervals;
+
+		chordFormulas(String chord, int... intervals) {
+			this.chord = chord;
+			this.intervals = intervals;
+		}
+
+		public String getChord() {
+			return chord;
+		}
+
+		public int[] getIntervals() {
+			return intervals.clone();
+		}
+
+		int getInterval(int index) {
+			return intervals[index];
+		}
+
+		int size() {
+			return intervals.length;
+		}
+	}
+
+	/**
+	 * Semitone offsets from the tonic of each supported scale, including the
+	 * closing octave note where the scale has one.
+	 */
+	public enum scaleFormulas {
+		pentatonicMajor("Pentatonic Major", 0, 2, 4, 7, 9, 12), pentatonicMinor("Pentatonic Minor", 0, 3, 5, 7, 10,
+				12),
+
+		augmented("Augmented", 0, 3, 4, 7, 8, 11, 12), blues("Blues", 0, 3, 5, 6, 7, 10, 12), wholeTone(
+				"Whole Tone", 0, 2, 4, 6, 8, 10, 12),
+
+		ionian("Diantonic Ionian", 0, 2, 4, 5, 7, 9, 11, 12), dorian("Diantonic Dorian", 0, 2, 3, 5, 7, 9, 10,
+				12), phrygian("Diatonic Phrygian", 0, 1, 3, 5, 7, 8, 10, 12), lydian("Diatonic Lydian", 0, 2, 4, 6,
+						7, 9, 11, 12), mixolydian("Diatonic Mixolydian", 0, 2, 4, 5, 7, 9, 10, 12), aeolian(
+								"Diatonic Aeolian", 0, 2, 3, 5, 7, 8, 10, 12), locrian("Diatonic Locrian", 0, 1, 3,
+										5, 6, 8, 10, 12),
+
+		harmonicMinor("Harmonic Minor", 0, 2, 3, 5, 7, 8, 11, 12), melodicMinor("Melodic Minor", 0, 2, 3, 5, 7, 9,
+				11, 12), halfDiminished("Half-Dimished", 0, 2, 3, 5, 6, 8, 10, 12), altered("Altered", 0, 1, 3, 4,
+						6, 8, 10, 12),
+
+		dominantDiminished("Dominant Diminished", 0, 1, 3, 4, 6, 7, 9, 10, 12), fullyDiminished("Fully Diminished",
+				0, 2, 3, 5, 6, 8, 9, 11, 12),
+
+		ascendingChromatic("Ascending Chromatic", 0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11), descendingChromatic(
+				"Descending Chromatic", 0, -1, -2, -3, -4, -5, -6, -7, -8, -9, -10, -11);
+
+		private final String scale;
+		private final int[] intervals;
+
+		scaleFormulas(String scale, int... intervals) {
+			this.scale = scale;
+			this.intervals = intervals;
+		}
+
+		public String getScaleName() {
+			return scale;
+		}
+
+		public int[] getIntervals() {
+			return intervals.clone();
+		}
+
+		int getInterval(int index) {
+			return intervals[index];
+		}
+
+		int size() {
+			return intervals.length;
+		}
+	}
+
+	/**
+	 * @param rootPitchClass
+	 *            - 0 for C up to 11 for B
+	 * @return The pitch class mask of the chord type in the given key.
+	 */
+	public static int getChordMask(chordFormulas formula, int rootPitchClass) {
+		return chordMasks[formula.ordinal()][PitchClassSet.pitchClass(rootPitchClass)];
+	}
+
+	public static int getScaleMask(scaleFormulas formula, int rootPitchClass) {
+		return scaleMasks[formula.ordinal()][PitchClassSet.pitchClass(rootPitchClass)];
+	}
+
+	/**
+	 * Creates a chord from its formula, with each note found by adding the
+	 * formula's offset to the root's pitch.
+	 *
+	 * @param formula
+	 *            - The type of chord to create.
+	 * @param root
+	 *            - The note to build the chord from.
+	 * @return The chord named after the formula.
+	 * @throws IllegalArgumentException
+	 *             If a note of the chord would be off the piano, rather than
+	 *             building the chord with a missing or misvoiced note.
+	 */
+	public Chord buildChord(chordFormulas formula, Note root) {
+		ListOfScales scales = ListOfScales.getInstance();
+		ArrayList<Note> chordNotes = new ArrayList<Note>(formula.size());
+		for (int i = 0; i < formula.size(); i++) {
+			if (!scales.isKeyInRange(root, formula.getInterval(i))) {
+				throw new IllegalArgumentException(
+						formula.getChord() + " chord on " + root.getName() + " goes past the end of the piano");
+			}
+			chordNotes.add(scales.getKey(root, formula.getInterval(i)));
+		}
+		return new Chord(formula.getChord(), chordNotes);
+	}
+
+	/**
+	 * Creates a scale from its formula, with each degree found by adding the
+	 * formula's offset to the tonic's pitch.
+	 *
+	 * @param formula
+	 *            - The type of scale to create.
+	 * @param tonic
+	 *            - The note to build the scale from.
+	 * @return The scale named after the formula.
+	 * @throws IllegalArgumentException
+	 *             If a degree of the scale would be off the piano.
+	 */
+	public Scale buildScale(scaleFormulas formula, Note tonic) {
+		ListOfScales scales = ListOfScales.getInstance();
+		ArrayList<Note> scaleNotes = new ArrayList<Note>(formula.size());
+		for (int i = 0; i < formula.size(); i++) {
+			if (!scales.isKeyInRange(tonic, formula.getInterval(i))) {
+				throw new IllegalArgumentException(
+						formula.getScaleName() + " scale on " + tonic.getName() + " goes past the end of the piano");
+			}
+			scaleNotes.add(scales.getKey(tonic, formula.getInterval(i)));
+		}
+		return new Scale(formula.getScaleName(), scaleNotes);
+	}
+}
@@ -3,8 +3,9 @@ package midi;
 import java.util.ArrayList;
 import java.util.Collections;
 import javax.sound.midi.InvalidMidiDataException;
+import javax.sound.midi.MidiUnavailableException;
 import keyboard.Note;
-import tools.PlaybackFunctions;
+import tools.PlaybackScheduler;
 
 /**
  * This class creates a support list of defined arpeggios for the user to select
@@ -83,11 +84,22 @@ public class TypesOfArpeggios {
 		return boxChoice;
 	}
 
+	/**
+	 * Finds the note a step above the chord's top note. Where that is past the
+	 * top of the piano, the note an octave below it is used instead.
+	 */
+	private Note stepAbove(Note topNote, int step) {
+		if (scales.isKeyInRange(topNote, step)) {
+			return scales.getKey(topNote, step);
+		}
+		return scales.getKey(topNote, step - 12);
+	}
+
 	/** Arpeggio 1 */
 	public void fineApreggio(Chord currentProgChord) {
 		brokenNotes = new ArrayList<Note>();
 		int size = currentProgChord.getChordNotes().size() - 1;
-		Note editNoteEnd = scales.getKey(currentProgChord.getChordNotes().get(size), 5);
+		Note editNoteEnd = stepAbove(currentProgChord.getChordNotes().get(size), 5);
 		for (Note aNote : currentProgChord.getChordNotes()) {
 			brokenNotes.add(aNote);
 		}
@@ -102,7 +114,7 @@ public class TypesOfArpeggios {
 	public void reflectiveApreggio(Chord currentProgChord) {
 		brokenNotes = new ArrayList<Note>();
 		int size = currentProgChord.getChordNotes().size() - 1;
-		Note editNoteEnd = scales.getKey(currentProgChord.getChordNotes().get(size), 5);
+		Note editNoteEnd = stepAbove(currentProgChord.getChordNotes().get(size), 5);
 		for (Note aNote : currentProgChord.getChordNotes()) {
 			brokenNotes.add(aNote);
 		}
@@ -117,8 +129,8 @@ public class TypesOfArpeggios {
 	public void excitingApreggio(Chord currentProgChord) {
 		brokenNotes = new ArrayList<Note>();
 		int size = currentProgChord.getChordNotes().size() - 1;
-		Note octaveRoot = scales.getKey(currentProgChord.getChordNotes().get(size), 17);
-		Note octaveThird = scales.getKey(currentProgChord.getChordNotes().get(size), 21);
+		Note octaveRoot = stepAbove(currentProgChord.getChordNotes().get(size), 17);
+		Note octaveThird = stepAbove(currentProgChord.getChordNotes().get(size), 21);
 		for (Note aNote : currentProgChord.getChordNotes()) {
 			brokenNotes.add(aNote);
 		}
@@ -164,11 +176,18 @@ public class TypesOfArpeggios {
 	 *            play next chord in progression sequence.
 	 */
 	public void playApreggio(int intervalTime, int restTime) throws InvalidMidiDataException {
-		for (Note aNote : brokenNotes) {
-			PlaybackFunctions.playIntervalNote(aNote);
-			PlaybackFunctions.timeDelay(intervalTime);
+		PatternCompiler arpeggio = new PatternCompiler(MidiMessageTypes.getInstance().isColourMode());
+		arpeggio.addArpeggio(brokenNotes, intervalTime, restTime);
+		try {
+			arpeggio.play();
+		} catch (MidiUnavailableException e) {
+			e.printStackTrace();
+			return;
 		}
-		PlaybackFunctions.timeDelay(restTime);
+
+		// The sequencer times each note, so the progression only waits once
+		// for the whole arpeggio before playing its next chord
+		PlaybackScheduler.getInstance().delay(arpeggio.getLength());
 	}
 
 	public ArrayList<Note> getApreggio() {
@@ -0,0 +1,91 @@
+package midiDevices;
+
+import javax.sound.midi.MidiMessage;
+import javax.sound.midi.Receiver;
+import javax.sound.midi.ShortMessage;
+import midi.MidiMessageTypes;
+
+/**
+ * This class receives the messages the sequencer sends to the synthesiser,
+ * through a second transmitter of the sequencer, as they are played. It uses
+ * them to change the colour of each note as a recorded sequence or a MIDI file
+ * plays, so colour mode does not need a copy of every note as a meta message.
+ *
+ * The last MIDI channel is kept for colour only. Compiled patterns put a copy
+ * of each note there when colour mode is on, to say how long its key stays
+ * coloured, and the synthesiser's receiver drops them, see withoutColours.
+ */
+public class ColourReceiver implements Receiver {
+
+	public static final int COLOUR_CHANNEL = 15;
+
+	private final boolean colourChannelOnly;
+
+	/**
+	 * Colours the notes of every channel.
+	 */
+	public ColourReceiver() {
+		this(false);
+	}
+
+	/**
+	 * @param colourChannelOnly
+	 *            - True to only colour the notes sent on the colour channel,
+	 *            e.g. for a compiled pattern.
+	 */
+	public ColourReceiver(boolean colourChannelOnly) {
+		this.colourChannelOnly = colourChannelOnly;
+	}
+
+	@Override
+	public void send(MidiMessage msg, long timeStamp) {
+		if (msg instanceof ShortMessage) {
+			ShortMessage message = (ShortMessage) msg;
+			if (colourChannelOnly && message.getChannel() != COLOUR_CHANNEL) {
+				return;
+			}
+			MidiMessageTypes.getInstance().eventColors(message.getCommand(), message.getData1(),
+					message.getData2());
+		}
+	}
+
+	@Override
+	public void close() {
+	}
+
+	/**
+	 * @return True if the message is only there to colour a key, and must not
+	 *         be played.
+	 */
+	public static boolean isColourMessage(MidiMessage msg) {
+		if (!(msg instanceof ShortMessage)) {
+			return false;
+		}
+		ShortMessage message = (ShortMessage) msg;
+		return message.getCommand() >= ShortMessage.NOTE_OFF && message.getCommand() <= ShortMessage.PITCH_BEND
+				&& message.getChannel() == COLOUR_CHANNEL;
+	}
+
+	/**
+	 * Wraps a synthesiser's receiver, so it is sent everything but the colour
+	 * channel's messages.
+	 *
+	 * @param synthRcvr
+	 *            - The receiver the sequencer plays through.
+	 */
+	public static Receiver withoutColours(final Receiver synthRcvr) {
+		return new Receiver() {
+			@Override
+			public void send(MidiMessage msg, long timeStamp) {
+				if (!isColourMessage(msg)) {
+					synthRcvr.send(msg, timeStamp);
+				}
+			}
+
+			@Override
+			public void close() {
+				synthRcvr.close();
+			}
+		};
+	}
+}
@@ -1,10 +1,16 @@
 package midiDevices;
 
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
 import javax.sound.midi.MidiMessage;
 import javax.sound.midi.MidiSystem;
 import javax.sound.midi.MidiUnavailableException;
 import javax.sound.midi.Receiver;
+import javax.sound.midi.ShortMessage;
+import javax.swing.Timer;
+import midi.ChordRecognizer;
 import midi.MidiMessageTypes;
+import midiDevices.MidiEventRingBuffer.MidiEventHandler;
 
 /**
  * This class is used to retrieve the MIDI messages that are transmitted to the
@@ -15,13 +21,37 @@ import midi.MidiMessageTypes;
  * transmitter of the same kind simultaneously sends the same messages to this
  * class, revealing the messages in real-time. I used this data to change the
  * display of each note's colour as the user plays their device in real-time.
+ *
+ * The input thread only queues each message. The notes' colours are changed
+ * on the Event Dispatch Thread once a frame, for every message queued since
+ * the last frame, so a burst of notes never waits on Swing.
  */
 public class DummyReceiver implements Receiver {
 
+	private static final int FRAME_MILLIS = 16;
+	private static final int QUEUED_MESSAGES = 1024;
+
 	private Receiver rcvr;
+	private MidiEventRingBuffer colourEvents = new MidiEventRingBuffer(QUEUED_MESSAGES);
+	private Timer frameTimer;
 
 	public DummyReceiver() throws MidiUnavailableException {
 		this.rcvr = MidiSystem.getReceiver();
+
+		final MidiEventHandler colourHandler = new MidiEventHandler() {
+			@Override
+			public void handle(int status, int data1, int data2) {
+				MidiMessageTypes.getInstance().eventColors(status & 0xF0, data1, data2);
+			}
+		};
+		frameTimer = new Timer(FRAME_MILLIS, new ActionListener() {
+			@Override
+			public void actionPerformed(ActionEvent e) {
+				colourEvents.drain(colourHandler);
+			}
+		});
+		frameTimer.setCoalesce(true);
+		frameTimer.start();
 	}
 
 	/**
@@ -44,12 +74,17 @@ public class DummyReceiver implements Receiver {
 		// While it runs, this condition isolates the messages to only come from
 		// MIDI Keyboard device's MIDI Output port.
 		if (msg.getStatus() != 254) {
-			//Process each message
-			MidiMessageTypes.getInstance().eventColors(msg);
+			// Queue the message for the next frame's colour changes
+			if (msg instanceof ShortMessage) {
+				ShortMessage message = (ShortMessage) msg;
+				colourEvents.offer(message.getStatus(), message.getData1(), message.getData2());
+			}
+			ChordRecognizer.getInstance().process(msg);
 		}
 	}
 
 	public void close() {
+		frameTimer.stop();
 		rcvr.close();
 	}
 }
\ No newline at end of file
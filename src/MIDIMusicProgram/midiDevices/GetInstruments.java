@@ -1,9 +1,9 @@
 package midiDevices;
 
+import java.util.ArrayList;
 import javax.sound.midi.Instrument;
 import javax.sound.midi.MidiChannel;
 import javax.sound.midi.Patch;
-import javax.swing.DefaultListModel;
 import midiDevices.PlayBackDevices;
 
 /**
@@ -18,7 +18,7 @@ public class GetInstruments {
 	private int bankNumber = 0;
 	private int programNumber = 0;
 	private boolean instrumentChanged = false;
-	private DefaultListModel<String> allInstruments = new DefaultListModel<String>();
+	private ArrayList<String> allInstruments = new ArrayList<String>();
 	private PlayBackDevices midiReceiever = PlayBackDevices.getInstance();
 	private static volatile GetInstruments instance = null;
 
@@ -112,11 +112,11 @@ public class GetInstruments {
 
 	public void storeInstrumentsList() {
 		for (int i = 0; i < instruments.length; i++) {
-			allInstruments.addElement(instruments[i].getName());
+			allInstruments.add(instruments[i].getName());
 		}
 	}
 
-	public DefaultListModel<String> getAllInstruments() {
+	public ArrayList<String> getAllInstruments() {
 		return allInstruments;
 	}
 
@@ -0,0 +1,97 @@
+package midiDevices;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class passes MIDI messages from the Java Sound input thread to the
+ * Event Dispatch Thread without locking. Each message is packed into an int of
+ * its status and two data bytes, and written into a fixed array used as a
+ * ring. Only one thread may write into it, and only one thread may read from
+ * it.
+ *
+ * The writer never waits: if the reader has fallen a whole ring behind, the
+ * new message is dropped and counted, rather than holding up the input thread.
+ */
+public class MidiEventRingBuffer {
+
+	/**
+	 * Receives each message read from the ring.
+	 */
+	public interface MidiEventHandler {
+		void handle(int status, int data1, int data2);
+	}
+
+	private final int[] events;
+	private final int mask;
+
+	// Total messages written and read. Each is only changed by its own thread,
+	// and published to the other with lazySet.
+	private final AtomicLong writeIndex = new AtomicLong();
+	private final AtomicLong readIndex = new AtomicLong();
+
+	// The writer's last look at readIndex, so it rarely has to read it
+	private long cachedReadIndex = 0;
+	private final AtomicLong droppedEvents = new AtomicLong();
+
+	/**
+	 * @param capacity
+	 *            - The number of messages held before new ones are dropped,
+	 *            rounded up to a power of two.
+	 */
+	public MidiEventRingBuffer(int capacity) {
+		int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+		events = new int[size];
+		mask = size - 1;
+	}
+
+	/**
+	 * Writes a message into the ring. Only called by the writing thread.
+	 *
+	 * @return False if the ring was full and the message dropped.
+	 */
+	public boolean offer(int status, int data1, int data2) {
+		long write = writeIndex.get();
+		if (write - cachedReadIndex >= events.length) {
+			cachedReadIndex = readIndex.get();
+			if (write - cachedReadIndex >= events.length) {
+				droppedEvents.incrementAndGet();
+				return false;
+			}
+		}
+		events[(int) write & mask] = (status & 0xFF) << 16 | (data1 & 0xFF) << 8 | (data2 & 0xFF);
+		writeIndex.lazySet(write + 1);
+		return true;
+	}
+
+	/**
+	 * Reads every message written so far, in order. Only called by the reading
+	 * thread.
+	 *
+	 * @param handler
+	 *            - Called with each message.
+	 * @return The number of messages read.
+	 */
+	public int drain(MidiEventHandler handler) {
+		long read = readIndex.get();
+		long write = writeIndex.get();
+		int count = (int) (write - read);
+		for (; read < write; read++) {
+			int event = events[(int) read & mask];
+			handler.handle(event >>> 16, event >>> 8 & 0xFF, event & 0xFF);
+		}
+		readIndex.lazySet(read);
+		return count;
+	}
+
+	public int size() {
+		return (int) (writeIndex.get() - readIndex.get());
+	}
+
+	public int getCapacity() {
+		return events.length;
+	}
+
+	public long getDroppedEvents() {
+		return droppedEvents.get();
+	}
+}
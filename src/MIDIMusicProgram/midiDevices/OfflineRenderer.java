@@ -0,0 +1,336 @@
+package midiDevices;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.sound.midi.MetaMessage;
+import javax.sound.midi.MidiEvent;
+import javax.sound.midi.MidiMessage;
+import javax.sound.midi.MidiSystem;
+import javax.sound.midi.MidiUnavailableException;
+import javax.sound.midi.Receiver;
+import javax.sound.midi.Sequence;
+import javax.sound.midi.Synthesizer;
+import javax.sound.midi.Track;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import tools.MIDIFileStreamer;
+
+/**
+ * This class renders a sequence to a WAV file with the software synthesizer,
+ * without playing it. Instead of the synthesizer writing to a sound card in
+ * real time, its output is read as a stream, so a song is rendered as fast
+ * as the processor allows and no audio device is needed.
+ *
+ * Events are given to the synthesizer with their time in the song, a chunk
+ * ahead of the audio being read, and each chunk of audio is written to the
+ * file as soon as it is read, so a long song is never held in memory.
+ *
+ * On Java 9 or later the program must be started with
+ * --add-exports java.desktop/com.sun.media.sound=ALL-UNNAMED to render, see
+ * checkCanRender.
+ */
+public class OfflineRenderer {
+
+	public static final AudioFormat FORMAT = new AudioFormat(44100f, 16, 2, true, false);
+
+	private static final int CHUNK_FRAMES = 4096;
+	private static final long TAIL_MICROSECONDS = 2000000; // Lets the last notes ring out
+	private static final int DEFAULT_TEMPO = 500000; // 120 BPM
+	private static final int WAV_HEADER_BYTES = 44;
+
+	private OfflineRenderer() {
+	}
+
+	/**
+	 * Renders a sequence, e.g. one recorded with MIDIRecord or loaded by the
+	 * MIDI file player, to a WAV file.
+	 *
+	 * @param sequence
+	 *            - The sequence to render.
+	 * @param wavFile
+	 *            - The file to write, replaced if it exists.
+	 */
+	public static void render(Sequence sequence, File wavFile) throws MidiUnavailableException, IOException {
+		ArrayList<MidiEvent> events = mergeTracks(sequence);
+		long[] times = microsecondTimes(sequence, events);
+		long endMicroseconds = (times.length == 0 ? 0 : times[times.length - 1]) + TAIL_MICROSECONDS;
+		long totalFrames = (long) (endMicroseconds * (double) FORMAT.getFrameRate() / 1000000);
+		int frameSize = FORMAT.getFrameSize();
+
+		Synthesizer synth = MidiSystem.getSynthesizer();
+		AudioInputStream audio = openStream(synth);
+		try (RandomAccessFile out = new RandomAccessFile(wavFile, "rw")) {
+			Receiver receiver = synth.getReceiver();
+			out.setLength(0);
+			out.write(wavHeader(0));
+
+			byte[] chunk = new byte[CHUNK_FRAMES * frameSize];
+			long frames = 0;
+			int next = 0;
+			while (frames < totalFrames) {
+				int chunkFrames = (int) Math.min(CHUNK_FRAMES, totalFrames - frames);
+				long chunkEnd = (long) ((frames + chunkFrames) * 1000000.0 / FORMAT.getFrameRate());
+				// Events are queued by the synthesizer until their time
+				while (next < events.size() && times[next] < chunkEnd) {
+					MidiMessage message = events.get(next).getMessage();
+					if (!(message instanceof MetaMessage)) {
+						receiver.send(message, times[next]);
+					}
+					next++;
+				}
+				int read = readFully(audio, chunk, chunkFrames * frameSize);
+				if (read <= 0) {
+					break;
+				}
+				out.write(chunk, 0, read);
+				frames += read / frameSize;
+			}
+			out.seek(0);
+			out.write(wavHeader(frames * frameSize));
+		} finally {
+			audio.close();
+			synth.close();
+		}
+	}
+
+	/**
+	 * Renders MIDI files to WAV files in parallel, each with its own
+	 * synthesizer, one file for each of the processor's cores at a time.
+	 *
+	 * @param midiFiles
+	 *            - The .mid files to render.
+	 * @param outputFolder
+	 *            - The folder the .wav files are written to, named after the
+	 *            .mid files.
+	 * @return The WAV files written, in the order of midiFiles, with null for
+	 *         any file that could not be rendered.
+	 */
+	public static List<File> renderFiles(List<File> midiFiles, final File outputFolder) {
+		outputFolder.mkdirs();
+		ExecutorService pool = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+		ArrayList<Future<File>> rendering = new ArrayList<Future<File>>(midiFiles.size());
+		for (final File midiFile : midiFiles) {
+			rendering.add(pool.submit(new Callable<File>() {
+				@Override
+				public File call() throws Exception {
+					String name = midiFile.getName().replaceFirst("(?i)\\.midi?$", "") + ".wav";
+					File wavFile = new File(outputFolder, name);
+					render(MIDIFileStreamer.read(midiFile), wavFile);
+					return wavFile;
+				}
+			}));
+		}
+		pool.shutdown();
+
+		ArrayList<File> written = new ArrayList<File>(midiFiles.size());
+		for (int i = 0; i < rendering.size(); i++) {
+			try {
+				written.add(rendering.get(i).get());
+			} catch (ExecutionException e) {
+				System.err.println("Could not render " + midiFiles.get(i) + ": " + e.getCause());
+				written.add(null);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				break;
+			}
+		}
+		return written;
+	}
+
+	/**
+	 * Checks that the default synthesizer can render without a sound card,
+	 * without opening it, e.g. before offering to save a recording as audio.
+	 *
+	 * @throws MidiUnavailableException
+	 *             Saying why it cannot, e.g. that the program was started
+	 *             without the --add-exports flag rendering needs.
+	 */
+	public static void checkCanRender() throws MidiUnavailableException {
+		Synthesizer synth = MidiSystem.getSynthesizer();
+		Method openStream = findOpenStream(synth);
+		try {
+			MethodHandles.lookup().unreflect(openStream);
+		} catch (IllegalAccessException e) {
+			throw notExported();
+		}
+	}
+
+	/**
+	 * Opens the software synthesizer with its output as a stream rather than
+	 * a sound card. This is Gervill's AudioSynthesizer.openStream, which is
+	 * not part of the public Java Sound API, so it is found by reflection.
+	 * Also used to run the synthesizer where there is no sound card, e.g. by
+	 * the benchmarks.
+	 */
+	public static AudioInputStream openStream(Synthesizer synth) throws MidiUnavailableException {
+		Method openStream = findOpenStream(synth);
+		try {
+			return (AudioInputStream) openStream.invoke(synth, FORMAT, null);
+		} catch (IllegalAccessException e) {
+			throw notExported();
+		} catch (InvocationTargetException e) {
+			MidiUnavailableException unavailable = new MidiUnavailableException(
+					"The synthesizer could not be opened for rendering");
+			unavailable.initCause(e.getCause());
+			throw unavailable;
+		}
+	}
+
+	private static Method findOpenStream(Synthesizer synth) throws MidiUnavailableException {
+		try {
+			return synth.getClass().getMethod("openStream", AudioFormat.class, Map.class);
+		} catch (NoSuchMethodException e) {
+			throw new MidiUnavailableException("The default synthesizer cannot render without a sound card");
+		}
+	}
+
+	private static MidiUnavailableException notExported() {
+		return new MidiUnavailableException(
+				"Rendering needs --add-exports java.desktop/com.sun.media.sound=ALL-UNNAMED on Java 9 or later");
+	}
+
+	/** @return Every track's events in one list, in time order. */
+	private static ArrayList<MidiEvent> mergeTracks(Sequence sequence) {
+		ArrayList<MidiEvent> events = new ArrayList<MidiEvent>();
+		for (Track aTrack : sequence.getTracks()) {
+			for (int i = 0; i < aTrack.size(); i++) {
+				events.add(aTrack.get(i));
+			}
+		}
+		// Stable, so events on the same tick keep their track order
+		Collections.sort(events, new Comparator<MidiEvent>() {
+			@Override
+			public int compare(MidiEvent a, MidiEvent b) {
+				return Long.compare(a.getTick(), b.getTick());
+			}
+		});
+		return events;
+	}
+
+	/**
+	 * @return The time of each event in microseconds from the start of the
+	 *         song, following the tempo changes.
+	 */
+	private static long[] microsecondTimes(Sequence sequence, ArrayList<MidiEvent> events) {
+		long[] times = new long[events.size()];
+		int resolution = sequence.getResolution();
+		if (sequence.getDivisionType() != Sequence.PPQ) {
+			double ticksPerSecond = sequence.getDivisionType() * resolution;
+			for (int i = 0; i < times.length; i++) {
+				times[i] = (long) (events.get(i).getTick() * 1000000 / ticksPerSecond);
+			}
+			return times;
+		}
+		long tempo = DEFAULT_TEMPO;
+		long lastTick = 0;
+		double micros = 0;
+		for (int i = 0; i < times.length; i++) {
+			MidiEvent event = events.get(i);
+			micros += (double) (event.getTick() - lastTick) * tempo / resolution;
+			lastTick = event.getTick();
+			times[i] = (long) micros;
+			MidiMessage message = event.getMessage();
+			if (message instanceof MetaMessage && ((MetaMessage) message).getType() == 0x51) {
+				byte[] data = ((MetaMessage) message).getData();
+				if (data.length == 3) {
+					tempo = (data[0] & 0xFF) << 16 | (data[1] & 0xFF) << 8 | data[2] & 0xFF;
+				}
+			}
+		}
+		return times;
+	}
+
+	private static int readFully(AudioInputStream audio, byte[] buffer, int length) throws IOException {
+		int total = 0;
+		while (total < length) {
+			int read = audio.read(buffer, total, length - total);
+			if (read < 0) {
+				break;
+			}
+			total += read;
+		}
+		return total;
+	}
+
+	/** @return A RIFF WAVE header for 16-bit PCM data of the given size. */
+	private static byte[] wavHeader(long dataBytes) {
+		ByteBuffer header = ByteBuffer.allocate(WAV_HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+		int channels = FORMAT.getChannels();
+		int sampleRate = (int) FORMAT.getSampleRate();
+		int frameSize = FORMAT.getFrameSize();
+		header.put(new byte[] { 'R', 'I', 'F', 'F' });
+		header.putInt((int) (WAV_HEADER_BYTES - 8 + dataBytes));
+		header.put(new byte[] { 'W', 'A', 'V', 'E', 'f', 'm', 't', ' ' });
+		header.putInt(16);
+		header.putShort((short) 1); // PCM
+		header.putShort((short) channels);
+		header.putInt(sampleRate);
+		header.putInt(sampleRate * frameSize);
+		header.putShort((short) frameSize);
+		header.putShort((short) FORMAT.getSampleSizeInBits());
+		header.put(new byte[] { 'd', 'a', 't', 'a' });
+		header.putInt((int) dataBytes);
+		return header.array();
+	}
+
+	/**
+	 * Renders a MIDI file, or every MIDI file in a folder, from the command
+	 * line. Started with:
+	 *
+	 * java --add-exports java.desktop/com.sun.media.sound=ALL-UNNAMED
+	 * tools.ProgramMainGUI --render [file or folder] [output folder]
+	 */
+	public static void run(String[] args) {
+		System.setProperty("java.awt.headless", "true");
+		if (args.length < 2) {
+			System.err.println("Usage: java --add-exports java.desktop/com.sun.media.sound=ALL-UNNAMED"
+					+ " tools.ProgramMainGUI --render <file or folder> <output folder>");
+			return;
+		}
+		try {
+			checkCanRender();
+		} catch (MidiUnavailableException e) {
+			System.err.println(e.getMessage());
+			return;
+		}
+		File input = new File(args[0]);
+		ArrayList<File> midiFiles = new ArrayList<File>();
+		File[] entries = input.isDirectory() ? input.listFiles() : new File[] { input };
+		if (entries != null) {
+			for (File entry : entries) {
+				if (entry.isFile() && entry.getName().toLowerCase().matches(".*\\.midi?$")) {
+					midiFiles.add(entry);
+				}
+			}
+		}
+		Collections.sort(midiFiles);
+
+		long start = System.nanoTime();
+		List<File> written = renderFiles(midiFiles, new File(args[1]));
+		int rendered = 0;
+		for (File wavFile : written) {
+			if (wavFile != null) {
+				System.out.println(wavFile.getPath());
+				rendered++;
+			}
+		}
+		System.err.println("Rendered " + rendered + " of " + midiFiles.size() + " files in "
+				+ (System.nanoTime() - start) / 1000000 + " ms");
+	}
+}
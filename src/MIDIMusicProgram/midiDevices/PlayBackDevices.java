@@ -2,6 +2,7 @@ package midiDevices;
 
 import java.util.ArrayList;
 import javax.sound.midi.InvalidMidiDataException;
+import javax.sound.midi.MidiChannel;
 import javax.sound.midi.MidiDevice;
 import javax.sound.midi.MidiMessage;
 import javax.sound.midi.MidiSystem;
@@ -9,7 +10,6 @@ import javax.sound.midi.MidiUnavailableException;
 import javax.sound.midi.Receiver;
 import javax.sound.midi.Sequence;
 import javax.sound.midi.Sequencer;
-import javax.sound.midi.ShortMessage;
 import javax.sound.midi.Synthesizer;
 import javax.sound.midi.Track;
 import javax.sound.midi.Transmitter;
@@ -26,8 +26,10 @@ public class PlayBackDevices implements Receiver {
 	private Transmitter transToSeqReceiver = null;
 	private Synthesizer synth;
 	private Receiver synthRcvr;
+	private MidiChannel synthChannel;
 	private Sequencer sequencer;
 	private Receiver seqRcvr;
+	private Sequencer patternSequencer;
 
 	private boolean stopRecording = true;
 	private boolean stopPianoFreePlay = false;
@@ -94,6 +96,7 @@ public class PlayBackDevices implements Receiver {
 				device.open();
 				synth = (Synthesizer) device;
 				synthRcvr = synth.getReceiver();
+				synthChannel = synth.getChannels()[0];
 			}
 
 			else if (device.getDeviceInfo().getDescription().equals("No details available")) {
@@ -131,6 +134,9 @@ public class PlayBackDevices implements Receiver {
 		sequencer = MidiSystem.getSequencer();
 		sequencer.open();
 
+		// Colour mode follows the notes the sequencer plays
+		sequencer.getTransmitter().setReceiver(new ColourReceiver());
+
 		// MIDI keyboard is not active.
 		if (transToSynReceiver == null) {
 			transToSynReceiver = sequencer.getTransmitter();
@@ -173,6 +179,23 @@ public class PlayBackDevices implements Receiver {
 		return sequencer;
 	}
 
+	/**
+	 * A second sequencer for the patterns compiled by the feature sets, e.g. a
+	 * genre's song, so that playing one does not replace a recorded or loaded
+	 * sequence. It is only opened when first needed. A second transmitter
+	 * taps the pattern's colour channel for colour mode, which is kept from
+	 * the synthesiser.
+	 */
+	public synchronized Sequencer returnPatternSequencer() throws MidiUnavailableException {
+		if (patternSequencer == null) {
+			patternSequencer = MidiSystem.getSequencer(false);
+			patternSequencer.open();
+			patternSequencer.getTransmitter().setReceiver(ColourReceiver.withoutColours(synth.getReceiver()));
+			patternSequencer.getTransmitter().setReceiver(new ColourReceiver(true));
+		}
+		return patternSequencer;
+	}
+
 	public Receiver returnSeqRcvr() {
 		return seqRcvr;
 	}
@@ -197,29 +220,51 @@ public class PlayBackDevices implements Receiver {
 	}
 
 	/**
-	 * Utilises the send method to play a given note with note defined start
-	 * message. Results in it playing until it decays naturally
+	 * Plays a note on the synthesiser's first channel. The channel is called
+	 * directly rather than sent a new short message, so that playing a note
+	 * creates no objects for the garbage collector to clean up.
+	 * 
+	 * @param pitch
+	 *            - The pitch of the note to play
+	 * @param velocity
+	 *            - How hard the note is played, from 1 to 127
+	 */
+	public void noteOn(int pitch, int velocity) {
+		synthChannel.noteOn(pitch, velocity);
+	}
+
+	/**
+	 * Stops a note on the synthesiser's first channel, as a NOTE ON (0)
+	 * velocity message would.
+	 * 
+	 * @param pitch
+	 *            - The pitch of the note to stop
+	 */
+	public void noteOff(int pitch) {
+		synthChannel.noteOn(pitch, 0);
+	}
+
+	/**
+	 * Utilises the synthesiser's channel to play a given note. Results in it
+	 * playing until it decays naturally
 	 * 
 	 * @param pitch
-	 *            - The value used to create the short message
+	 *            - The pitch of the note to play
 	 */
 	public void freeNotePlay(int pitch) throws InvalidMidiDataException {
-		ShortMessage noteOnMessage = new ShortMessage(ShortMessage.NOTE_ON, 0, pitch, 100);
-		send(noteOnMessage, -1);
+		noteOn(pitch, 100);
 	}
 
 	/**
-	 * Utilises the send method to stop a given note with note defined end
-	 * message. Results in it playing until it decays naturally
+	 * Utilises the synthesiser's channel to stop a given note.
 	 * 
 	 * @param pitch
-	 *            - The value used to create the short message
+	 *            - The pitch of the note to stop
 	 */
 	public void freeNoteStop(int pitch) throws InvalidMidiDataException {
 		// Changed from note off, 100 velocity to note on 0
 		// velocity for testing purposes
-		ShortMessage noteOnMessage = new ShortMessage(ShortMessage.NOTE_ON, 0, pitch, 0);
-		send(noteOnMessage, -1);
+		noteOff(pitch);
 	}
 
 	/**
@@ -0,0 +1,177 @@
+package tools;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import midi.SequenceAnalysis;
+
+/**
+ * This class analyses a folder of MIDI files from the command line, without
+ * a display or any MIDI devices, e.g. to prepare a large library on a server.
+ * It is started with:
+ *
+ * java tools.ProgramMainGUI --analyse [folder] [output file]
+ *
+ * Every .mid file in the folder and its sub folders is read and analysed in
+ * parallel, split between the processor's cores by a fork/join pool. One
+ * line of JSON is then written for each file, in file name order, holding its
+ * length, note count and density, estimated key, tempo map and chord
+ * histogram.
+ */
+public class BatchAnalysis {
+
+	private static final String USAGE = "Usage: java tools.ProgramMainGUI --analyse <folder> [output file]";
+
+	private BatchAnalysis() {
+	}
+
+	/**
+	 * @param args
+	 *            - The folder of MIDI files, and optionally a file to write the
+	 *            results to instead of the console.
+	 */
+	public static void run(String[] args) {
+		System.setProperty("java.awt.headless", "true");
+		if (args.length < 1 || !new File(args[0]).isDirectory()) {
+			System.err.println(USAGE);
+			return;
+		}
+
+		long start = System.nanoTime();
+		ArrayList<File> files = new ArrayList<File>();
+		findMidiFiles(new File(args[0]), files);
+		Collections.sort(files);
+
+		String[] results = new String[files.size()];
+		ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+		pool.invoke(new AnalyseFiles(files, results, 0, results.length));
+		pool.shutdown();
+
+		PrintStream out = System.out;
+		try {
+			if (args.length > 1) {
+				out = new PrintStream(new File(args[1]), "UTF-8");
+			}
+			for (String result : results) {
+				out.println(result);
+			}
+		} catch (FileNotFoundException | UnsupportedEncodingException e) {
+			e.printStackTrace();
+		} finally {
+			if (out != System.out) {
+				out.close();
+			}
+		}
+		System.err.println("Analysed " + files.size() + " files in " + (System.nanoTime() - start) / 1000000
+				+ " ms on " + pool.getParallelism() + " threads");
+	}
+
+	private static void findMidiFiles(File folder, ArrayList<File> files) {
+		File[] entries = folder.listFiles();
+		if (entries == null) {
+			return;
+		}
+		for (File entry : entries) {
+			if (entry.isDirectory()) {
+				findMidiFiles(entry, files);
+			} else {
+				String name = entry.getName().toLowerCase(Locale.ROOT);
+				if (name.endsWith(".mid") || name.endsWith(".midi")) {
+					files.add(entry);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Analyses a range of the files, splitting it in half until each task has
+	 * one file, so idle threads can take work from busy ones.
+	 */
+	private static class AnalyseFiles extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final ArrayList<File> files;
+		private final String[] results;
+		private final int from;
+		private final int to;
+
+		AnalyseFiles(ArrayList<File> files, String[] results, int from, int to) {
+			this.files = files;
+			this.results = results;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= 1) {
+				if (from < to) {
+					results[from] = analyse(files.get(from));
+				}
+				return;
+			}
+			int middle = (from + to) >>> 1;
+			invokeAll(new AnalyseFiles(files, results, from, middle), new AnalyseFiles(files, results, middle, to));
+		}
+	}
+
+	/**
+	 * @return The file's statistics as one line of JSON, or the reason it
+	 *         could not be read.
+	 */
+	private static String analyse(File file) {
+		StringBuilder json = new StringBuilder(256);
+		json.append("{\"file\":").append(quote(file.getPath()));
+		try {
+			SequenceAnalysis analysis = SequenceAnalysis.analyse(MIDIFileStreamer.read(file));
+			json.append(",\"seconds\":").append(format(analysis.getSeconds()));
+			json.append(",\"notes\":").append(analysis.getNoteCount());
+			json.append(",\"noteDensity\":").append(format(analysis.getNoteDensity()));
+			json.append(",\"key\":").append(quote(analysis.getKey()));
+
+			json.append(",\"tempoMap\":[");
+			boolean first = true;
+			for (Map.Entry<Long, Double> change : analysis.getTempoMap().entrySet()) {
+				json.append(first ? "" : ",").append('[').append(change.getKey()).append(',')
+						.append(format(change.getValue())).append(']');
+				first = false;
+			}
+			json.append("],\"chords\":{");
+			first = true;
+			for (Map.Entry<String, Integer> chord : analysis.getChordHistogram().entrySet()) {
+				json.append(first ? "" : ",").append(quote(chord.getKey())).append(':').append(chord.getValue());
+				first = false;
+			}
+			json.append('}');
+		} catch (Exception e) {
+			json.append(",\"error\":").append(quote(String.valueOf(e.getMessage())));
+		}
+		return json.append('}').toString();
+	}
+
+	private static String format(double value) {
+		return String.format(Locale.ROOT, "%.2f", value);
+	}
+
+	private static String quote(String text) {
+		StringBuilder quoted = new StringBuilder(text.length() + 2).append('"');
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			if (c == '"' || c == '\\') {
+				quoted.append('\\').append(c);
+			} else if (c < 0x20) {
+				quoted.append(String.format("\\u%04x", (int) c));
+			} else {
+				quoted.append(c);
+			}
+		}
+		return quoted.append('"').toString();
+	}
+}
@@ -0,0 +1,466 @@
+package tools;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Locale;
+import javax.sound.midi.MidiChannel;
+import javax.sound.midi.MidiEvent;
+import javax.sound.midi.MidiMessage;
+import javax.sound.midi.MidiSystem;
+import javax.sound.midi.MidiUnavailableException;
+import javax.sound.midi.Receiver;
+import javax.sound.midi.Sequence;
+import javax.sound.midi.ShortMessage;
+import javax.sound.midi.Synthesizer;
+import javax.sound.midi.Track;
+import javax.sound.sampled.AudioInputStream;
+import keyboard.Note;
+import keyboard.PianoKeyboard;
+import midi.Chord;
+import midi.ListOfChords;
+import midi.ListOfScales;
+import midi.MidiMessageTypes;
+import midi.SequenceAnalysis;
+import midiDevices.ColourReceiver;
+import midiDevices.OfflineRenderer;
+
+/**
+ * This class measures the speed of the program's busiest code: note and key
+ * look ups, finding chords, colour mode's handling of note events, and
+ * reading MIDI files. It runs without a display, a synthesizer or a sound
+ * card, so it can be run on any machine to compare a change with the code
+ * before it. It is started with:
+ *
+ * java tools.ProgramMainGUI --benchmark [name filter]
+ *
+ * Each benchmark is first run until the JIT compiler has settled, then timed
+ * over several measured rounds, and the mean time per operation is printed
+ * with the spread between rounds. Where the JVM can count the bytes each
+ * thread allocates, the mean bytes allocated per operation are printed too,
+ * e.g. to check that playing a note creates no garbage.
+ *
+ * The note playing benchmarks need the synthesizer. Without a sound card it
+ * is run as a stream, which needs the --add-exports flag rendering needs, see
+ * OfflineRenderer.
+ */
+public class Benchmarks {
+
+	private static final int WARMUP_ROUNDS = 5;
+	private static final int MEASURED_ROUNDS = 10;
+	private static final long ROUND_NANOS = 200000000L;
+
+	// Results are added here so the JIT cannot remove the work measured
+	private static volatile long sink;
+
+	private Benchmarks() {
+	}
+
+	/**
+	 * A piece of code to time. Each call of operation does one unit of work,
+	 * and returns a value that depends on it.
+	 */
+	private abstract static class Benchmark {
+		final String name;
+
+		Benchmark(String name) {
+			this.name = name;
+		}
+
+		void setUp() throws Exception {
+		}
+
+		void tearDown() throws Exception {
+		}
+
+		abstract long operation(int i) throws Exception;
+	}
+
+	/**
+	 * A benchmark that colours keys. The coloured keys and notes are cleared
+	 * before and after it, so it starts from the same state each time and
+	 * leaves none behind.
+	 */
+	private abstract static class ColourBenchmark extends Benchmark {
+		ColourBenchmark(String name) {
+			super(name);
+		}
+
+		@Override
+		void setUp() throws Exception {
+			clearColours();
+		}
+
+		@Override
+		void tearDown() throws Exception {
+			clearColours();
+		}
+
+		private static void clearColours() {
+			PlaybackFunctions.resetChordsColor();
+			PlaybackFunctions.emptyNotes();
+		}
+	}
+
+	/**
+	 * A benchmark that plays notes on the default synthesizer. It is opened
+	 * on the sound card if there is one, or else as a stream that is never
+	 * read, and closed again afterwards.
+	 */
+	private abstract static class SynthesizerBenchmark extends Benchmark {
+		Synthesizer synth;
+		private AudioInputStream stream;
+
+		SynthesizerBenchmark(String name) {
+			super(name);
+		}
+
+		@Override
+		void setUp() throws Exception {
+			synth = MidiSystem.getSynthesizer();
+			try {
+				synth.open();
+			} catch (MidiUnavailableException noSoundCard) {
+				OfflineRenderer.checkCanRender();
+				stream = OfflineRenderer.openStream(synth);
+			}
+		}
+
+		@Override
+		void tearDown() throws Exception {
+			if (stream != null) {
+				stream.close();
+			}
+			synth.close();
+		}
+	}
+
+	public static void run(String[] args) {
+		System.setProperty("java.awt.headless", "true");
+		String filter = args.length > 0 ? args[0] : "";
+		try {
+			setUpHeadless();
+		} catch (Exception e) {
+			e.printStackTrace();
+			return;
+		}
+
+		System.out.println(String.format(Locale.ROOT, "%-36s %14s %12s %14s %10s", "Benchmark", "ns/op", "+/- ns",
+				"ops/s", "B/op"));
+		for (Benchmark benchmark : benchmarks()) {
+			if (!benchmark.name.contains(filter)) {
+				continue;
+			}
+			try {
+				benchmark.setUp();
+				try {
+					measure(benchmark);
+				} finally {
+					benchmark.tearDown();
+				}
+			} catch (Exception e) {
+				System.out.println(benchmark.name + " failed: " + e);
+			}
+		}
+	}
+
+	/**
+	 * Stores the piano's notes without creating the piano, which is all the
+	 * theory and colour code needs from the GUI. Colour mode is connected as
+	 * the program does, and its changes are kept by the KeyColourModel and
+	 * never painted, as no piano is attached.
+	 */
+	private static void setUpHeadless() throws Exception {
+		Note.storePianoNotes(PianoKeyboard.LOWEST_PITCH, PianoKeyboard.HIGHEST_PITCH);
+		MidiMessageTypes.getInstance().setNoteListener(ColourModeListener.getInstance());
+		ListOfChords.getInstance().loadCatalogue();
+	}
+
+	private static void measure(Benchmark benchmark) throws Exception {
+		// Find how many operations fill a round
+		int operations = 1;
+		while (true) {
+			long start = System.nanoTime();
+			runOperations(benchmark, operations);
+			long elapsed = System.nanoTime() - start;
+			if (elapsed > ROUND_NANOS / 10 || operations >= 1 << 30) {
+				operations = (int) Math.max(1, Math.min(1 << 30, operations * (ROUND_NANOS / Math.max(1, elapsed))));
+				break;
+			}
+			operations *= 2;
+		}
+
+		for (int round = 0; round < WARMUP_ROUNDS; round++) {
+			runOperations(benchmark, operations);
+		}
+		double[] nanosPerOperation = new double[MEASURED_ROUNDS];
+		long allocatedBefore = allocatedBytes();
+		for (int round = 0; round < MEASURED_ROUNDS; round++) {
+			long start = System.nanoTime();
+			runOperations(benchmark, operations);
+			nanosPerOperation[round] = (double) (System.nanoTime() - start) / operations;
+		}
+		long allocated = allocatedBytes() - allocatedBefore;
+		String bytesPerOperation = allocatedBefore < 0 ? "-"
+				: String.format(Locale.ROOT, "%.1f", (double) allocated / ((long) operations * MEASURED_ROUNDS));
+
+		double mean = 0;
+		for (double value : nanosPerOperation) {
+			mean += value / MEASURED_ROUNDS;
+		}
+		double variance = 0;
+		for (double value : nanosPerOperation) {
+			variance += (value - mean) * (value - mean) / (MEASURED_ROUNDS - 1);
+		}
+		System.out.println(String.format(Locale.ROOT, "%-36s %14.1f %12.1f %14.0f %10s", benchmark.name, mean,
+				Math.sqrt(variance), 1e9 / mean, bytesPerOperation));
+	}
+
+	/**
+	 * @return The bytes this thread has allocated so far, or -1 if the JVM
+	 *         does not count them.
+	 */
+	private static long allocatedBytes() {
+		ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		if (!(threads instanceof com.sun.management.ThreadMXBean)) {
+			return -1;
+		}
+		com.sun.management.ThreadMXBean hotspot = (com.sun.management.ThreadMXBean) threads;
+		if (!hotspot.isThreadAllocatedMemorySupported() || !hotspot.isThreadAllocatedMemoryEnabled()) {
+			return -1;
+		}
+		return hotspot.getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+
+	private static void runOperations(Benchmark benchmark, int operations) throws Exception {
+		long result = 0;
+		for (int i = 0; i < operations; i++) {
+			result += benchmark.operation(i);
+		}
+		sink += result;
+	}
+
+	private static ArrayList<Benchmark> benchmarks() {
+		final String[] noteNames = new String[PianoKeyboard.HIGHEST_PITCH - PianoKeyboard.LOWEST_PITCH + 1];
+		final Note[] notes = new Note[noteNames.length];
+		for (int i = 0; i < noteNames.length; i++) {
+			noteNames[i] = Note.nameOfPitch(PianoKeyboard.LOWEST_PITCH + i);
+			notes[i] = Note.getNoteByPitch(PianoKeyboard.LOWEST_PITCH + i);
+		}
+		final String[] roots = { "C4", "C#4", "D4", "D#4", "E4", "F4", "F#4", "G4", "G#4", "A4", "A#4", "B4" };
+		final String[] chordNames = { "maj", "min", "7", "maj7", "min7", "dim" };
+		final File[] tracks = findTracks();
+
+		ArrayList<Benchmark> benchmarks = new ArrayList<Benchmark>();
+
+		benchmarks.add(new Benchmark("Note.convertToPitch") {
+			@Override
+			long operation(int i) {
+				return Note.convertToPitch(noteNames[i % noteNames.length]);
+			}
+		});
+
+		benchmarks.add(new Benchmark("ListOfScales.getKey(note, step)") {
+			@Override
+			long operation(int i) {
+				return ListOfScales.getInstance().getKey(notes[i % 60], i % 12).getPitch();
+			}
+		});
+
+		benchmarks.add(new Benchmark("ListOfChords.getChord") {
+			@Override
+			long operation(int i) {
+				Chord chord = ListOfChords.getInstance().getChord(0, roots[i % 12], chordNames[i % 2]);
+				return chord == null ? 0 : 1;
+			}
+		});
+
+		benchmarks.add(new Benchmark("ListOfChords.findChord") {
+			@Override
+			long operation(int i) {
+				Chord chord = ListOfChords.getInstance().findChord(roots[i % 12], chordNames[i % chordNames.length]);
+				return chord == null ? 0 : 1;
+			}
+		});
+
+		benchmarks.add(new ColourBenchmark("MidiMessageTypes.eventColors") {
+			@Override
+			long operation(int i) {
+				// A note on, then its note off
+				int pitch = PianoKeyboard.LOWEST_PITCH + (i >> 1) % noteNames.length;
+				MidiMessageTypes.getInstance().eventColors(ShortMessage.NOTE_ON, pitch, (i & 1) == 0 ? 100 : 0);
+				return pitch;
+			}
+		});
+
+		// The colour tap replaced the meta message copy of every note that
+		// generateMetaData used to build, so it is measured over whole songs
+		benchmarks.add(new ColourBenchmark("ColourReceiver.send (Tracks events)") {
+			private ShortMessage[] messages;
+			private final ColourReceiver receiver = new ColourReceiver();
+
+			@Override
+			void setUp() throws Exception {
+				super.setUp();
+				ArrayList<ShortMessage> found = new ArrayList<ShortMessage>();
+				for (File track : tracks) {
+					for (Track aTrack : MIDIFileStreamer.read(track).getTracks()) {
+						for (int e = 0; e < aTrack.size(); e++) {
+							MidiEvent event = aTrack.get(e);
+							if (event.getMessage() instanceof ShortMessage) {
+								found.add((ShortMessage) event.getMessage());
+							}
+						}
+					}
+				}
+				messages = found.toArray(new ShortMessage[found.size()]);
+			}
+
+			@Override
+			long operation(int i) {
+				ShortMessage message = messages[i % messages.length];
+				receiver.send(message, -1);
+				return message.getData1();
+			}
+		});
+
+		benchmarks.add(new Benchmark("MIDIFileStreamer.read (per file)") {
+			@Override
+			void setUp() throws Exception {
+				checkLateFirstNote();
+			}
+
+			@Override
+			long operation(int i) throws Exception {
+				return MIDIFileStreamer.read(tracks[i % tracks.length]).getTracks().length;
+			}
+		});
+
+		benchmarks.add(new Benchmark("MidiSystem.getSequence (per file)") {
+			@Override
+			long operation(int i) throws Exception {
+				return MidiSystem.getSequence(tracks[i % tracks.length]).getTracks().length;
+			}
+		});
+
+		benchmarks.add(new Benchmark("MIDILibraryEntry.scan (per file)") {
+			@Override
+			long operation(int i) throws Exception {
+				return MIDILibraryEntry.scan(tracks[i % tracks.length]).getNoteCount();
+			}
+		});
+
+		// How PlayBackDevices.noteOn and noteOff play a note, against the new
+		// ShortMessage for each note they replaced
+		benchmarks.add(new SynthesizerBenchmark("MidiChannel.noteOn/noteOff") {
+			private MidiChannel channel;
+
+			@Override
+			void setUp() throws Exception {
+				super.setUp();
+				channel = synth.getChannels()[0];
+			}
+
+			@Override
+			long operation(int i) {
+				int pitch = PianoKeyboard.LOWEST_PITCH + (i >> 1) % noteNames.length;
+				channel.noteOn(pitch, (i & 1) == 0 ? 50 : 0);
+				return pitch;
+			}
+		});
+
+		benchmarks.add(new SynthesizerBenchmark("Receiver.send(new ShortMessage)") {
+			private Receiver receiver;
+
+			@Override
+			void setUp() throws Exception {
+				super.setUp();
+				receiver = synth.getReceiver();
+			}
+
+			@Override
+			long operation(int i) throws Exception {
+				int pitch = PianoKeyboard.LOWEST_PITCH + (i >> 1) % noteNames.length;
+				receiver.send(new ShortMessage(ShortMessage.NOTE_ON, 0, pitch, (i & 1) == 0 ? 50 : 0), -1);
+				return pitch;
+			}
+		});
+
+		benchmarks.add(new Benchmark("SequenceAnalysis.analyse (per file)") {
+			private Sequence[] sequences;
+
+			@Override
+			void setUp() throws Exception {
+				sequences = new Sequence[tracks.length];
+				for (int t = 0; t < tracks.length; t++) {
+					sequences[t] = MIDIFileStreamer.read(tracks[t]);
+				}
+			}
+
+			@Override
+			long operation(int i) {
+				return SequenceAnalysis.analyse(sequences[i % sequences.length]).getNoteCount();
+			}
+		});
+		return benchmarks;
+	}
+
+	/**
+	 * Checks that a song loaded to play has all of its notes, including a
+	 * track whose first note starts long after the song does. Such a note was
+	 * once lost, as it was read after the sequencer had already passed the
+	 * end of its track.
+	 */
+	private static void checkLateFirstNote() throws Exception {
+		Sequence written = new Sequence(Sequence.PPQ, 480);
+		ShortMessage melody = new ShortMessage(ShortMessage.NOTE_ON, 0, 60, 100);
+		written.createTrack().add(new MidiEvent(melody, 0));
+		// Well after the start, in a track of its own
+		ShortMessage late = new ShortMessage(ShortMessage.NOTE_ON, 1, 72, 100);
+		written.createTrack().add(new MidiEvent(late, 480 * 64));
+
+		File file = File.createTempFile("late-first-note", ".mid");
+		try {
+			MidiSystem.write(written, 1, file);
+			int expected = countNotes(MidiSystem.getSequence(file));
+			int loaded = countNotes(MIDIFileStreamer.load(file));
+			if (loaded != expected) {
+				throw new IllegalStateException("Loaded " + loaded + " of " + expected + " notes");
+			}
+		} finally {
+			SequenceCache.getInstance().clear();
+			file.delete();
+		}
+	}
+
+	private static int countNotes(Sequence sequence) {
+		int notes = 0;
+		for (Track aTrack : sequence.getTracks()) {
+			for (int e = 0; e < aTrack.size(); e++) {
+				MidiMessage message = aTrack.get(e).getMessage();
+				if (message instanceof ShortMessage && ((ShortMessage) message).getCommand() == ShortMessage.NOTE_ON) {
+					notes++;
+				}
+			}
+		}
+		return notes;
+	}
+
+	/** @return The MIDI files bundled in the Tracks folder. */
+	private static File[] findTracks() {
+		File[] files = new File("src/Tracks").listFiles();
+		if (files == null) {
+			files = new File("Tracks").listFiles();
+		}
+		ArrayList<File> tracks = new ArrayList<File>();
+		if (files != null) {
+			for (File aFile : files) {
+				if (aFile.getName().toLowerCase(Locale.ROOT).matches(".*\\.midi?$")) {
+					tracks.add(aFile);
+				}
+			}
+		}
+		return tracks.toArray(new File[tracks.size()]);
+	}
+}
@@ -0,0 +1,19 @@
+package tools;
+
+/**
+ * This class is handed to each task run by the PlaybackExecutor. Tasks check
+ * it between notes, chords or spoken words, and stop early once it has been
+ * cancelled, e.g. when the user presses home or previous.
+ */
+public class CancellationToken {
+
+	private volatile boolean cancelled = false;
+
+	public void cancel() {
+		cancelled = true;
+	}
+
+	public boolean isCancelled() {
+		return cancelled;
+	}
+}
@@ -0,0 +1,64 @@
+package tools;
+
+import java.awt.Color;
+import keyboard.Note;
+import midi.MidiMessageTypes.NoteListener;
+
+/**
+ * This class connects the notes found by MidiMessageTypes.eventColors to the
+ * piano. A played note's key is shown in yellow, and a released note's key
+ * goes back to its own colour. This covers MIDI keyboard input, recorded
+ * sequences and songs played by the MIDI file player.
+ *
+ * Notes arrive from the sequencers' threads as well as the Event Dispatch
+ * Thread, so the keys coloured are kept in one flag per pitch, under a lock,
+ * rather than added to the feature sets' list of coloured notes, which would
+ * grow with every note of a song.
+ */
+public class ColourModeListener implements NoteListener {
+
+	private final boolean[] coloured = new boolean[Note.MIDI_PITCH_RANGE];
+
+	private static volatile ColourModeListener instance = null;
+
+	private ColourModeListener() {
+	}
+
+	public static ColourModeListener getInstance() {
+		if (instance == null) {
+			synchronized (ColourModeListener.class) {
+				if (instance == null) {
+					instance = new ColourModeListener();
+				}
+			}
+		}
+		return instance;
+	}
+
+	@Override
+	public synchronized void noteOn(Note note) {
+		coloured[note.getPitch()] = true;
+		PlaybackFunctions.colorChordsAndScales(note, Color.YELLOW);
+	}
+
+	@Override
+	public synchronized void noteOff(int pitch) {
+		if (pitch >= 0 && pitch < coloured.length) {
+			coloured[pitch] = false;
+		}
+		PlaybackFunctions.resetLastNotePianoColor(pitch);
+	}
+
+	/**
+	 * Returns every key still coloured by a note on back to its own colour,
+	 * e.g. when a song is stopped before its notes are released.
+	 */
+	public synchronized void resetColours() {
+		for (int pitch = 0; pitch < coloured.length; pitch++) {
+			if (coloured[pitch]) {
+				coloured[pitch] = false;
+				PlaybackFunctions.resetLastNotePianoColor(pitch);
+			}
+		}
+	}
+}
@@ -1,11 +1,17 @@
 package tools;
 
+import java.awt.Color;
 import java.awt.Font;
+import java.awt.GridLayout;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.PrintStream;
 
+import javax.swing.JFrame;
+import javax.swing.JScrollPane;
 import javax.swing.JTextArea;
 import javax.swing.SwingUtilities;
+import midi.MidiMessageTypes;
 
 /**
  * This class defines the construct of the debug mode feature attributes.
@@ -50,4 +56,26 @@ public class DebugConsole extends OutputStream {
 		}
 		sb.append((char) b);
 	}
+
+	/**
+	 * Feature - Displays the MIDI sequence's timing values through stages of
+	 * its construction, as stored by MidiMessageTypes.
+	 */
+	public static void loadDebug() {
+		int screenWidth = SwingComponents.getInstance().getScreenWidth();
+		int screenHeight = SwingComponents.getInstance().getScreenHeight();
+		JFrame debugPanel = SwingComponents.getInstance().floatingDebugFrame(true, false, null,
+				"Debug MIDI Timing Summary", 0, 0, screenWidth / 2 + screenWidth / 5,
+				screenHeight / 2 + screenHeight / 5);
+		debugPanel.getContentPane().setBackground(Color.decode("#303030"));
+		JTextArea log = new JTextArea();
+		JScrollPane debugDataScroll = new JScrollPane(log, JScrollPane.VERTICAL_SCROLLBAR_ALWAYS,
+				JScrollPane.HORIZONTAL_SCROLLBAR_NEVER);
+		DebugConsole debugInfo = new DebugConsole(log, "DebugConsole");
+		debugPanel.setLayout(new GridLayout(2, 1));
+		debugPanel.getContentPane().add(debugDataScroll);
+		System.setOut(new PrintStream(debugInfo));
+
+		MidiMessageTypes.getInstance().getSequenceTimingMessages();
+	}
 }
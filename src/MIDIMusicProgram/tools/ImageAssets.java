@@ -0,0 +1,188 @@
+package tools;
+
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.imageio.ImageIO;
+import javax.swing.ImageIcon;
+import tools.PlaybackExecutor.PlaybackTask;
+import tools.PlaybackExecutor.taskTypes;
+
+/**
+ * This class keeps the program's images, so each image file is decoded once
+ * however many buttons, tiles and panels show it. Each size an image is shown
+ * at is also scaled once and kept, so replacing a feature tile with its
+ * selected version when the mouse moves over it only looks up two maps.
+ *
+ * Images are read from the src/Images folder, or from the Images folder on
+ * the classpath when the program is run from a jar.
+ */
+public class ImageAssets {
+
+	private final ConcurrentHashMap<String, BufferedImage> images = new ConcurrentHashMap<String, BufferedImage>();
+
+	// Scaled icons of each decoded image, by width and height. Weak, so the
+	// icons of an image passed in from elsewhere go once it is unused.
+	private final WeakHashMap<BufferedImage, Map<Long, ImageIcon>> scaledIcons = new WeakHashMap<BufferedImage, Map<Long, ImageIcon>>();
+
+	private static volatile ImageAssets instance = null;
+
+	private ImageAssets() {
+	}
+
+	public static ImageAssets getInstance() {
+		if (instance == null) {
+			synchronized (ImageAssets.class) {
+				if (instance == null) {
+					instance = new ImageAssets();
+				}
+			}
+		}
+		return instance;
+	}
+
+	/**
+	 * Gets an image, decoding it the first time it is asked for.
+	 *
+	 * @param path
+	 *            - The image's path, e.g. "src/Images/TopBar.png".
+	 * @return The decoded image, shared by every caller, so it must not be
+	 *         drawn on.
+	 */
+	public BufferedImage image(String path) throws IOException {
+		BufferedImage image = images.get(path);
+		if (image == null) {
+			image = decode(path);
+			BufferedImage raced = images.putIfAbsent(path, image);
+			if (raced != null) {
+				image = raced;
+			}
+		}
+		return image;
+	}
+
+	private BufferedImage decode(String path) throws IOException {
+		File aFile = new File(path);
+		BufferedImage image = null;
+		if (aFile.isFile()) {
+			image = ImageIO.read(aFile);
+		} else {
+			String resource = "/" + (path.startsWith("src/") ? path.substring(4) : path);
+			InputStream in = ImageAssets.class.getResourceAsStream(resource);
+			if (in != null) {
+				try {
+					image = ImageIO.read(in);
+				} finally {
+					in.close();
+				}
+			}
+		}
+		if (image == null) {
+			throw new IOException("Could not read image " + path);
+		}
+		return image;
+	}
+
+	/**
+	 * Gets an image scaled to a size, scaling it the first time that size is
+	 * asked for. The image is scaled as smoothly as Image.SCALE_SMOOTH.
+	 *
+	 * @param image
+	 *            - The image to scale, e.g. one returned by image(path).
+	 * @param width
+	 *            - The width to show it at.
+	 * @param height
+	 *            - The height to show it at.
+	 */
+	public ImageIcon scaledIcon(BufferedImage image, int width, int height) {
+		Long size = (long) width << 32 | height & 0xFFFFFFFFL;
+		synchronized (scaledIcons) {
+			Map<Long, ImageIcon> sizes = scaledIcons.get(image);
+			ImageIcon icon = sizes == null ? null : sizes.get(size);
+			if (icon != null) {
+				return icon;
+			}
+		}
+		// Scaled outside the lock, so one slow image does not hold up others
+		ImageIcon icon = new ImageIcon(scale(image, width, height));
+		synchronized (scaledIcons) {
+			Map<Long, ImageIcon> sizes = scaledIcons.get(image);
+			if (sizes == null) {
+				sizes = new HashMap<Long, ImageIcon>();
+				scaledIcons.put(image, sizes);
+			}
+			ImageIcon raced = sizes.get(size);
+			if (raced != null) {
+				return raced;
+			}
+			sizes.put(size, icon);
+		}
+		return icon;
+	}
+
+	public ImageIcon scaledIcon(String path, int width, int height) throws IOException {
+		return scaledIcon(image(path), width, height);
+	}
+
+	/**
+	 * Scales the image into a new image, rather than keeping the image from
+	 * getScaledInstance, which is scaled again each time it is first painted.
+	 */
+	private static BufferedImage scale(BufferedImage image, int width, int height) {
+		width = Math.max(1, width);
+		height = Math.max(1, height);
+		// Loads the smoothly scaled image completely before it is copied
+		Image smooth = new ImageIcon(image.getScaledInstance(width, height, Image.SCALE_SMOOTH)).getImage();
+		BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+		Graphics2D g = scaled.createGraphics();
+		g.drawImage(smooth, 0, 0, null);
+		g.dispose();
+		return scaled;
+	}
+
+	/**
+	 * Decodes images and scales them to a size in the background, e.g. the
+	 * selected versions of the feature tiles, which are shown when the mouse
+	 * moves over a tile.
+	 *
+	 * @param width
+	 *            - The width the images will be shown at.
+	 * @param height
+	 *            - The height the images will be shown at.
+	 * @param paths
+	 *            - The images' paths.
+	 */
+	public void prepareScaled(final int width, final int height, final String... paths) {
+		PlaybackExecutor.getInstance().startSession(taskTypes.Prefetch);
+		PlaybackExecutor.getInstance().submit(taskTypes.Prefetch, new PlaybackTask() {
+			@Override
+			public void run(CancellationToken token) throws IOException {
+				for (String path : paths) {
+					if (token.isCancelled()) {
+						return;
+					}
+					scaledIcon(path, width, height);
+				}
+			}
+		});
+	}
+
+	/**
+	 * Decodes images before they are first shown, e.g. in a start up stage.
+	 *
+	 * @param paths
+	 *            - The images' paths.
+	 */
+	public void prepare(String... paths) throws IOException {
+		for (String path : paths) {
+			image(path);
+		}
+	}
+}
@@ -5,11 +5,17 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Vector;
 import javax.sound.midi.MidiSystem;
+import javax.sound.midi.MidiUnavailableException;
+import javax.sound.midi.Sequence;
 import javax.swing.DefaultListModel;
 import javax.swing.JFileChooser;
 import javax.swing.JOptionPane;
 import javax.swing.JToggleButton;
+import javax.swing.SwingUtilities;
+import midiDevices.OfflineRenderer;
 import midiDevices.PlayBackDevices;
+import tools.PlaybackExecutor.PlaybackTask;
+import tools.PlaybackExecutor.taskTypes;
 
 /**
  * This class defines the internal file manager. It's uses include selecting a
@@ -38,6 +44,7 @@ public class MIDIFileManager {
 
 					// Will vary based on default directory
 					fileChooser.setCurrentDirectory(defaultDirectory);
+					MIDILibraryIndex.getInstance().open(defaultDirectory);
 				}
 			}
 		}
@@ -45,24 +52,16 @@ public class MIDIFileManager {
 		return instance;
 	}
 
+	/**
+	 * @return The names of the songs in the tracks folder, from the library
+	 *         index rather than the folder itself.
+	 */
 	public DefaultListModel<String> buildSongList() {
-		DefaultListModel<String> carriedListModel = new DefaultListModel<String>();
-		for (File fileEntry : defaultDirectory.listFiles()) {
-			if (fileEntry.isDirectory()) {
-			} else {
-				String removeDirectoryName = fileEntry.toString();
-				removeDirectoryName = removeDirectoryName.substring(11, removeDirectoryName.length());
-				carriedListModel.addElement(removeDirectoryName);
-			}
-		}
-		return carriedListModel;
+		return MIDILibraryIndex.getInstance().getSongList();
 	}
 
 	public ArrayList<File> getFilesSongList() {
-		for (File fileEntry : defaultDirectory.listFiles()) {
-			storedMIDISavedFiles.add(fileEntry);
-		}
-		return storedMIDISavedFiles;
+		return MIDILibraryIndex.getInstance().getFiles();
 	}
 
 	public File selectMIDIFile() {
@@ -81,7 +80,10 @@ public class MIDIFileManager {
 			// Store so can get later in memory
 			File newFile = fileChooser.getSelectedFile();
 			storeMIDIFileArray(newFile);
-			if (sf == JFileChooser.APPROVE_OPTION) {
+			if (sf == JFileChooser.APPROVE_OPTION && newFile.getName().toLowerCase().endsWith(".wav")) {
+				// Rendered as audio rather than saved as MIDI
+				saveWAVFile(PlayBackDevices.getInstance().getSequence(), newFile);
+			} else if (sf == JFileChooser.APPROVE_OPTION) {
 				int[] allowedMidiTypes = MidiSystem.getMidiFileTypes(PlayBackDevices.getInstance().getSequence());
 				if (allowedMidiTypes.length == 0) {
 					System.err.println("No supported MIDI file types.");
@@ -102,6 +104,54 @@ public class MIDIFileManager {
 		}
 	}
 
+	/**
+	 * Renders a sequence to a WAV file in the background, if the synthesizer
+	 * can render, and says when it is done. Otherwise says why it cannot.
+	 *
+	 * @param sequence
+	 *            - The sequence to render.
+	 * @param wavFile
+	 *            - The file to write.
+	 */
+	private void saveWAVFile(final Sequence sequence, final File wavFile) {
+		try {
+			OfflineRenderer.checkCanRender();
+		} catch (MidiUnavailableException e1) {
+			JOptionPane.showMessageDialog(null, "Cannot save as a .wav file. " + e1.getMessage(), "File Not Saved",
+					JOptionPane.ERROR_MESSAGE);
+			return;
+		}
+		CancellationToken token = PlaybackExecutor.getInstance().submit(taskTypes.Rendering, new PlaybackTask() {
+			@Override
+			public void run(CancellationToken token) {
+				String failure = null;
+				try {
+					OfflineRenderer.render(sequence, wavFile);
+				} catch (MidiUnavailableException | IOException e1) {
+					e1.printStackTrace();
+					failure = e1.getMessage();
+				}
+				final String message = failure;
+				SwingUtilities.invokeLater(new Runnable() {
+					@Override
+					public void run() {
+						if (message == null) {
+							JOptionPane.showMessageDialog(null, "File has been saved", "File Saved",
+									JOptionPane.INFORMATION_MESSAGE);
+						} else {
+							JOptionPane.showMessageDialog(null, message, "File Not Saved",
+									JOptionPane.ERROR_MESSAGE);
+						}
+					}
+				});
+			}
+		});
+		if (token == null) {
+			JOptionPane.showMessageDialog(null, "The program is busy, please try saving again shortly.",
+					"File Not Saved", JOptionPane.ERROR_MESSAGE);
+		}
+	}
+
 	public void storeMIDIFileArray(File storedMIDIFile) {
 		// Add to all midi files in memory
 		storedMIDISavedFiles.add(storedMIDIFile);
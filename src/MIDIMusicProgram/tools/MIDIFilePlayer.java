@@ -5,22 +5,22 @@ import java.awt.Font;
 import java.awt.GridBagLayout;
 import java.io.File;
 import java.io.IOException;
-import java.util.ArrayList;
 import javax.sound.midi.InvalidMidiDataException;
 import javax.sound.midi.MetaEventListener;
 import javax.sound.midi.MetaMessage;
-import javax.sound.midi.MidiSystem;
 import javax.sound.midi.Sequence;
-import javax.sound.midi.Track;
+import javax.sound.midi.Sequencer;
 import javax.swing.BoxLayout;
 import javax.swing.DefaultListModel;
 import javax.swing.JButton;
 import javax.swing.JLabel;
 import javax.swing.JList;
-import midi.MidiMessageTypes;
 import midiDevices.PlayBackDevices;
+import tools.MIDIPlaylist.repeatModes;
 import javax.swing.JPanel;
 import javax.swing.JScrollPane;
+import javax.swing.JToggleButton;
+import javax.swing.SwingUtilities;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
 
@@ -37,7 +37,6 @@ public class MIDIFilePlayer implements MouseListener, MetaEventListener {
 	private int screenHeight = SwingComponents.getInstance().getScreenHeight();
 
 	// Variables
-	private ArrayList<File> storedMIDISavedFiles = new ArrayList<File>();
 	private String songFromList = "";
 	private int btn_h = 35;
 	private int _W = 330;
@@ -52,6 +51,10 @@ public class MIDIFilePlayer implements MouseListener, MetaEventListener {
 	private JButton btnNext = new JButton();
 	private JButton btnPrev = new JButton();
 	private JButton selectMidiFileButton;
+	private JToggleButton playlistMode;
+	private JToggleButton shuffleMode;
+	private JButton repeatMode;
+	private JPanel playlistButtons = new JPanel();
 	private JLabel lblplaying = new JLabel();
 	private JPanel backgroundPanel;
 	private JPanel containsButtons = new JPanel();
@@ -60,6 +63,7 @@ public class MIDIFilePlayer implements MouseListener, MetaEventListener {
 
 	private SwingComponents components = SwingComponents.getInstance();
 	private MIDIFileManager manager = MIDIFileManager.getInstance();
+	private MIDIPlaylist playlist;
 
 	private static volatile MIDIFilePlayer instance = null;
 
@@ -82,7 +86,7 @@ public class MIDIFilePlayer implements MouseListener, MetaEventListener {
 		backgroundPanel = components.generateEventPanel(screenWidth, screenHeight, null, Color.decode("#F0FFFF"),
 				Color.decode("#F0FFFF"), 1, 1, 1, 1);
 		backgroundPanel = new JPanel(new GridBagLayout());
-		playerOptions = components.generateEventPanel(screenWidth / 3, 324, null, Color.decode("#303030"),
+		playerOptions = components.generateEventPanel(screenWidth / 3, 364, null, Color.decode("#303030"),
 				Color.decode("#303030"), 1, 1, 1, 1);
 		backgroundPanel.add(playerOptions);
 	}
@@ -109,6 +113,16 @@ public class MIDIFilePlayer implements MouseListener, MetaEventListener {
 		containsButtons.add(btnNext);
 		playerOptions.add(containsButtons);
 
+		// Playlist mode plays the songs one after another
+		playlistMode = components.customActionJToggleButton(110, 30, "Playlist", this, 14, aColor);
+		shuffleMode = components.customActionJToggleButton(110, 30, "Shuffle", this, 14, aColor);
+		repeatMode = components.customJButton(130, 30, "Repeat: " + repeatModes.Off, this, 14, aColor);
+		playlistButtons = components.generateEventPanel(480, btn_h, null, null, Color.BLACK, 0, 0, 0, 0);
+		playlistButtons.add(playlistMode);
+		playlistButtons.add(shuffleMode);
+		playlistButtons.add(repeatMode);
+		playerOptions.add(playlistButtons);
+
 	}
 
 	/** Load visuals and functionalities into GUI */
@@ -143,7 +157,8 @@ public class MIDIFilePlayer implements MouseListener, MetaEventListener {
 	public void storedFoundFile(File selectedFile) {
 		if (selectedFile != null) {
 			this.retrieveFile = selectedFile;
-			songList.addElement(retrieveFile.toString());
+			// The library adds the song's name to the list
+			MIDILibraryIndex.getInstance().addFile(retrieveFile);
 		}
 	}
 
@@ -161,24 +176,23 @@ public class MIDIFilePlayer implements MouseListener, MetaEventListener {
 	 * 
 	 * @param song
 	 *            - The name of the song to find in memory.
-	 * @return The converted sequence from the found file version of the song
-	 *         that matches the argument.
+	 * @return The sequence of the found file version of the song that matches
+	 *         the argument, read in full before it is returned.
 	 */
 	public Sequence playSelectedFile(String song) throws InvalidMidiDataException, IOException {
-		storedMIDISavedFiles = MIDIFileManager.getInstance().getFilesSongList();
-		File matchingFile = null;
-		for (File aFile : storedMIDISavedFiles) {
-			if (aFile.getName().equals(song)) {
-				matchingFile = aFile;
-				break;
-			}
+		File matchingFile = MIDILibraryIndex.getInstance().getFile(song);
+		if (matchingFile == null) {
+			throw new IOException("Song is not in the library: " + song);
 		}
-		Sequence sequence = MidiSystem.getSequence(matchingFile);
-		return sequence;
+		Sequence cached = SequenceCache.getInstance().get(matchingFile);
+		if (cached != null) {
+			return cached;
+		}
+		return MIDIFileStreamer.load(matchingFile);
 	}
 
 	public void playMidiFile() throws InvalidMidiDataException, IOException {
-		Sequence sequence = MidiSystem.getSequence(MIDIFileManager.getInstance().selectMIDIFile());
+		Sequence sequence = MIDIFileStreamer.load(MIDIFileManager.getInstance().selectMIDIFile());
 		// Load it into sequencer start the play back
 		PlayBackDevices.getInstance().returnSequencer().setSequence(sequence);
 		PlayBackDevices.getInstance().returnSequencer().start();
@@ -190,6 +204,7 @@ public class MIDIFilePlayer implements MouseListener, MetaEventListener {
 
 	public void createJSongList() {
 		songList = manager.buildSongList();
+		playlist = new MIDIPlaylist(songList);
 		jSongList = components.customJList(_W, h_list, this);
 		jSongList.setModel(songList);
 		jSongList.setName("allSongsList");
@@ -226,11 +241,7 @@ public class MIDIFilePlayer implements MouseListener, MetaEventListener {
 		}
 
 		else if (obj.equals(btnPrev)) {
-			String song = jSongList.getSelectedValue();
-			if (song != null) {
-				updateCurrentPlaying(song);
-				playFeature(song);
-			}
+			playNeighbour(-1);
 		}
 
 		else if (obj.equals(btnPlay)) {
@@ -240,14 +251,120 @@ public class MIDIFilePlayer implements MouseListener, MetaEventListener {
 				playFeature(song);
 			}
 		} else if (obj.equals(btnNext)) {
-			String song = jSongList.getSelectedValue();
-			if (song != null) {
-				updateCurrentPlaying(song);
-				playFeature(song);
+			playNeighbour(1);
+		}
+
+		else if (obj.equals(playlistMode)) {
+			if (playlistMode.isSelected()) {
+				prefetchPlaylist();
 			}
+		} else if (obj.equals(shuffleMode)) {
+			playlist.setShuffle(shuffleMode.isSelected());
+			prefetchPlaylist();
+		} else if (obj.equals(repeatMode)) {
+			repeatMode.setText("Repeat: " + playlist.cycleRepeat());
+			prefetchPlaylist();
+		}
+	}
+
+	/**
+	 * Selects the song before or after the selected one in the list, going
+	 * round at either end, and plays it.
+	 * 
+	 * @param step
+	 *            - -1 for the previous song, 1 for the next.
+	 */
+	private void playNeighbour(int step) {
+		int count = songList.getSize();
+		if (count == 0) {
+			return;
+		}
+		int index = jSongList.getSelectedIndex();
+		index = index < 0 ? 0 : (index + step + count) % count;
+		jSongList.setSelectedIndex(index);
+		jSongList.ensureIndexIsVisible(index);
+
+		String song = jSongList.getSelectedValue();
+		storedJListSelectedSong(song);
+		if (PlayBackDevices.getInstance().isRunning() == true) {
+			stopSong();
+		}
+		updateCurrentPlaying(song);
+		playSong(song);
+	}
+
+	/**
+	 * Reads the songs either side of one in the list into the SequenceCache,
+	 * so skipping to them does not wait for the disk.
+	 */
+	private void prefetchNeighbours(String song) {
+		int count = songList.getSize();
+		int index = songList.indexOf(song);
+		if (index < 0 || count < 2) {
+			return;
+		}
+		MIDILibraryIndex library = MIDILibraryIndex.getInstance();
+		SequenceCache cache = SequenceCache.getInstance();
+		cache.prefetch(library.getFile(songList.get((index + 1) % count)));
+		cache.prefetch(library.getFile(songList.get((index - 1 + count) % count)));
+	}
+
+	/**
+	 * Reads the playlist's next song into the SequenceCache while the current
+	 * one plays, so it can start the moment the current one ends.
+	 */
+	private void prefetchPlaylist() {
+		if (!playlistMode.isSelected()) {
+			return;
+		}
+		String next = playlist.peekNext();
+		if (next != null) {
+			SequenceCache.getInstance().prefetch(MIDILibraryIndex.getInstance().getFile(next));
 		}
 	}
 
+	/**
+	 * Starts the playlist's next song as soon as the current one ends. This
+	 * runs on the sequencer's event thread, and the list and labels are
+	 * updated on the Event Dispatch Thread afterwards, so the next song is not
+	 * held up by them.
+	 * 
+	 * @return False when the playlist has ended, or the next song could not
+	 *         be played.
+	 */
+	private boolean playNextInPlaylist() {
+		final String next = playlist.advance();
+		if (next == null) {
+			return false;
+		}
+		try {
+			// Always a whole song, from the SequenceCache once prefetchPlaylist
+			// has read it
+			Sequence sequence = playSelectedFile(next);
+			PlayBackDevices.getInstance().returnSequencer().setSequence(sequence);
+			PlayBackDevices.getInstance().returnSequencer().setTickPosition(0);
+			PlayBackDevices.getInstance().returnSequencer().start();
+		} catch (InvalidMidiDataException | IOException e) {
+			e.printStackTrace();
+			return false;
+		}
+		prefetchPlaylist();
+
+		SwingUtilities.invokeLater(new Runnable() {
+			@Override
+			public void run() {
+				int index = songList.indexOf(next);
+				if (index >= 0) {
+					jSongList.setSelectedIndex(index);
+					jSongList.ensureIndexIsVisible(index);
+				}
+				storedJListSelectedSong(next);
+				updateCurrentPlaying(next);
+			}
+		});
+		return true;
+	}
+
 	/** Updates the song name displayed to that of the currently playing song */
 	public void updateCurrentPlaying(String playing) {
 		panelNP.removeAll();
@@ -267,60 +384,76 @@ public class MIDIFilePlayer implements MouseListener, MetaEventListener {
 	 *            - The name of the song.
 	 */
 	public void playFeature(String song) {
-		try {
-			if (PlayBackDevices.getInstance().isRunning() == true) {
-				PlayBackDevices.getInstance().returnSequencer().stop();
-				btnPlay.setText(">");
-				btnPlay.setForeground(Color.WHITE);
-				PlaybackFunctions.resetChordsColor();
-				PlaybackFunctions.emptyNotes();
-			}
+		if (PlayBackDevices.getInstance().isRunning() == true) {
+			stopSong();
+		} else {
+			playSong(song);
+		}
+	}
 
-			else {
-				btnPlay.setText("||");
-				btnPlay.setForeground(Color.YELLOW);
-				PlayBackDevices.getInstance().returnSequencer().addMetaEventListener(this);
-
-				// Replace sequence with file in this feature
-				Sequence original = MIDIFilePlayer.getInstance().playSelectedFile(song);
-				PlayBackDevices.getInstance().returnSequencer().setSequence(original);
-				Track[] tracks = original.getTracks();
-				Track trk = PlayBackDevices.getInstance().returnSequencer().getSequence().createTrack();
-				for (Track track : tracks) {
-					MidiMessageTypes.generateMetaData(track, trk);
-				}
+	private void stopSong() {
+		PlayBackDevices.getInstance().returnSequencer().stop();
+		btnPlay.setText(">");
+		btnPlay.setForeground(Color.WHITE);
+		PlaybackFunctions.resetChordsColor();
+		PlaybackFunctions.emptyNotes();
+	}
 
-				Sequence updatedSeq = PlayBackDevices.getInstance().returnSequencer().getSequence();
-				PlayBackDevices.getInstance().returnSequencer().setSequence(updatedSeq);
-				PlayBackDevices.getInstance().returnSequencer().setTickPosition(0);
-				PlayBackDevices.getInstance().returnSequencer().start();
-			}
+	private void playSong(String song) {
+		try {
+			btnPlay.setText("||");
+			btnPlay.setForeground(Color.YELLOW);
+			PlayBackDevices.getInstance().returnSequencer().addMetaEventListener(this);
+
+			// Replace sequence with file in this feature
+			Sequence original = MIDIFilePlayer.getInstance().playSelectedFile(song);
+			PlayBackDevices.getInstance().returnSequencer().setSequence(original);
+			PlayBackDevices.getInstance().returnSequencer().setTickPosition(0);
+			PlayBackDevices.getInstance().returnSequencer().start();
+			playlist.start(song);
+			prefetchNeighbours(song);
+			prefetchPlaylist();
 
 		} catch (InvalidMidiDataException | IOException e) {
-			// TODO Auto-generated catch block
 			e.printStackTrace();
 		}
-
 	}
 
 	/**
-	 * Process all meta data from the currently playing MIDI file, which is
-	 * currently a sequence.
+	 * Process the meta data from the currently playing MIDI file, which is
+	 * currently a sequence. The notes' colours are changed by the
+	 * ColourReceiver as the notes play. At the end of a song, playlist mode
+	 * starts the next one.
 	 * 
 	 * @param metaPlayer
 	 *            - The instance of the current meta message
 	 */
 	@Override
 	public void meta(MetaMessage metaPlayer) {
-		MidiMessageTypes.getInstance().eventColors(metaPlayer);
 		// 0x2F in decimal is 47 - value for end MIDI track
-		if (metaPlayer.getType() == 0x2F) {
+		if (metaPlayer.getType() == 0x2F && isSongFinished()) {
+			if (playlistMode.isSelected() && playNextInPlaylist()) {
+				return;
+			}
 			PlayBackDevices.getInstance().returnSequencer().stop();
 			btnPlay.setText(">");
 			btnPlay.setForeground(Color.WHITE);
 		}
 	}
 
+	/**
+	 * The sequencer sends an end of track message when the song ends, but a
+	 * track's own end of track message can also be passed on before then, so
+	 * the song has only ended once the sequencer has reached its last tick.
+	 * 
+	 * @return True if the sequencer has played the whole of its sequence.
+	 */
+	private boolean isSongFinished() {
+		Sequencer sequencer = PlayBackDevices.getInstance().returnSequencer();
+		Sequence sequence = sequencer.getSequence();
+		return sequence != null && sequencer.getTickPosition() >= sequence.getTickLength();
+	}
+
 	@Override
 	public void mouseEntered(MouseEvent arg0) {
 		// TODO Auto-generated method stub
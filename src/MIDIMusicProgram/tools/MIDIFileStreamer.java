@@ -0,0 +1,225 @@
+package tools;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import javax.sound.midi.InvalidMidiDataException;
+import javax.sound.midi.MetaMessage;
+import javax.sound.midi.MidiEvent;
+import javax.sound.midi.MidiMessage;
+import javax.sound.midi.Sequence;
+import javax.sound.midi.ShortMessage;
+import javax.sound.midi.SysexMessage;
+import javax.sound.midi.Track;
+
+/**
+ * This class reads a standard MIDI file into a sequence faster than
+ * MidiSystem.getSequence. The file is mapped into memory rather than copied
+ * through a stream, its header and track chunks are found straight away, and
+ * then each track's events are decoded straight from the mapped bytes.
+ *
+ * The whole file is always decoded before the sequence is returned. The
+ * sequencer stops reading a track once it reaches the track's end, and ends
+ * the song when every track has ended, so events added to a sequence it is
+ * already playing would never be heard.
+ */
+public class MIDIFileStreamer {
+
+	private static final int HEADER_ID = 0x4D546864; // "MThd"
+	private static final int TRACK_ID = 0x4D54726B; // "MTrk"
+
+	private final Sequence sequence;
+	private final TrackReader[] readers;
+
+	private MIDIFileStreamer(ByteBuffer file) throws InvalidMidiDataException {
+		try {
+			if (file.getInt() != HEADER_ID) {
+				throw new InvalidMidiDataException("Not a standard MIDI file");
+			}
+			int headerLength = file.getInt();
+			int headerEnd = file.position() + headerLength;
+			file.getShort(); // Type 0, 1 and 2 files are all read track by track
+			int trackCount = file.getShort() & 0xFFFF;
+			int division = file.getShort() & 0xFFFF;
+			file.position(headerEnd);
+
+			if ((division & 0x8000) != 0) {
+				float divisionType = frameRate(-(byte) (division >> 8));
+				sequence = new Sequence(divisionType, division & 0xFF);
+			} else {
+				sequence = new Sequence(Sequence.PPQ, division);
+			}
+			readers = new TrackReader[trackCount];
+			int found = 0;
+			while (found < trackCount && file.remaining() >= 8) {
+				int chunkId = file.getInt();
+				int chunkLength = file.getInt();
+				if (chunkLength < 0 || chunkLength > file.remaining()) {
+					chunkLength = file.remaining();
+				}
+				if (chunkId == TRACK_ID) {
+					ByteBuffer chunk = file.slice();
+					chunk.limit(chunkLength);
+					readers[found++] = new TrackReader(chunk, sequence.createTrack());
+				}
+				// Skip the chunk, including unknown chunk types
+				file.position(file.position() + chunkLength);
+			}
+			if (found < trackCount) {
+				throw new InvalidMidiDataException("File has " + found + " of " + trackCount + " tracks");
+			}
+		} catch (BufferUnderflowException e) {
+			throw new InvalidMidiDataException("MIDI file header is incomplete");
+		}
+	}
+
+	private static float frameRate(int framesPerSecond) throws InvalidMidiDataException {
+		switch (framesPerSecond) {
+		case 24:
+			return Sequence.SMPTE_24;
+		case 25:
+			return Sequence.SMPTE_25;
+		case 29:
+			return Sequence.SMPTE_30DROP;
+		case 30:
+			return Sequence.SMPTE_30;
+		default:
+			throw new InvalidMidiDataException("Unknown SMPTE frame rate: " + framesPerSecond);
+		}
+	}
+
+	/**
+	 * Reads a MIDI file to play, and keeps it in the SequenceCache so it can
+	 * be played again without reading it.
+	 *
+	 * @param file
+	 *            - The .mid file to read.
+	 * @return The file's complete sequence.
+	 */
+	public static Sequence load(File file) throws InvalidMidiDataException, IOException {
+		Sequence sequence = read(file);
+		SequenceCache.getInstance().put(file, sequence);
+		return sequence;
+	}
+
+	/**
+	 * Reads a MIDI file without keeping it, e.g. to analyse or render it, or
+	 * to read the next song ahead of time.
+	 *
+	 * @param file
+	 *            - The .mid file to read.
+	 * @return The file's complete sequence.
+	 */
+	public static Sequence read(File file) throws InvalidMidiDataException, IOException {
+		MIDIFileStreamer streamer = open(file);
+		for (TrackReader reader : streamer.readers) {
+			reader.decode();
+		}
+		return streamer.sequence;
+	}
+
+	private static MIDIFileStreamer open(File file) throws InvalidMidiDataException, IOException {
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			return new MIDIFileStreamer(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+		}
+	}
+
+	/**
+	 * Reads the events of one track chunk in order.
+	 */
+	private class TrackReader {
+		private final ByteBuffer chunk;
+		private final Track track;
+		private long tick = 0;
+		private int runningStatus = 0;
+
+		TrackReader(ByteBuffer chunk, Track track) {
+			this.chunk = chunk;
+			this.track = track;
+		}
+
+		/**
+		 * Adds every event in the chunk to the track.
+		 */
+		void decode() throws InvalidMidiDataException {
+			while (chunk.hasRemaining()) {
+				MidiEvent event = readEvent();
+				if (event == null) {
+					return;
+				}
+				track.add(event);
+			}
+		}
+
+		/**
+		 * @return The next event, or null at the end of the track.
+		 */
+		private MidiEvent readEvent() throws InvalidMidiDataException {
+			try {
+				tick += readVariableLength();
+				int status = chunk.get() & 0xFF;
+				MidiMessage message;
+				if (status == 0xFF) {
+					int type = chunk.get() & 0xFF;
+					byte[] data = readData(readVariableLength(), 0);
+					message = new MetaMessage(type, data, data.length);
+					if (type == 0x2F) {
+						// End of track, anything after it is ignored
+						chunk.position(chunk.limit());
+					}
+				} else if (status == 0xF0 || status == 0xF7) {
+					byte[] data = readData(readVariableLength(), 1);
+					data[0] = (byte) status;
+					message = new SysexMessage(data, data.length);
+					runningStatus = 0;
+				} else if (status > 0xF0) {
+					// System common and real time messages
+					int length = status == 0xF2 ? 2 : status == 0xF1 || status == 0xF3 ? 1 : 0;
+					int data1 = length > 0 ? chunk.get() & 0xFF : 0;
+					int data2 = length > 1 ? chunk.get() & 0xFF : 0;
+					message = new ShortMessage(status, data1, data2);
+					runningStatus = 0;
+				} else {
+					int data1;
+					if (status < 0x80) {
+						// Running status, this byte is the first data byte
+						if (runningStatus == 0) {
+							throw new InvalidMidiDataException("Data byte without a status at tick " + tick);
+						}
+						data1 = status;
+						status = runningStatus;
+					} else {
+						runningStatus = status;
+						data1 = chunk.get() & 0xFF;
+					}
+					int command = status & 0xF0;
+					int data2 = command == 0xC0 || command == 0xD0 ? 0 : chunk.get() & 0xFF;
+					message = new ShortMessage(status, data1, data2);
+				}
+				return new MidiEvent(message, tick);
+			} catch (BufferUnderflowException e) {
+				// A truncated track ends at its last whole event
+				return null;
+			}
+		}
+
+		private int readVariableLength() {
+			int value = 0;
+			int b;
+			do {
+				b = chunk.get() & 0xFF;
+				value = (value << 7) | (b & 0x7F);
+			} while ((b & 0x80) != 0);
+			return value;
+		}
+
+		private byte[] readData(int length, int offset) {
+			byte[] data = new byte[length + offset];
+			chunk.get(data, offset, length);
+			return data;
+		}
+	}
+}
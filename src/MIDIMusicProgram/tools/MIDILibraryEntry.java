@@ -0,0 +1,303 @@
+package tools;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import javax.sound.midi.InvalidMidiDataException;
+import javax.sound.midi.Sequence;
+
+/**
+ * This class holds what the MIDI library knows about one .mid file, without
+ * the file being loaded as a sequence: its length, tracks, tempo changes and
+ * number of notes. The file's modified time, size and checksum tell the
+ * library whether the entry still matches the file.
+ */
+public class MIDILibraryEntry {
+
+	private static final int HEADER_ID = 0x4D546864; // "MThd"
+	private static final int TRACK_ID = 0x4D54726B; // "MTrk"
+	private static final int DEFAULT_TEMPO = 500000; // 120 BPM
+
+	private final File file;
+	private final long modified;
+	private final long size;
+	private final long checksum;
+	private final float divisionType;
+	private final int resolution;
+	private final int trackCount;
+	private final int noteCount;
+	private final long tickLength;
+	private final long microsecondLength;
+
+	// Each tempo change packed as tick << 24 | microseconds per beat
+	private final long[] tempoMap;
+
+	private MIDILibraryEntry(File file, long modified, long size, long checksum, float divisionType, int resolution,
+			int trackCount, int noteCount, long tickLength, long[] tempoMap) {
+		this.file = file;
+		this.modified = modified;
+		this.size = size;
+		this.checksum = checksum;
+		this.divisionType = divisionType;
+		this.resolution = resolution;
+		this.trackCount = trackCount;
+		this.noteCount = noteCount;
+		this.tickLength = tickLength;
+		this.tempoMap = tempoMap;
+		this.microsecondLength = toMicroseconds(tickLength);
+	}
+
+	/**
+	 * Reads a MIDI file's details by walking its events, without creating
+	 * any messages.
+	 *
+	 * @param file
+	 *            - The .mid file to read.
+	 * @return The file's entry in the library.
+	 */
+	public static MIDILibraryEntry scan(File file) throws IOException, InvalidMidiDataException {
+		long modified = file.lastModified();
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			MappedByteBuffer contents = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			return scan(file, modified, contents);
+		}
+	}
+
+	private static MIDILibraryEntry scan(File file, long modified, ByteBuffer contents)
+			throws InvalidMidiDataException {
+		CRC32 crc = new CRC32();
+		crc.update(contents.duplicate());
+		try {
+			if (contents.getInt() != HEADER_ID) {
+				throw new InvalidMidiDataException("Not a standard MIDI file: " + file.getName());
+			}
+			int headerEnd = contents.getInt() + contents.position();
+			contents.getShort();
+			int trackCount = contents.getShort() & 0xFFFF;
+			int division = contents.getShort() & 0xFFFF;
+			contents.position(headerEnd);
+
+			float divisionType = Sequence.PPQ;
+			int resolution = division;
+			if ((division & 0x8000) != 0) {
+				int framesPerSecond = -(byte) (division >> 8);
+				divisionType = framesPerSecond == 29 ? Sequence.SMPTE_30DROP : framesPerSecond;
+				resolution = division & 0xFF;
+			}
+
+			long[] tempos = new long[4];
+			int tempoCount = 0;
+			int noteCount = 0;
+			long tickLength = 0;
+			int found = 0;
+			while (found < trackCount && contents.remaining() >= 8) {
+				int chunkId = contents.getInt();
+				int chunkLength = Math.min(contents.getInt(), contents.remaining());
+				if (chunkLength < 0) {
+					chunkLength = contents.remaining();
+				}
+				int chunkEnd = contents.position() + chunkLength;
+				if (chunkId != TRACK_ID) {
+					contents.position(chunkEnd);
+					continue;
+				}
+				found++;
+				ByteBuffer track = contents.slice();
+				track.limit(chunkLength);
+				contents.position(chunkEnd);
+
+				long tick = 0;
+				int runningStatus = 0;
+				try {
+					while (track.hasRemaining()) {
+						tick += readVariableLength(track);
+						tickLength = Math.max(tickLength, tick);
+						int status = track.get() & 0xFF;
+						if (status == 0xFF) {
+							int type = track.get() & 0xFF;
+							int length = readVariableLength(track);
+							if (type == 0x51 && length == 3) {
+								int tempo = (track.get() & 0xFF) << 16 | (track.get() & 0xFF) << 8
+										| track.get() & 0xFF;
+								if (tempoCount == tempos.length) {
+									tempos = Arrays.copyOf(tempos, tempoCount * 2);
+								}
+								tempos[tempoCount++] = tick << 24 | tempo;
+							} else {
+								track.position(track.position() + length);
+							}
+							if (type == 0x2F) {
+								break;
+							}
+						} else if (status == 0xF0 || status == 0xF7) {
+							int length = readVariableLength(track);
+							track.position(track.position() + length);
+							runningStatus = 0;
+						} else if (status > 0xF0) {
+							int length = status == 0xF2 ? 2 : status == 0xF1 || status == 0xF3 ? 1 : 0;
+							track.position(track.position() + length);
+							runningStatus = 0;
+						} else {
+							if (status < 0x80) {
+								// Running status, re-read this byte as data
+								track.position(track.position() - 1);
+								status = runningStatus;
+							} else {
+								runningStatus = status;
+							}
+							int command = status & 0xF0;
+							track.get();
+							if (command != 0xC0 && command != 0xD0) {
+								int velocity = track.get();
+								if (command == 0x90 && velocity != 0) {
+									noteCount++;
+								}
+							}
+						}
+					}
+				} catch (BufferUnderflowException | IllegalArgumentException e) {
+					// A truncated track ends at its last whole event
+				}
+			}
+			long[] tempoMap = Arrays.copyOf(tempos, tempoCount);
+			Arrays.sort(tempoMap);
+			return new MIDILibraryEntry(file, modified, contents.capacity(), crc.getValue(), divisionType, resolution,
+					found, noteCount, tickLength, tempoMap);
+		} catch (BufferUnderflowException e) {
+			throw new InvalidMidiDataException("MIDI file header is incomplete: " + file.getName());
+		}
+	}
+
+	private static int readVariableLength(ByteBuffer track) {
+		int value = 0;
+		int b;
+		do {
+			b = track.get() & 0xFF;
+			value = (value << 7) | (b & 0x7F);
+		} while ((b & 0x80) != 0);
+		return value;
+	}
+
+	private long toMicroseconds(long tick) {
+		if (resolution <= 0) {
+			return 0;
+		}
+		if (divisionType != Sequence.PPQ) {
+			return (long) (tick * 1000000.0 / (divisionType * resolution));
+		}
+		long micros = 0;
+		long lastTick = 0;
+		long tempo = DEFAULT_TEMPO;
+		for (long change : tempoMap) {
+			long changeTick = change >>> 24;
+			if (changeTick > tick) {
+				break;
+			}
+			micros += (changeTick - lastTick) * tempo / resolution;
+			lastTick = changeTick;
+			tempo = change & 0xFFFFFF;
+		}
+		return micros + (tick - lastTick) * tempo / resolution;
+	}
+
+	/**
+	 * @return Whether the file looks unchanged since it was read, from its
+	 *         modified time and size.
+	 */
+	public boolean matches(File aFile) {
+		return aFile.lastModified() == modified && aFile.length() == size;
+	}
+
+	/**
+	 * @return This entry for a file whose modified time changed but whose
+	 *         contents did not.
+	 */
+	public MIDILibraryEntry touched(long newModified) {
+		return new MIDILibraryEntry(file, newModified, size, checksum, divisionType, resolution, trackCount, noteCount,
+				tickLength, tempoMap);
+	}
+
+	public void write(DataOutputStream out) throws IOException {
+		out.writeUTF(file.getPath());
+		out.writeLong(modified);
+		out.writeLong(size);
+		out.writeLong(checksum);
+		out.writeFloat(divisionType);
+		out.writeInt(resolution);
+		out.writeInt(trackCount);
+		out.writeInt(noteCount);
+		out.writeLong(tickLength);
+		out.writeInt(tempoMap.length);
+		for (long change : tempoMap) {
+			out.writeLong(change);
+		}
+	}
+
+	public static MIDILibraryEntry read(DataInputStream in) throws IOException {
+		File file = new File(in.readUTF());
+		long modified = in.readLong();
+		long size = in.readLong();
+		long checksum = in.readLong();
+		float divisionType = in.readFloat();
+		int resolution = in.readInt();
+		int trackCount = in.readInt();
+		int noteCount = in.readInt();
+		long tickLength = in.readLong();
+		long[] tempoMap = new long[in.readInt()];
+		for (int i = 0; i < tempoMap.length; i++) {
+			tempoMap[i] = in.readLong();
+		}
+		return new MIDILibraryEntry(file, modified, size, checksum, divisionType, resolution, trackCount, noteCount,
+				tickLength, tempoMap);
+	}
+
+	public File getFile() {
+		return file;
+	}
+
+	public String getName() {
+		return file.getName();
+	}
+
+	public long getChecksum() {
+		return checksum;
+	}
+
+	public int getTrackCount() {
+		return trackCount;
+	}
+
+	public int getNoteCount() {
+		return noteCount;
+	}
+
+	public long getTickLength() {
+		return tickLength;
+	}
+
+	/** @return The length of the song in microseconds. */
+	public long getMicrosecondLength() {
+		return microsecondLength;
+	}
+
+	public int getTempoChangeCount() {
+		return tempoMap.length;
+	}
+
+	public long getTempoChangeTick(int index) {
+		return tempoMap[index] >>> 24;
+	}
+
+	/** @return The tempo set by a tempo change, in microseconds per beat. */
+	public int getTempoChange(int index) {
+		return (int) (tempoMap[index] & 0xFFFFFF);
+	}
+}
@@ -0,0 +1,363 @@
+package tools;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import javax.sound.midi.InvalidMidiDataException;
+import javax.swing.DefaultListModel;
+import javax.swing.SwingUtilities;
+
+/**
+ * This class keeps an index of the MIDI files in the tracks folder, so the
+ * song list does not have to read the folder each time it is shown, and a
+ * song is found from its name with one look up. The index is saved next to
+ * the folder and read back on start up, so the list is ready at once. The
+ * folder is then checked for files added, changed or removed while the
+ * program was closed, and watched for changes while it runs; only those
+ * files are read again.
+ *
+ * Songs are kept by the absolute path of their file, so a file chosen from
+ * another folder never replaces a song of the same name in the tracks folder.
+ * Such files are only kept until the program is closed, and are not saved in
+ * the index. The song list shows each song's file name, with its folder
+ * added where two songs have the same name.
+ */
+public class MIDILibraryIndex {
+
+	private static final int INDEX_MAGIC = 0x4D4C4958; // "MLIX"
+	private static final int INDEX_VERSION = 1;
+
+	private File directory;
+	private File indexFile;
+	// Songs in the tracks folder, which are saved, and songs added from
+	// elsewhere, which are not. Both are keyed by absolute path.
+	private final LinkedHashMap<String, MIDILibraryEntry> entries = new LinkedHashMap<String, MIDILibraryEntry>();
+	private final LinkedHashMap<String, MIDILibraryEntry> sessionEntries = new LinkedHashMap<String, MIDILibraryEntry>();
+	// The name shown in the song list for each path, and the path of each name
+	private final HashMap<String, String> displayNames = new HashMap<String, String>();
+	private final HashMap<String, String> pathsByDisplayName = new HashMap<String, String>();
+	private final DefaultListModel<String> songList = new DefaultListModel<String>();
+	private Thread watcher = null;
+
+	private static volatile MIDILibraryIndex instance = null;
+
+	private MIDILibraryIndex() {
+	}
+
+	public static MIDILibraryIndex getInstance() {
+		if (instance == null) {
+			synchronized (MIDILibraryIndex.class) {
+				if (instance == null) {
+					instance = new MIDILibraryIndex();
+				}
+			}
+		}
+		return instance;
+	}
+
+	/**
+	 * Loads the saved index of a folder, then brings it up to date and
+	 * watches the folder in the background.
+	 *
+	 * @param tracksFolder
+	 *            - The folder of MIDI files shown in the song list.
+	 */
+	public synchronized void open(File tracksFolder) {
+		if (watcher != null) {
+			return;
+		}
+		directory = tracksFolder;
+		indexFile = new File(directory.getParentFile(), directory.getName() + ".index");
+		load();
+
+		watcher = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				watch();
+			}
+		}, "MIDIMusicProgram-library-watcher");
+		watcher.setDaemon(true);
+		watcher.start();
+	}
+
+	private void load() {
+		if (!indexFile.isFile()) {
+			return;
+		}
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(indexFile)))) {
+			if (in.readInt() != INDEX_MAGIC || in.readInt() != INDEX_VERSION) {
+				return;
+			}
+			int count = in.readInt();
+			for (int i = 0; i < count; i++) {
+				MIDILibraryEntry entry = MIDILibraryEntry.read(in);
+				// Older indexes also saved songs added from other folders
+				if (isInDirectory(entry.getFile())) {
+					put(entry);
+				}
+			}
+		} catch (IOException e) {
+			// A damaged index is rebuilt from the folder
+			e.printStackTrace();
+		}
+	}
+
+	private void save() {
+		ArrayList<MIDILibraryEntry> saved;
+		synchronized (this) {
+			saved = new ArrayList<MIDILibraryEntry>(entries.values());
+		}
+		File temporary = new File(indexFile.getPath() + ".tmp");
+		try (DataOutputStream out = new DataOutputStream(
+				new BufferedOutputStream(new FileOutputStream(temporary)))) {
+			out.writeInt(INDEX_MAGIC);
+			out.writeInt(INDEX_VERSION);
+			out.writeInt(saved.size());
+			for (MIDILibraryEntry entry : saved) {
+				entry.write(out);
+			}
+		} catch (IOException e) {
+			e.printStackTrace();
+			return;
+		}
+		try {
+			Files.move(temporary.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Runs on the watcher thread. Checks every file against the index once,
+	 * then reads only the files the folder reports as changed.
+	 */
+	private void watch() {
+		if (!directory.isDirectory()) {
+			return;
+		}
+		reconcile();
+		save();
+		try (WatchService watchService = FileSystems.getDefault().newWatchService()) {
+			directory.toPath().register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY);
+			while (true) {
+				WatchKey key = watchService.take();
+				for (WatchEvent<?> event : key.pollEvents()) {
+					if (event.kind() == OVERFLOW) {
+						reconcile();
+					} else {
+						refresh(new File(directory, ((Path) event.context()).toString()));
+					}
+				}
+				save();
+				if (!key.reset()) {
+					break;
+				}
+			}
+		} catch (IOException e) {
+			e.printStackTrace();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Brings the whole index up to date with the folder.
+	 */
+	private void reconcile() {
+		File[] files = directory.listFiles();
+		if (files == null) {
+			return;
+		}
+		for (File aFile : files) {
+			refresh(aFile);
+		}
+		ArrayList<MIDILibraryEntry> indexed;
+		synchronized (this) {
+			indexed = new ArrayList<MIDILibraryEntry>(entries.values());
+		}
+		for (MIDILibraryEntry entry : indexed) {
+			if (!entry.getFile().isFile()) {
+				remove(entry.getFile());
+			}
+		}
+	}
+
+	/**
+	 * Reads a file again if it is new or has changed, or removes it from the
+	 * index if it has been deleted.
+	 */
+	private void refresh(File aFile) {
+		if (!aFile.isFile()) {
+			remove(aFile);
+			return;
+		}
+		MIDILibraryEntry existing;
+		synchronized (this) {
+			existing = entries.get(key(aFile));
+		}
+		if (existing != null && existing.matches(aFile)) {
+			return;
+		}
+		try {
+			MIDILibraryEntry entry = MIDILibraryEntry.scan(aFile);
+			if (existing != null && existing.getChecksum() == entry.getChecksum()) {
+				// Only touched, keep the entry's place in the list
+				entry = existing.touched(aFile.lastModified());
+			}
+			put(entry);
+		} catch (IOException | InvalidMidiDataException e) {
+			// Not a MIDI file, or still being written
+			remove(aFile);
+		}
+	}
+
+	/**
+	 * Adds a file chosen outside the tracks folder to the library, until the
+	 * program is closed.
+	 *
+	 * @return False if the file could not be read as a MIDI file.
+	 */
+	public boolean addFile(File aFile) {
+		try {
+			MIDILibraryEntry entry = MIDILibraryEntry.scan(aFile);
+			if (isInDirectory(aFile)) {
+				put(entry);
+			} else {
+				putSession(entry);
+			}
+			return true;
+		} catch (IOException | InvalidMidiDataException e) {
+			e.printStackTrace();
+			return false;
+		}
+	}
+
+	private static String key(File aFile) {
+		return aFile.getAbsolutePath();
+	}
+
+	private boolean isInDirectory(File aFile) {
+		File parent = aFile.getAbsoluteFile().getParentFile();
+		return directory != null && parent != null && parent.equals(directory.getAbsoluteFile());
+	}
+
+	private synchronized void put(MIDILibraryEntry entry) {
+		String path = key(entry.getFile());
+		if (entries.put(path, entry) == null) {
+			addDisplayName(path, entry.getFile());
+		}
+	}
+
+	private synchronized void putSession(MIDILibraryEntry entry) {
+		String path = key(entry.getFile());
+		if (sessionEntries.put(path, entry) == null) {
+			addDisplayName(path, entry.getFile());
+		}
+	}
+
+	private synchronized void remove(File aFile) {
+		String path = key(aFile);
+		if (entries.remove(path) != null || sessionEntries.remove(path) != null) {
+			String name = displayNames.remove(path);
+			pathsByDisplayName.remove(name);
+			updateSongList(name, false);
+		}
+	}
+
+	/**
+	 * Gives a new song the name of its file, or adds its folder to the name
+	 * when another song already has that name.
+	 */
+	private void addDisplayName(String path, File aFile) {
+		String name = aFile.getName();
+		if (pathsByDisplayName.containsKey(name)) {
+			File parent = aFile.getAbsoluteFile().getParentFile();
+			name = aFile.getName() + " (" + (parent == null ? path : parent.getName()) + ")";
+			for (int i = 2; pathsByDisplayName.containsKey(name); i++) {
+				name = aFile.getName() + " (" + i + ")";
+			}
+		}
+		displayNames.put(path, name);
+		pathsByDisplayName.put(name, path);
+		updateSongList(name, true);
+	}
+
+	private void updateSongList(final String name, final boolean add) {
+		Runnable update = new Runnable() {
+			@Override
+			public void run() {
+				if (add) {
+					songList.addElement(name);
+				} else {
+					songList.removeElement(name);
+				}
+			}
+		};
+		if (SwingUtilities.isEventDispatchThread()) {
+			update.run();
+		} else {
+			SwingUtilities.invokeLater(update);
+		}
+	}
+
+	/**
+	 * @return The names of the songs in the library, kept up to date on the
+	 *         Event Dispatch Thread.
+	 */
+	public DefaultListModel<String> getSongList() {
+		return songList;
+	}
+
+	/**
+	 * @param name
+	 *            - The name of the song, as shown in the song list.
+	 * @return The song's entry, or null if there is none.
+	 */
+	public synchronized MIDILibraryEntry getEntry(String name) {
+		String path = pathsByDisplayName.get(name);
+		if (path == null) {
+			return null;
+		}
+		MIDILibraryEntry entry = entries.get(path);
+		return entry != null ? entry : sessionEntries.get(path);
+	}
+
+	/**
+	 * @return The file of a song in the library, or null if there is none.
+	 */
+	public synchronized File getFile(String name) {
+		MIDILibraryEntry entry = getEntry(name);
+		return entry == null ? null : entry.getFile();
+	}
+
+	public synchronized ArrayList<File> getFiles() {
+		ArrayList<File> files = new ArrayList<File>(entries.size() + sessionEntries.size());
+		for (MIDILibraryEntry entry : entries.values()) {
+			files.add(entry.getFile());
+		}
+		for (MIDILibraryEntry entry : sessionEntries.values()) {
+			files.add(entry.getFile());
+		}
+		return files;
+	}
+}
@@ -0,0 +1,128 @@
+package tools;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Random;
+import javax.swing.ListModel;
+
+/**
+ * This class decides the order the MIDI file player plays the song list in
+ * when playlist mode is on. Songs play in list order, or in a shuffled order
+ * with the song picked by the user first, and at the end of the list the
+ * playlist either stops, starts again, or keeps repeating one song.
+ *
+ * The order is taken from the song list when a song is started, so songs
+ * added to the list while it plays are included from the next start.
+ */
+public class MIDIPlaylist {
+
+	public enum repeatModes {
+		Off, All, One
+	}
+
+	private final ListModel<String> songs;
+	private final ArrayList<String> order = new ArrayList<String>();
+	private final Random random = new Random();
+	private int position = -1;
+	private boolean shuffle = false;
+	private repeatModes repeat = repeatModes.Off;
+
+	/**
+	 * @param songs
+	 *            - The song list the playlist plays.
+	 */
+	public MIDIPlaylist(ListModel<String> songs) {
+		this.songs = songs;
+	}
+
+	/**
+	 * Starts the playlist from a song, taking the order from the song list.
+	 *
+	 * @param song
+	 *            - The name of the song being played.
+	 */
+	public synchronized void start(String song) {
+		order.clear();
+		for (int i = 0; i < songs.getSize(); i++) {
+			order.add(songs.getElementAt(i));
+		}
+		if (shuffle) {
+			Collections.shuffle(order, random);
+			// The chosen song plays first, then the rest at random
+			order.remove(song);
+			order.add(0, song);
+		}
+		position = order.indexOf(song);
+	}
+
+	/**
+	 * @return The song after the current one, without moving to it, or null
+	 *         when the playlist ends after the current song.
+	 */
+	public synchronized String peekNext() {
+		int next = nextPosition();
+		return next < 0 ? null : order.get(next);
+	}
+
+	/**
+	 * Moves to the song after the current one.
+	 *
+	 * @return The song to play next, or null when the playlist has ended.
+	 */
+	public synchronized String advance() {
+		position = nextPosition();
+		return position < 0 ? null : order.get(position);
+	}
+
+	private int nextPosition() {
+		if (position < 0 || order.isEmpty()) {
+			return -1;
+		}
+		if (repeat == repeatModes.One) {
+			return position;
+		}
+		if (position + 1 < order.size()) {
+			return position + 1;
+		}
+		return repeat == repeatModes.All ? 0 : -1;
+	}
+
+	public synchronized String getCurrentSong() {
+		return position < 0 ? null : order.get(position);
+	}
+
+	/**
+	 * Turns shuffle on or off, keeping the current song playing and changing
+	 * the order of the songs after it.
+	 */
+	public synchronized void setShuffle(boolean shuffle) {
+		this.shuffle = shuffle;
+		String current = getCurrentSong();
+		if (current != null) {
+			start(current);
+		}
+	}
+
+	public synchronized boolean isShuffle() {
+		return shuffle;
+	}
+
+	public synchronized void setRepeat(repeatModes repeat) {
+		this.repeat = repeat;
+	}
+
+	public synchronized repeatModes getRepeat() {
+		return repeat;
+	}
+
+	/**
+	 * Moves to the next repeat mode, in the order Off, All, One.
+	 *
+	 * @return The new repeat mode.
+	 */
+	public synchronized repeatModes cycleRepeat() {
+		repeatModes[] modes = repeatModes.values();
+		repeat = modes[(repeat.ordinal() + 1) % modes.length];
+		return repeat;
+	}
+}
@@ -6,6 +6,7 @@ import javax.sound.midi.Sequence;
 import javax.sound.midi.Track;
 import javax.swing.JToggleButton;
 import midi.MidiMessageTypes;
+import midi.RecordingClock;
 import midiDevices.PlayBackDevices;
 
 /**
@@ -73,6 +74,8 @@ public class MIDIRecord {
 	 */
 	public void enableRecord(JToggleButton recordMIDI) {
 		recordMIDI.setText("Rec");
+		// The first note of the new recording starts at tick 0
+		RecordingClock.getInstance().reset();
 		if (devices.getFirstRecording() == true) {
 			try {
 				devices.setFirstRecording(false);
@@ -0,0 +1,190 @@
+package tools;
+
+import java.util.EnumMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class runs the background work started by user interactions, such as
+ * playing a chord, a scale or a progression, or speaking its name. Rather than
+ * starting a new thread for each click, tasks are queued on a small bounded
+ * pool of threads, so that rapid clicking cannot create hundreds of threads.
+ *
+ * Each type of task belongs to a session, represented by a cancellation token.
+ * Stopping a type cancels its session: running tasks see their token cancelled
+ * and finish early, and queued ones are skipped. Tasks submitted after that
+ * are skipped too, until a new session is started.
+ *
+ * When the queue is full, a new task is rejected rather than queued.
+ */
+public class PlaybackExecutor {
+
+	private static final int POOL_THREADS = 4;
+	private static final int QUEUE_CAPACITY = 64;
+
+	public enum taskTypes {
+		Playback, Speech, Prefetch, Rendering
+	}
+
+	/**
+	 * A unit of work run by the executor.
+	 */
+	public interface PlaybackTask {
+		void run(CancellationToken token) throws Exception;
+	}
+
+	private final ThreadPoolExecutor pool;
+	private final ScheduledThreadPoolExecutor timer;
+	private final EnumMap<taskTypes, CancellationToken> sessions = new EnumMap<taskTypes, CancellationToken>(
+			taskTypes.class);
+
+	// Metrics
+	private final AtomicInteger queuedTasks = new AtomicInteger();
+	private final AtomicInteger runningTasks = new AtomicInteger();
+	private final AtomicLong completedTasks = new AtomicLong();
+	private final AtomicLong skippedTasks = new AtomicLong();
+	private final AtomicLong rejectedTasks = new AtomicLong();
+
+	private static volatile PlaybackExecutor instance = null;
+
+	private PlaybackExecutor() {
+		pool = new ThreadPoolExecutor(POOL_THREADS, POOL_THREADS, 30, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<Runnable>(QUEUE_CAPACITY), namedThreads("playback"));
+		pool.allowCoreThreadTimeOut(true);
+		timer = new ScheduledThreadPoolExecutor(1, namedThreads("timing"));
+		timer.setRemoveOnCancelPolicy(true);
+		for (taskTypes type : taskTypes.values()) {
+			sessions.put(type, new CancellationToken());
+		}
+	}
+
+	public static PlaybackExecutor getInstance() {
+		if (instance == null) {
+			synchronized (PlaybackExecutor.class) {
+				if (instance == null) {
+					instance = new PlaybackExecutor();
+				}
+			}
+		}
+		return instance;
+	}
+
+	private static ThreadFactory namedThreads(final String name) {
+		return new ThreadFactory() {
+			private final AtomicInteger count = new AtomicInteger();
+
+			@Override
+			public Thread newThread(Runnable r) {
+				Thread t = new Thread(r, "MIDIMusicProgram-" + name + "-" + count.incrementAndGet());
+				t.setDaemon(true);
+				return t;
+			}
+		};
+	}
+
+	/**
+	 * Queues a task to run in the current session of its type.
+	 *
+	 * @param type
+	 *            - The kind of work, which decides which session cancels it.
+	 * @param task
+	 *            - The work to run.
+	 * @return The token the task checks, which can also be cancelled alone, or
+	 *         null if the queue was full and the task will not run.
+	 */
+	public CancellationToken submit(taskTypes type, final PlaybackTask task) {
+		final CancellationToken token = getSession(type);
+		Runnable queued = new Runnable() {
+			@Override
+			public void run() {
+				queuedTasks.decrementAndGet();
+				if (token.isCancelled()) {
+					skippedTasks.incrementAndGet();
+					return;
+				}
+				runningTasks.incrementAndGet();
+				try {
+					task.run(token);
+				} catch (Exception e) {
+					e.printStackTrace();
+				} finally {
+					runningTasks.decrementAndGet();
+					completedTasks.incrementAndGet();
+				}
+			}
+		};
+		queuedTasks.incrementAndGet();
+		try {
+			pool.execute(queued);
+		} catch (RejectedExecutionException e) {
+			rejectedTasks.incrementAndGet();
+			queuedTasks.decrementAndGet();
+			return null;
+		}
+		return token;
+	}
+
+	/**
+	 * Runs a short task repeatedly on the timing thread.
+	 *
+	 * @return The handle used to cancel the repeating task.
+	 */
+	public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, long periodMillis) {
+		return timer.scheduleAtFixedRate(task, 0, periodMillis, TimeUnit.MILLISECONDS);
+	}
+
+	public synchronized CancellationToken getSession(taskTypes type) {
+		return sessions.get(type);
+	}
+
+	/**
+	 * Cancels every running and queued task of the given type. Tasks of this
+	 * type submitted afterwards are skipped until startSession is called.
+	 */
+	public synchronized void cancel(taskTypes type) {
+		sessions.get(type).cancel();
+	}
+
+	/**
+	 * Starts a new session for the given type, if the current one has been
+	 * cancelled, so that its tasks run again.
+	 */
+	public synchronized void startSession(taskTypes type) {
+		if (sessions.get(type).isCancelled()) {
+			sessions.put(type, new CancellationToken());
+		}
+	}
+
+	public int getQueuedTasks() {
+		return queuedTasks.get();
+	}
+
+	public int getRunningTasks() {
+		return runningTasks.get();
+	}
+
+	public long getCompletedTasks() {
+		return completedTasks.get();
+	}
+
+	public long getSkippedTasks() {
+		return skippedTasks.get();
+	}
+
+	public long getRejectedTasks() {
+		return rejectedTasks.get();
+	}
+
+	public String getMetrics() {
+		return "Playback tasks - queued: " + getQueuedTasks() + ", running: " + getRunningTasks() + ", completed: "
+				+ getCompletedTasks() + ", skipped: " + getSkippedTasks() + ", rejected: " + getRejectedTasks()
+				+ ", threads: " + pool.getPoolSize();
+	}
+}
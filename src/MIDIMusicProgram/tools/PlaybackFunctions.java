@@ -1,14 +1,10 @@
 package tools;
 
 import java.awt.Color;
-import java.time.Instant;
 import java.util.ArrayList;
-import java.util.Collection;
 import javax.sound.midi.InvalidMidiDataException;
-import javax.sound.midi.ShortMessage;
-import javax.swing.JButton;
+import keyboard.KeyColourModel;
 import keyboard.Note;
-import keyboard.VirtualKeyboard;
 import midi.Chord;
 import midi.ListOfScales;
 import midi.MidiMessageTypes;
@@ -16,11 +12,13 @@ import midi.Scale;
 import midiDevices.PlayBackDevices;
 
 /**
- * This class defines all interaction MIDI play back and colour mode.
+ * This class defines all interaction MIDI play back and colour mode. The list
+ * of coloured notes is used by the feature sets' playback threads and the
+ * Event Dispatch Thread, so it is only used under its own lock.
  */
 public class PlaybackFunctions {
 
-	private static ArrayList<Note> storedPreColorChords = new ArrayList<Note>();
+	private static final ArrayList<Note> storedPreColorChords = new ArrayList<Note>();
 	private static int medoldicIndexCounter = 0;
 	private static int notesIndex = 0;
 	private static int intervalPrevCounter;
@@ -32,25 +30,16 @@ public class PlaybackFunctions {
 
 	/**
 	 * This method updates the argument note's colour on the internal
-	 * controller. The system traverses all piano keys in memory (data structure
-	 * of JButtons), and when it finds button whose pitch matches the note's
-	 * pitch, it changes the colour using the argument colour.
+	 * controller. The colour is stored in the key colour model, which paints
+	 * the note's key in the next display frame.
 	 * 
 	 * @param aNote
 	 *            - The note to have its colour changed
-	 * @param aColor
+	 * @param aColour
 	 *            - The colour to change the note to.
 	 */
 	public static void colorChordsAndScales(Note aNote, Color aColour) {
-		JButton foundButton;
-		Collection<JButton> buttonNotes = VirtualKeyboard.getInstance().getButtons();
-		for (JButton buttonNote : buttonNotes) {
-			if (buttonNote.getText().equals(aNote.getName())) {
-				foundButton = buttonNote;
-				foundButton.setBackground(aColour);
-				break;
-			}
-		}
+		KeyColourModel.getInstance().setColour(aNote.getPitch(), aColour);
 	}
 
 	/**
@@ -59,6 +48,7 @@ public class PlaybackFunctions {
 	 */
 	public static void resetChordsColor() {
 		ArrayList<Note> getOriginal = getStoredPreNotes();
+		ColourModeListener.getInstance().resetColours();
 		for (Note aNote : getOriginal) {
 			if (aNote.getType().equals("Sharp")) {
 				colorChordsAndScales(aNote, Color.BLACK);
@@ -91,15 +81,17 @@ public class PlaybackFunctions {
 	 */
 	public static void resetLastNoteColor() {
 		Note lastNote = null;
-		if (MidiMessageTypes.getInstance().getRandomState()) {
-			lastNote = storedPreColorChords.get(randomIntervalCounter - 1);
-		} else if (MidiMessageTypes.getInstance().getMelodyInterval()) {
-			lastNote = storedPreColorChords.get(medoldicIndexCounter - 1);
-		}
+		synchronized (storedPreColorChords) {
+			if (MidiMessageTypes.getInstance().getRandomState()) {
+				lastNote = storedPreColorChords.get(randomIntervalCounter - 1);
+			} else if (MidiMessageTypes.getInstance().getMelodyInterval()) {
+				lastNote = storedPreColorChords.get(medoldicIndexCounter - 1);
+			}
 
-		// Feature set 3 only
-		else {
-			lastNote = storedPreColorChords.get(medoldicIndexCounter - 1);
+			// Feature set 3 only
+			else {
+				lastNote = storedPreColorChords.get(medoldicIndexCounter - 1);
+			}
 		}
 
 		if (lastNote.getType().equals("Sharp")) {
@@ -120,12 +112,9 @@ public class PlaybackFunctions {
 	 * is playing a song.
 	 */
 	public static void resetLastNotePianoColor(int pitch) {
-		Note lastNote = null;
-		for (Note aNote : storedPreColorChords) {
-			if (aNote.getPitch() == pitch) {
-				lastNote = aNote;
-				break;
-			}
+		Note lastNote = Note.getNoteByPitch(pitch);
+		if (lastNote == null) {
+			return;
 		}
 		if (lastNote.getType().equals("Sharp")) {
 			colorChordsAndScales(lastNote, Color.BLACK);
@@ -136,15 +125,25 @@ public class PlaybackFunctions {
 	}
 
 	public static void storedPreColorNotes(Note aNote) {
-		storedPreColorChords.add(aNote);
+		synchronized (storedPreColorChords) {
+			storedPreColorChords.add(aNote);
+		}
 	}
 
+	/**
+	 * @return A copy of the coloured notes, so it can be read while other
+	 *         threads colour more.
+	 */
 	public static ArrayList<Note> getStoredPreNotes() {
-		return storedPreColorChords;
+		synchronized (storedPreColorChords) {
+			return new ArrayList<Note>(storedPreColorChords);
+		}
 	}
 
 	public static void emptyNotes() {
-		storedPreColorChords.clear();
+		synchronized (storedPreColorChords) {
+			storedPreColorChords.clear();
+		}
 	}
 
 	/////////////////////////////////////////
@@ -207,20 +206,6 @@ public class PlaybackFunctions {
 		return direction;
 	}
 
-	/** Uses epoch time to create a res-usable, custom time delay feature. */
-	public static void timeDelay(int fixedTime) {
-		Instant instantOnTime = Instant.now();
-		long startTime = instantOnTime.toEpochMilli();
-
-		Instant newInstantOnTime = Instant.now();
-		long endTime = newInstantOnTime.toEpochMilli();
-		while (!(endTime - startTime > fixedTime)) {
-
-			newInstantOnTime = Instant.now();
-			endTime = newInstantOnTime.toEpochMilli();
-		}
-	}
-
 	///////////////////////////////////
 
 	/**
@@ -259,8 +244,7 @@ public class PlaybackFunctions {
 			storedPreColorNotes(intervalNote);
 			colorChordsAndScales(intervalNote, Color.YELLOW);
 		}
-		ShortMessage noteOne = new ShortMessage(ShortMessage.NOTE_ON, 0, intervalNote.getPitch(), 50);
-		PlayBackDevices.getInstance().send(noteOne, -1);
+		PlayBackDevices.getInstance().noteOn(intervalNote.getPitch(), 50);
 
 		if (messages.getRandomState()) {
 			if (messages.getNoColorFirst()) {
@@ -304,8 +288,7 @@ public class PlaybackFunctions {
 				colorChordsAndScales(aNote, Color.YELLOW);
 			}
 
-			ShortMessage noteOne = new ShortMessage(ShortMessage.NOTE_ON, 0, aNote.getPitch(), 50);
-			PlayBackDevices.getInstance().send(noteOne, -1);
+			PlayBackDevices.getInstance().noteOn(aNote.getPitch(), 50);
 		}
 	}
 
@@ -328,9 +311,8 @@ public class PlaybackFunctions {
 		for (Note aNote : notesInChord) {
 
 			if (isPlayOrDisplay()) {
-				ShortMessage noteOne = new ShortMessage(ShortMessage.NOTE_ON, 0, aNote.getPitch(), 50);
-				PlayBackDevices.getInstance().send(noteOne, -1);
-				timeDelay(1000);
+				PlayBackDevices.getInstance().noteOn(aNote.getPitch(), 50);
+				PlaybackScheduler.getInstance().delay(1000);
 			}
 			// Add second condition to other methods if needed
 			else if (swingComponents.getColorToggleStatus() || swingComponents.getRangeColorToggleStatus()) {
@@ -0,0 +1,85 @@
+package tools;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * This class times the gaps between notes and chords played by the feature
+ * sets. Rather than spinning for the whole gap, the waiting thread is parked
+ * until just before the deadline, and only spins for the final "spin window"
+ * to wake up on time. This keeps sub-millisecond accuracy while leaving the
+ * CPU free for the rest of the gap.
+ */
+public class PlaybackScheduler {
+
+	// Parking can wake up late by about a millisecond on most systems
+	private static final long DEFAULT_SPIN_WINDOW = TimeUnit.MICROSECONDS.toNanos(1500);
+
+	private volatile long spinWindowNanos = DEFAULT_SPIN_WINDOW;
+
+	private static volatile PlaybackScheduler instance = null;
+
+	private PlaybackScheduler() {
+	}
+
+	public static PlaybackScheduler getInstance() {
+		if (instance == null) {
+			synchronized (PlaybackScheduler.class) {
+				if (instance == null) {
+					instance = new PlaybackScheduler();
+				}
+			}
+		}
+		return instance;
+	}
+
+	/**
+	 * @param spinNanos
+	 *            - How long before a deadline the waiting thread stops parking
+	 *            and spins instead. 0 parks for the whole wait.
+	 */
+	public void setSpinWindow(long spinNanos) {
+		spinWindowNanos = Math.max(0, spinNanos);
+	}
+
+	public long getSpinWindow() {
+		return spinWindowNanos;
+	}
+
+	/**
+	 * Waits for a fixed time, e.g. the gap between two chords.
+	 *
+	 * @param millis
+	 *            - The time to wait in milliseconds.
+	 */
+	public void delay(long millis) {
+		waitUntil(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis));
+	}
+
+	/**
+	 * Waits until a time given by System.nanoTime. Taking an absolute deadline
+	 * lets a caller play a series of notes at fixed times, without each
+	 * wait's lateness adding up.
+	 *
+	 * @param deadline
+	 *            - The System.nanoTime value to wait until.
+	 * @return How late the thread woke up in nanoseconds, or a negative value if
+	 *         it was interrupted before the deadline.
+	 */
+	public long waitUntil(long deadline) {
+		long remaining = deadline - System.nanoTime();
+		while (remaining > spinWindowNanos) {
+			LockSupport.parkNanos(this, remaining - spinWindowNanos);
+
+			// Leave the interrupt for the caller to act on
+			if (Thread.currentThread().isInterrupted()) {
+				return System.nanoTime() - deadline;
+			}
+			remaining = deadline - System.nanoTime();
+		}
+		while (remaining > 0) {
+			remaining = deadline - System.nanoTime();
+		}
+		return -remaining;
+	}
+}
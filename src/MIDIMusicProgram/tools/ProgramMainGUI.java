@@ -9,28 +9,35 @@ import java.awt.Toolkit;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
 import java.awt.image.BufferedImage;
-import java.io.File;
 import java.io.IOException;
-import javax.imageio.ImageIO;
+import java.util.Arrays;
+import java.util.function.BiConsumer;
 import javax.sound.midi.InvalidMidiDataException;
 import javax.sound.midi.MidiUnavailableException;
 import javax.swing.BorderFactory;
 import javax.swing.JFrame;
+import javax.swing.JOptionPane;
 import javax.swing.JPanel;
 import midiDevices.GetInstruments;
+import midiDevices.OfflineRenderer;
 import keyboard.VirtualKeyboard;
 import midi.ChordProgressionActions;
-import midi.DurationTimer;
-import midi.ListOfChords;
 import midi.MidiMessageTypes;
+import midi.RecordingClock;
 import midiDevices.PlayBackDevices;
 import java.awt.Color;
 import java.awt.ComponentOrientation;
+import java.awt.Cursor;
+import keyboard.Note;
+import keyboard.PianoKeyboard;
+import midi.ListOfChords;
+import tools.StartupOrchestrator.StageListener;
 
 /**
  * This class handles loading all MIDI devices in memory, all music theory data
  * structures in memory, and the initial GUI to select either free play and
- * learn mode.
+ * learn mode. The welcome screen is shown first, while the rest of the program
+ * loads in the background, see loadApplication.
  */
 public class ProgramMainGUI implements MouseListener {
 
@@ -48,7 +55,13 @@ public class ProgramMainGUI implements MouseListener {
 	private JPanel bottomBlockPane = new JPanel();
 	private JPanel leftBlockPane = new JPanel();
 	private JPanel rightBlockPane = new JPanel();
-	private boolean startup = false;
+	private BufferedImage topBarImage;
+	private BufferedImage bottomBarImage;
+	private BufferedImage freePlayImage;
+	private BufferedImage learnImage;
+	private StartupOrchestrator startup;
+	private static long launchNanos = System.nanoTime();
+	private static boolean printTimeline = false;
 	private GridBagConstraints outerFrameGUIConstraints = new GridBagConstraints();
 	private SwingComponents components = SwingComponents.getInstance();
 
@@ -86,49 +99,106 @@ public class ProgramMainGUI implements MouseListener {
 
 	/**
 	 * Loads support for all required MIDI devices and data structures into
-	 * memory.
+	 * memory. Each part is a stage of the start up, run as soon as the stages
+	 * it needs have finished, so the welcome screen is shown straight away and
+	 * the devices, the theory catalogue and the images load at the same time.
 	 */
 	public void loadApplication() {
+		startup = new StartupOrchestrator(launchNanos);
 
-		try {
-			loadProgramWindowFrameGUI();
-			loadProgramOptions();
-
-			if (startup == false) {
+		startup.addStage("window", true, new StartupOrchestrator.StartupStage() {
+			@Override
+			public void run() throws IOException {
+				loadProgramWindowFrameGUI();
+			}
+		});
+		startup.addStage("images", false, new StartupOrchestrator.StartupStage() {
+			@Override
+			public void run() throws IOException {
+				ImageAssets assets = ImageAssets.getInstance();
+				topBarImage = assets.image("src/Images/TopBar.png");
+				bottomBarImage = assets.image("src/Images/BottomBar.png");
+				freePlayImage = assets.image("src/Images/piano-image.jpg");
+				learnImage = assets.image("src/Images/Music score.jpg");
+			}
+		});
+		startup.addStage("tiles", false, new StartupOrchestrator.StartupStage() {
+			@Override
+			public void run() throws IOException {
+				// Decoded now, so the first time they are shown is quick
+				ImageAssets.getInstance().prepare(ScreenPrompt.SELECTED_TILES);
+			}
+		});
+		startup.addStage("welcome", true, new StartupOrchestrator.StartupStage() {
+			@Override
+			public void run() throws IOException {
+				loadProgramOptions();
+				frame.revalidate();
+				frame.repaint();
+			}
+		}, "window", "images");
 
-				// Each of these classes use the Singleton pattern as the
-				// application only needs one instance of them for reference.
-				PlayBackDevices.getInstance();
+		// Each of these classes use the Singleton pattern as the
+		// application only needs one instance of them for reference.
+		startup.addStage("devices", false, new StartupOrchestrator.StartupStage() {
+			@Override
+			public void run() throws InvalidMidiDataException, MidiUnavailableException {
 				PlayBackDevices.getInstance().startConnection();
-				DurationTimer.getInstance();
+			}
+		});
+		startup.addStage("theory", false, new StartupOrchestrator.StartupStage() {
+			@Override
+			public void run() {
+				// Load all notes for set piano (e.g. 61, 88), which the chords
+				// and scales are built from
+				Note.storePianoNotes(PianoKeyboard.LOWEST_PITCH, PianoKeyboard.HIGHEST_PITCH);
+				ListOfChords.getInstance().loadCatalogue();
+				ChordProgressionActions.getInstance();
+			}
+		});
+		startup.addStage("instruments", false, new StartupOrchestrator.StartupStage() {
+			@Override
+			public void run() {
+				GetInstruments.getInstance();
+			}
+		}, "devices");
+		startup.addStage("recording", false, new StartupOrchestrator.StartupStage() {
+			@Override
+			public void run() {
+				RecordingClock.getInstance();
+				MidiMessageTypes.getInstance().setNoteListener(ColourModeListener.getInstance());
+			}
+		}, "devices");
+		startup.addStage("library", true, new StartupOrchestrator.StartupStage() {
+			@Override
+			public void run() {
 				MIDIFileManager.getInstance();
+			}
+		}, "welcome");
+		startup.addStage("piano", true, new StartupOrchestrator.StartupStage() {
+			@Override
+			public void run() throws InvalidMidiDataException, MidiUnavailableException {
 				MIDIFilePlayer.getInstance();
-				MidiMessageTypes.getInstance();
-				GetInstruments.getInstance();
 				Metronome.getInstance();
 				ScreenPrompt.getInstance();
-				ChordProgressionActions.getInstance();
-
-				// Load all notes for set piano (e.g. 61, 88) on system startup
-				VirtualKeyboard.getInstance().createWholeKeys();
-				VirtualKeyboard.getInstance().createSharpKeys();
+				VirtualKeyboard.getInstance().createPianoKeys();
 				VirtualKeyboard.getInstance().freePlayOrMakeTrack();
-				////////////////////////////////////////////////////////////
-
-				ListOfChords listInstance = ListOfChords.getInstance();
-				listInstance.setAllKeyNotes();
-				listInstance.loadMajorChords(listInstance.getAllKeyNotes());
-				listInstance.loadMinorChords(listInstance.getAllKeyNotes());
-				listInstance.loadHalfDimishedChords(listInstance.getAllKeyNotes());
-				listInstance.loadFullyDiminishedScaleChords(listInstance.getAllKeyNotes());
-
-				startup = true;
 			}
+		}, "theory", "instruments", "recording", "library");
 
-		} catch (InvalidMidiDataException | MidiUnavailableException | IOException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
+		if (printTimeline) {
+			startup.all().whenComplete(new BiConsumer<Void, Throwable>() {
+				@Override
+				public void accept(Void result, Throwable failure) {
+					startup.printTimeline(System.err);
+				}
+			});
 		}
+		startup.start();
+	}
+
+	public StartupOrchestrator getStartup() {
+		return startup;
 	}
 
 	/** Loads all welcome GUI visual elements into memory aMain features */
@@ -139,9 +209,6 @@ public class ProgramMainGUI implements MouseListener {
 
 	/** Create border frame visual elements to be used in welcome GUI */
 	public void createGUIBorder() throws IOException {
-		BufferedImage topBarImage = ImageIO.read(new File("src/Images/TopBar.png"));
-		BufferedImage bottomBarImage = ImageIO.read(new File("src/Images/BottomBar.png"));
-
 		topBlockPane = components.guiBorderPanel(topBarImage, screenWidth, screenHeight / 6, Color.decode("#008080"), 0,
 				0, 2, 0);
 		leftBlockPane = components.generateEventPanel(screenWidth / 12, screenHeight / 2, null, Color.decode("#181818"),
@@ -196,13 +263,11 @@ public class ProgramMainGUI implements MouseListener {
 	 * respectfully.
 	 */
 	public void createFeatureImages() throws IOException {
-		BufferedImage bufFreePlayPianoImage = ImageIO.read(new File("src/Images/piano-image.jpg"));
-		freePlayPanel = components.customizeFeaturePanel(screenWidth / 4, screenHeight / 3, this, bufFreePlayPianoImage,
+		freePlayPanel = components.customizeFeaturePanel(screenWidth / 4, screenHeight / 3, this, freePlayImage,
 				"Free");
 		freePlayPanel.setBackground(Color.decode("#181818"));
 
-		BufferedImage bufLearnImage = ImageIO.read(new File("src/Images/Music score.jpg"));
-		learnMode = components.customizeFeaturePanel(screenWidth / 4, screenHeight / 3, this, bufLearnImage, "Learn");
+		learnMode = components.customizeFeaturePanel(screenWidth / 4, screenHeight / 3, this, learnImage, "Learn");
 		learnMode.setBackground(Color.decode("#181818"));
 
 		SwingComponents components = SwingComponents.getInstance();
@@ -213,7 +278,38 @@ public class ProgramMainGUI implements MouseListener {
 		centerPane.add(learnMode, styleGUI);
 	}
 
+	/**
+	 * Starts the program, or one of its command line tools. On Java 9 or
+	 * later, saving a recording as a .wav file and --render need the program
+	 * to be started with:
+	 *
+	 * java --add-exports java.desktop/com.sun.media.sound=ALL-UNNAMED
+	 * tools.ProgramMainGUI
+	 *
+	 * @param args
+	 *            - Empty to start the program, or --analyse, --render or
+	 *            --benchmark followed by the tool's arguments. --timeline
+	 *            prints when each start up stage ran.
+	 */
 	public static void main(String[] args) {
+		launchNanos = System.nanoTime();
+		// Headless batch analysis, see BatchAnalysis
+		if (args.length > 0 && args[0].equals("--analyse")) {
+			BatchAnalysis.run(Arrays.copyOfRange(args, 1, args.length));
+			return;
+		}
+		// Headless rendering to WAV files, see OfflineRenderer
+		if (args.length > 0 && args[0].equals("--render")) {
+			OfflineRenderer.run(Arrays.copyOfRange(args, 1, args.length));
+			return;
+		}
+		// Headless benchmarks of the busiest code, see Benchmarks
+		if (args.length > 0 && args[0].equals("--benchmark")) {
+			Benchmarks.run(Arrays.copyOfRange(args, 1, args.length));
+			return;
+		}
+		// Prints when each start up stage ran, see StartupOrchestrator
+		printTimeline = Arrays.asList(args).contains("--timeline");
 		EventQueue.invokeLater(new Runnable() {
 			public void run() {
 				ProgramMainGUI.getInstance();
@@ -224,25 +320,37 @@ public class ProgramMainGUI implements MouseListener {
 	@Override
 	public void mouseClicked(MouseEvent e) {
 		Object obj = e.getSource();
-
+		final boolean learn;
 		if (obj.equals(freePlayPanel)) {
-			try {
-				frame.setVisible(false);
-				VirtualKeyboard.getInstance().createVirtualKeyboard(false);
-			} catch (InvalidMidiDataException | MidiUnavailableException | IOException e1) {
-				e1.printStackTrace();
-			}
+			learn = false;
+		} else if (obj.equals(learnMode)) {
+			learn = true;
+		} else {
+			return;
 		}
 
-		else if (obj.equals(learnMode)) {
-			try {
-				frame.setVisible(false);
-				VirtualKeyboard.getInstance().createVirtualKeyboard(true);
+		// The piano opens once the rest of the program has loaded
+		frame.setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+		startup.whenReady("piano", new StageListener() {
+			@Override
+			public void ready() {
+				frame.setCursor(Cursor.getDefaultCursor());
+				try {
+					frame.setVisible(false);
+					VirtualKeyboard.getInstance().createVirtualKeyboard(learn);
+				} catch (InvalidMidiDataException | MidiUnavailableException | IOException e1) {
+					e1.printStackTrace();
+				}
+			}
 
-			} catch (InvalidMidiDataException | MidiUnavailableException | IOException e1) {
-				e1.printStackTrace();
+			@Override
+			public void failed(Throwable failure) {
+				frame.setCursor(Cursor.getDefaultCursor());
+				JOptionPane.showMessageDialog(frame,
+						"The piano could not be opened, as the program did not finish loading:\n" + failure,
+						"Start Up Failed", JOptionPane.ERROR_MESSAGE);
 			}
-		}
+		});
 	}
 
 	@Override
@@ -224,10 +224,11 @@ public class Quizes implements MouseListener {
 		randomChordName = ScreenPrompt.random(allMajorChordNames);
 		text.append("Chords Quiz \n\nThe purpose of this quiz is to find\nout if this chord is a major or minor\n\n");
 
+		int rootPitch = Note.getPitchByName(baseRoot + "3");
 		int i = 0;
 		for (Chord aChord : allMajorChords) {
-			if (aChord.getChordName().equals(randomChordName)) {
-				if (aChord.getChordNotes().get(0).getName().equals(baseRoot + "3")) {
+			if (aChord.getBassPitch() == rootPitch) {
+				if (aChord.getChordName().equals(randomChordName)) {
 					majorChordChoice = aChord;
 					minorChordChoice = allMinorChords.get(i);
 					break;
@@ -290,7 +291,7 @@ public class Quizes implements MouseListener {
 		try {
 			for (Chord aChordOne : randomProgressionName.getProgressionChords()) {
 				PlaybackFunctions.playAnyChordLength(aChordOne);
-				PlaybackFunctions.timeDelay(1000);
+				PlaybackScheduler.getInstance().delay(1000);
 			}
 			if (randomProgressionName.getProgressionName().contains(randomMajorProgressionString)) {
 				userChoice.setName("Major");
@@ -313,9 +314,10 @@ public class Quizes implements MouseListener {
 	public void handleChords() {
 		try {
 			PlaybackFunctions.playAnyChordLength(randomChordChoice);
-			if (randomChordChoice.getChordName().contains("maj")) {
+			// A major third above the root makes it major, a minor third minor
+			if (randomChordChoice.containsInterval(4)) {
 				userChoice.setName("Major");
-			} else if (randomChordChoice.getChordName().contains("min")) {
+			} else if (randomChordChoice.containsInterval(3)) {
 				userChoice.setName("Minor");
 			}
 
@@ -334,9 +336,9 @@ public class Quizes implements MouseListener {
 		try {
 			PlaybackFunctions.playOrDisplay(true);
 			PlaybackFunctions.displayOrPlayScale(randomScaleName);
-			if (randomScaleName.getScaleName().contains("Ionian")) {
+			if (randomScaleName.containsInterval(4)) {
 				userChoice.setName("Major");
-			} else if (randomScaleName.getScaleName().contains("Aeolian")) {
+			} else if (randomScaleName.containsInterval(3)) {
 				userChoice.setName("Minor");
 			}
 		} catch (InvalidMidiDataException | InterruptedException | EngineStateError e) {
@@ -2,15 +2,12 @@ package tools;
 
 import java.awt.event.*;
 import java.awt.image.BufferedImage;
-import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Map.Entry;
 import java.awt.*;
-import javax.imageio.ImageIO;
 import javax.sound.midi.InvalidMidiDataException;
 import javax.sound.midi.Transmitter;
 import javax.speech.AudioException;
@@ -29,6 +26,7 @@ import midi.ListOfChords;
 import midi.ListOfScales;
 import midi.MidiMessageTypes;
 import midi.Scale;
+import midi.PatternCompiler;
 import midi.TypesOfArpeggios;
 import midi.Scale.ascendingSolfege;
 import midi.Scale.descendingSolfege;
@@ -37,6 +35,8 @@ import midi.Scale.hexaTonicDegrees;
 import midi.Scale.octaTonicDegree;
 import midi.Scale.pentatonicDegrees;
 import midiDevices.PlayBackDevices;
+import tools.PlaybackExecutor.PlaybackTask;
+import tools.PlaybackExecutor.taskTypes;
 
 /**
  * This class contains the applications screen prompt and displays the feature
@@ -45,6 +45,14 @@ import midiDevices.PlayBackDevices;
 
 public class ScreenPrompt implements MouseListener, ActionListener {
 
+	// The tiles shown while the mouse is over a feature tile, see mouseEntered
+	public static final String[] SELECTED_TILES = { "src/Images/Chord selected tile image.png",
+			"src/Images/Chord inversion selected tile image.png", "src/Images/Scale selected tile image.png",
+			"src/Images/Relative selected tile image.png", "src/Images/Progression selected tile image.png",
+			"src/Images/Genres selected tile image.png", "src/Images/Quizes selected tile image.png",
+			"src/Images/Quizes 1 selected tile image.png", "src/Images/Quizes 2 selected tile image.png",
+			"src/Images/Quizes 3 selected tile image.png" };
+
 	// GUI Swing components
 	private JPanel basePanel = null;
 	private JTextArea contentTextArea;
@@ -117,13 +125,14 @@ public class ScreenPrompt implements MouseListener, ActionListener {
 	private MidiMessageTypes messages = MidiMessageTypes.getInstance();
 	private TypesOfArpeggios preg = TypesOfArpeggios.getInstance();
 	private SwingComponents components = SwingComponents.getInstance();
+	private ImageAssets assets = ImageAssets.getInstance();
 	private ChordProgressionActions prog = ChordProgressionActions.getInstance();
 	private ChordProgression progressionChord;
 	private ArrayList<Chord> inversionChords = new ArrayList<Chord>();
 	private String scaleOrder = "";
 	private int progressionType;
 
-	private static volatile boolean stopPlayback = false;
+	private PlaybackExecutor executor = PlaybackExecutor.getInstance();
 	private static volatile boolean changeApreggio = false;
 	private static volatile ScreenPrompt instance = null;
 
@@ -315,6 +324,8 @@ public class ScreenPrompt implements MouseListener, ActionListener {
 		}
 		int width = basePanel.getPreferredSize().width / 3;
 		int height = basePanel.getPreferredSize().height / 3;
+		// Scales the selected tiles before the mouse first moves over a tile
+		assets.prepareScaled(width, height, SELECTED_TILES);
 		for (int i = 1; i < 8; i++) {
 			if (i == 1 || i == 2 || i == 3) {
 				actionBarConstraints = components.conditionalConstraints(1, 1, 0, 0, GridBagConstraints.NONE);
@@ -335,10 +346,10 @@ public class ScreenPrompt implements MouseListener, ActionListener {
 				case 1:
 					JPanel chord = null;
 					if (quizEnabled) {
-						BufferedImage chordBuff = ImageIO.read(new File("src/Images/Chord quiz tile image.png"));
+						BufferedImage chordBuff = assets.image("src/Images/Chord quiz tile image.png");
 						chord = components.customizeFeaturePanel(width, height, this, chordBuff, "Chords Quiz");
 					} else {
-						BufferedImage chordBuff = ImageIO.read(new File("src/Images/Chord tile image.png"));
+						BufferedImage chordBuff = assets.image("src/Images/Chord tile image.png");
 						chord = components.customizeFeaturePanel(width, height, this, chordBuff, "Chords");
 					}
 					chord.setBackground(Color.white);
@@ -349,8 +360,7 @@ public class ScreenPrompt implements MouseListener, ActionListener {
 
 				case 2:
 					if (!quizEnabled) {
-						BufferedImage inversionBuff = ImageIO
-								.read(new File("src/Images/Chord inversion tile image.png"));
+						BufferedImage inversionBuff = assets.image("src/Images/Chord inversion tile image.png");
 						JPanel inversion = components.customizeFeaturePanel(width, height, this, inversionBuff,
 								"Inversions");
 						inversion.setBackground(Color.white);
@@ -362,10 +372,10 @@ public class ScreenPrompt implements MouseListener, ActionListener {
 				case 3:
 					JPanel scales = null;
 					if (quizEnabled) {
-						BufferedImage scalesBuff = ImageIO.read(new File("src/Images/Scale quiz tile image.png"));
+						BufferedImage scalesBuff = assets.image("src/Images/Scale quiz tile image.png");
 						scales = components.customizeFeaturePanel(width, height, this, scalesBuff, "Scales Quiz");
 					} else {
-						BufferedImage scalesBuff = ImageIO.read(new File("src/Images/Scale tile image.png"));
+						BufferedImage scalesBuff = assets.image("src/Images/Scale tile image.png");
 						scales = components.customizeFeaturePanel(width, height, this, scalesBuff, "Scales");
 					}
 					scales.setBackground(Color.white);
@@ -376,7 +386,7 @@ public class ScreenPrompt implements MouseListener, ActionListener {
 
 				case 4:
 					if (!quizEnabled) {
-						BufferedImage relativeBuff = ImageIO.read(new File("src/Images/Reletive pitch tile image.png"));
+						BufferedImage relativeBuff = assets.image("src/Images/Reletive pitch tile image.png");
 						JPanel relative = components.customizeFeaturePanel(width, height, this, relativeBuff,
 								"Relative");
 						relative.setBackground(Color.white);
@@ -388,13 +398,11 @@ public class ScreenPrompt implements MouseListener, ActionListener {
 				case 5:
 					JPanel progression = null;
 					if (quizEnabled) {
-						BufferedImage progressionBuff = ImageIO
-								.read(new File("src/Images/Chord progression quiz tile image.png"));
+						BufferedImage progressionBuff = assets.image("src/Images/Chord progression quiz tile image.png");
 						progression = components.customizeFeaturePanel(width, height, this, progressionBuff,
 								"Progressions Quiz");
 					} else {
-						BufferedImage progressionBuff = ImageIO
-								.read(new File("src/Images/Chord Progression tile image.png"));
+						BufferedImage progressionBuff = assets.image("src/Images/Chord Progression tile image.png");
 						progression = components.customizeFeaturePanel(width, height, this, progressionBuff,
 								"Progressions");
 					}
@@ -405,7 +413,7 @@ public class ScreenPrompt implements MouseListener, ActionListener {
 
 				case 6:
 					if (!quizEnabled) {
-						BufferedImage genresBuff = ImageIO.read(new File("src/Images/Genres tile image.png"));
+						BufferedImage genresBuff = assets.image("src/Images/Genres tile image.png");
 						JPanel genres = components.customizeFeaturePanel(width, height, this, genresBuff, "Genres");
 						genres.setBackground(Color.white);
 						actionBarConstraints.anchor = GridBagConstraints.EAST;
@@ -414,7 +422,7 @@ public class ScreenPrompt implements MouseListener, ActionListener {
 					break;
 				case 7:
 					if (!quizEnabled) {
-						BufferedImage quizBuff = ImageIO.read(new File("src/Images/Quizes tile image.png"));
+						BufferedImage quizBuff = assets.image("src/Images/Quizes tile image.png");
 						JPanel quiz = components.customizeFeaturePanel(width, height, this, quizBuff, "Quizes");
 						quiz.setBackground(Color.white);
 						actionBarConstraints.anchor = GridBagConstraints.SOUTH;
@@ -538,11 +546,11 @@ public class ScreenPrompt implements MouseListener, ActionListener {
 
 	public void displayProgressions() throws InvalidMidiDataException {
 		if (progressionType == 0) {
-			conditionalModel = prog.getMajorChordProgressions();
+			conditionalModel = components.listModel(prog.getMajorChordProgressions());
 		}
 
 		else if (progressionType == 5) {
-			conditionalModel = prog.getMinorChordProgressions();
+			conditionalModel = components.listModel(prog.getMinorChordProgressions());
 		}
 		jListInput = new JList<String>(conditionalModel);
 		components.colourMenuPanels(jListInput, Color.decode("#303030"), Color.decode("#505050"));
@@ -559,7 +567,7 @@ public class ScreenPrompt implements MouseListener, ActionListener {
 	public void displayChordOrScalesNamesPrompt() throws InvalidMidiDataException {
 		// Feature 3 and 4
 		if (scalesFeature == true || relativePitchFeature == true) {
-			conditionalModel = Scale.getScales();
+			conditionalModel = components.listModel(Scale.getScales());
 			jListInput = new JList<String>(conditionalModel);
 			jListInput.setName("Scale Names");
 			jListInput.setLayoutOrientation(JList.HORIZONTAL_WRAP);
@@ -938,12 +946,7 @@ public class ScreenPrompt implements MouseListener, ActionListener {
 	public void generateRandomPitch() {
 		Collection<Integer> currentScaleIntervels = ListOfScales.getInstance().getScalePitchValues();
 		Integer guestInterval = random(currentScaleIntervels);
-		for (Entry<String, Note> entry : Note.getNotesMap().entrySet()) {
-			if (entry.getValue().getPitch() == guestInterval) {
-				foundInterval = Note.getNotesMap().get(entry.getKey());
-				break;
-			}
-		}
+		foundInterval = Note.getNoteByPitch(guestInterval);
 	}
 
 	public void playNextScaleInterval(int index) throws InvalidMidiDataException {
@@ -1138,43 +1141,43 @@ public class ScreenPrompt implements MouseListener, ActionListener {
 		try {
 			switch (featureChosen) {
 			case "Chords":
-				BufferedImage chordAltBuff = ImageIO.read(new File(file));
+				BufferedImage chordAltBuff = assets.image(file);
 				updateDisplay(panelName, chordAltBuff, 0, 0, 0, GridBagConstraints.WEST);
 				break;
 			case "Inversions":
-				BufferedImage inversionAltBuff = ImageIO.read(new File(file));
+				BufferedImage inversionAltBuff = assets.image(file);
 				updateDisplay(panelName, inversionAltBuff, 1, 0, 0, GridBagConstraints.NORTH);
 				break;
 			case "Scales":
-				BufferedImage scalesAltBuff = ImageIO.read(new File(file));
+				BufferedImage scalesAltBuff = assets.image(file);
 				updateDisplay(panelName, scalesAltBuff, 2, 0, 0, GridBagConstraints.EAST);
 				break;
 			case "Relative":
-				BufferedImage relativeAltBuff = ImageIO.read(new File(file));
+				BufferedImage relativeAltBuff = assets.image(file);
 				updateDisplay(panelName, relativeAltBuff, 3, 0, 2, GridBagConstraints.WEST);
 				break;
 			case "Progressions":
-				BufferedImage progressionAltBuff = ImageIO.read(new File(file));
+				BufferedImage progressionAltBuff = assets.image(file);
 				updateDisplay(panelName, progressionAltBuff, 4, 0, 2, GridBagConstraints.SOUTH);
 				break;
 			case "Genres":
-				BufferedImage genreAltBuff = ImageIO.read(new File(file));
+				BufferedImage genreAltBuff = assets.image(file);
 				updateDisplay(panelName, genreAltBuff, 5, 0, 2, GridBagConstraints.EAST);
 				break;
 			case "Quizes":
-				BufferedImage quizAltBuff = ImageIO.read(new File(file));
+				BufferedImage quizAltBuff = assets.image(file);
 				updateDisplay(panelName, quizAltBuff, 6, 0, 1, GridBagConstraints.CENTER);
 				break;
 			case "Chords Quiz":
-				BufferedImage chordQuizAltBuff = ImageIO.read(new File(file));
+				BufferedImage chordQuizAltBuff = assets.image(file);
 				updateDisplay(panelName, chordQuizAltBuff, 1, 0, 0, GridBagConstraints.WEST);
 				break;
 			case "Scales Quiz":
-				BufferedImage scaleQuizAltBuff = ImageIO.read(new File(file));
+				BufferedImage scaleQuizAltBuff = assets.image(file);
 				updateDisplay(panelName, scaleQuizAltBuff, 2, 0, 0, GridBagConstraints.EAST);
 				break;
 			case "Progressions Quiz":
-				BufferedImage progressionQuizAltBuff = ImageIO.read(new File(file));
+				BufferedImage progressionQuizAltBuff = assets.image(file);
 				updateDisplay(panelName, progressionQuizAltBuff, 3, 0, 0, GridBagConstraints.CENTER);
 				break;
 			}
@@ -1425,7 +1428,8 @@ public class ScreenPrompt implements MouseListener, ActionListener {
 			reverseOnce = false;
 			chordProgressionFeature = false;
 			createSong = false;
-			stopPlayback = true;
+			PatternCompiler.stopPlaying();
+			stopPlayback();
 			// Reset choice
 			preg.storeCurrentChoice("Clear");
 			PlaybackFunctions.setIndexCounter(0);
@@ -1453,7 +1457,7 @@ public class ScreenPrompt implements MouseListener, ActionListener {
 				inversionFeature = false; // turn off inversion feature on home
 											// return
 				PlaybackFunctions.resetChordsColor();
-				stopPlayback = true;
+				stopPlayback();
 			}
 			// ADDED relativePitchFeature addition - might cause problems
 			else if (scalesFeature == true || relativePitchFeature == true) {
@@ -1464,12 +1468,12 @@ public class ScreenPrompt implements MouseListener, ActionListener {
 				Scale.resetScalesLists();
 				PlaybackFunctions.resetChordsColor();
 				// Stop playback thread
-				stopPlayback = true;
+				stopPlayback();
 
 			} else if (chordFeature == true) {
 				chordFeature = false;
 				PlaybackFunctions.resetChordsColor();
-				stopPlayback = true;
+				stopPlayback();
 			}
 			// Might need to tamper with this
 			else if (chordProgressionFeature == true) {
@@ -1477,15 +1481,16 @@ public class ScreenPrompt implements MouseListener, ActionListener {
 				PlaybackFunctions.resetChordsColor();
 
 				progressionChord.getProgressionChords().clear();
-				stopPlayback = true;
+				stopPlayback();
 				// Reset choice
 				preg.storeCurrentChoice("Clear");
 			}
 
 			else if (createSong) {
 				createSong = false;
+				PatternCompiler.stopPlaying();
 				PlaybackFunctions.resetChordsColor();
-				stopPlayback = true;
+				stopPlayback();
 
 			}
 
@@ -1584,7 +1589,7 @@ public class ScreenPrompt implements MouseListener, ActionListener {
 													// with previous stored root
 													// note
 					// Enable chord and chord inversion playback
-					stopPlayback = false;
+					enablePlayback();
 					VirtualKeyboard.getInstance().updateScreenPrompt();
 				}
 
@@ -1599,7 +1604,7 @@ public class ScreenPrompt implements MouseListener, ActionListener {
 					ListOfScales.getInstance().displayedScaleNotes(foundScale);
 
 					// Enable scale start
-					stopPlayback = false;
+					enablePlayback();
 					VirtualKeyboard.getInstance().updateScreenPrompt();
 				}
 
@@ -1620,7 +1625,7 @@ public class ScreenPrompt implements MouseListener, ActionListener {
 					pageState = 3;
 					String choice = jListInput.getSelectedValue();
 					String key = Chord.getStoredRoot();
-					stopPlayback = false;
+					enablePlayback();
 					Genre.getInstance().createSong(key, choice);
 
 				}
@@ -1644,7 +1649,7 @@ public class ScreenPrompt implements MouseListener, ActionListener {
 						reverseOnce = false;
 					}
 					// Enable Relative Pitch start
-					stopPlayback = false;
+					enablePlayback();
 					scaleOrder = conditionalModel.getElementAt(index);
 					VirtualKeyboard.getInstance().updateScreenPrompt();
 				}
@@ -1655,7 +1660,7 @@ public class ScreenPrompt implements MouseListener, ActionListener {
 					String selectedProgression = conditionalModel.getElementAt(index);
 
 					// Enable Chord progression start
-					stopPlayback = false;
+					enablePlayback();
 
 					// Store chosen progression to use in quiz
 					prog.storeCurrentProgressionString(selectedProgression);
@@ -1727,7 +1732,7 @@ public class ScreenPrompt implements MouseListener, ActionListener {
 
 						components.changeColorToggle(false);
 						// Stop play back of thread
-						stopPlayback = true;
+						stopPlayback();
 						PlaybackFunctions.resetChordsColor();
 					}
 
@@ -1739,7 +1744,7 @@ public class ScreenPrompt implements MouseListener, ActionListener {
 							inversionChords = new ArrayList<Chord>();
 							inversionCounter = 1;
 							chordInstance.resetInversion();
-							stopPlayback = true;
+							stopPlayback();
 						}
 
 						// DONT ADD RESET SCALES AT THIS POINT BECAUSE THE
@@ -1755,11 +1760,12 @@ public class ScreenPrompt implements MouseListener, ActionListener {
 							components.changeColorToggle(false);
 							Chord.resetChordsLists(); // Stops list over filling
 							PlaybackFunctions.resetChordsColor();
-							stopPlayback = true;
+							stopPlayback();
 						}
 
 						else if (createSong || createSong && components.getColorToggleStatus()) {
 							pageState = 1;
+							PatternCompiler.stopPlaying();
 							PlaybackFunctions.resetChordsColor();
 							components.changeColorToggle(false); 
 							// Turn off color mode
@@ -1769,7 +1775,7 @@ public class ScreenPrompt implements MouseListener, ActionListener {
 						String temp = Chord.getStoredChord();
 						temp = temp.replace(Chord.getStoredChordName(), "");
 						Chord.storeRoot(temp);
-						stopPlayback = true;
+						stopPlayback();
 					}
 				}
 
@@ -1783,7 +1789,7 @@ public class ScreenPrompt implements MouseListener, ActionListener {
 						PlaybackFunctions.resetChordsColor();
 						reverseOnce = false;
 						// Disable relative pitch back
-						stopPlayback = true;
+						stopPlayback();
 					}
 					// Either its own, turn it off, clear list and trigger stop
 					// thread, or make false again, clear list and trigger stop
@@ -1792,7 +1798,8 @@ public class ScreenPrompt implements MouseListener, ActionListener {
 							|| chordProgressionFeature && components.getColorToggleStatus() == false) {
 						progressionChord.getProgressionChords().clear();
 						components.changeColorToggle(false);
-						stopPlayback = true;
+						stopPlayback();
+						PatternCompiler.stopPlaying();
 						// Reset choice
 						preg.storeCurrentChoice("Clear");
 						
@@ -1815,12 +1822,12 @@ public class ScreenPrompt implements MouseListener, ActionListener {
 
 			else if (obj.equals(playChordState)) {
 
-				new Thread(new Runnable() {
+				executor.submit(taskTypes.Playback, new PlaybackTask() {
 					@Override
-					public void run() {
+					public void run(CancellationToken token) {
 
 						try {
-							if (!stopPlayback) {
+							if (!token.isCancelled()) {
 								// Feature 2 play back
 								if (inversionFeature == true) {
 									Chord playCurrentInversion = chordInstance.getCurrentInversion();
@@ -1841,28 +1848,28 @@ public class ScreenPrompt implements MouseListener, ActionListener {
 							e.printStackTrace();
 						}
 					}
-				}).start();
+				});
 			}
 
 			else if (obj.equals(playScaleState)) {
 				// Feature 3 play back
-				new Thread(new Runnable() {
+				executor.submit(taskTypes.Playback, new PlaybackTask() {
 					@Override
-					public void run() {
+					public void run(CancellationToken token) {
 						try {
 							// int i = 0;
 							for (Note aNote : foundScale.getScaleNotesList()) {
 								// End thread if user leaves progressions page
-								if (!stopPlayback) {
+								if (!token.isCancelled()) {
 									PlaybackFunctions.playIntervalNote(aNote);
 									String editedNote = aNote.getName();
 									editedNote = editedNote.substring(0, editedNote.length() - 1);
 									editedNote = editedNote.contains("#") ? editedNote.replace("#", " SHARP")
 											: editedNote;
 
-									PlaybackFunctions.timeDelay(500);
+									PlaybackScheduler.getInstance().delay(500);
 									TTS.getInstance().prepareFunction("Scale", editedNote);
-									PlaybackFunctions.timeDelay(1000);
+									PlaybackScheduler.getInstance().delay(1000);
 								}
 								// When scale has finished played, the last note
 								// in the scale has its colour reset.If the user presses the home
@@ -1877,7 +1884,7 @@ public class ScreenPrompt implements MouseListener, ActionListener {
 							e.printStackTrace();
 						}
 					}
-				}).start();
+				});
 			}
 
 			////////////////////////////////////////////////////////////////////////////////
@@ -2127,21 +2134,21 @@ public class ScreenPrompt implements MouseListener, ActionListener {
 					}
 				}
 				getBits[k] = strongRoot;
-				new Thread(new Runnable() {
+				executor.submit(taskTypes.Playback, new PlaybackTask() {
 					@Override
-					public void run() {
+					public void run(CancellationToken token) {
 						try {
 							int i = 0;
 							int textIndex = 2;
 							for (Chord aChord : dummy) {
 								// End thread if user leaves progressions page
-								if (!stopPlayback) {
+								if (!token.isCancelled()) {
 
 									if (!changeApreggio || preg.getCurrentChoice().equals("Clear")) {
 										PlaybackFunctions.playAnyChordLength(aChord);
 										TTS.getInstance().prepareFunction("Progression", getBits[i]);
 										components.colourJText(contentTextArea, textIndex);
-										PlaybackFunctions.timeDelay(1000);
+										PlaybackScheduler.getInstance().delay(1000);
 										PlaybackFunctions.resetChordsColor();
 										i++;
 										textIndex++;
@@ -2165,7 +2172,7 @@ public class ScreenPrompt implements MouseListener, ActionListener {
 							e.printStackTrace();
 						}
 					}
-				}).start();
+				});
 
 			}
 		} catch (InvalidMidiDataException e) {
@@ -2179,12 +2186,18 @@ public class ScreenPrompt implements MouseListener, ActionListener {
 	public void mouseReleased(MouseEvent arg0) {
 	}
 
-	public boolean getShared() {
-		return stopPlayback;
+	/**
+	 * Cancels the feature's playback and speech, e.g. when the user presses
+	 * home or previous. Playback stays disabled until a feature is entered again.
+	 */
+	public void stopPlayback() {
+		executor.cancel(taskTypes.Playback);
+		executor.cancel(taskTypes.Speech);
 	}
 
-	public void changeSharedState(boolean change) {
-		stopPlayback = change;
+	public void enablePlayback() {
+		executor.startSession(taskTypes.Playback);
+		executor.startSession(taskTypes.Speech);
 	}
 
 	@Override
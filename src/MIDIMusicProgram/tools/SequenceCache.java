@@ -0,0 +1,196 @@
+package tools;
+
+import java.io.File;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.sound.midi.MidiEvent;
+import javax.sound.midi.Sequence;
+import javax.sound.midi.Track;
+import tools.PlaybackExecutor.PlaybackTask;
+import tools.PlaybackExecutor.taskTypes;
+
+/**
+ * This class keeps the sequences of the MIDI files played most recently, so
+ * playing a song again, or skipping back and forth between songs, does not
+ * read the file again. The cache is limited by an estimate of the memory its
+ * sequences' events use, and the song used least recently is dropped first.
+ *
+ * The songs either side of the one playing can be read into the cache ahead
+ * of time, on the PlaybackExecutor rather than the Event Dispatch Thread.
+ */
+public class SequenceCache {
+
+	private static final long MAX_BYTES = 48L * 1024 * 1024;
+
+	// Rough size of a MidiEvent, its message and its place in the track's
+	// list and set, not counting the message's bytes
+	private static final int EVENT_BYTES = 120;
+
+	private final LinkedHashMap<String, CachedSequence> sequences = new LinkedHashMap<String, CachedSequence>(16,
+			0.75f, true);
+	private final HashSet<String> prefetching = new HashSet<String>();
+	private long cachedBytes = 0;
+
+	// Metrics
+	private long hits = 0;
+	private long misses = 0;
+
+	private static volatile SequenceCache instance = null;
+
+	private SequenceCache() {
+	}
+
+	public static SequenceCache getInstance() {
+		if (instance == null) {
+			synchronized (SequenceCache.class) {
+				if (instance == null) {
+					instance = new SequenceCache();
+				}
+			}
+		}
+		return instance;
+	}
+
+	/**
+	 * A fully read sequence, with the modified time and size of its file when
+	 * it was read.
+	 */
+	private static class CachedSequence {
+		final Sequence sequence;
+		final long modified;
+		final long size;
+		final long bytes;
+
+		CachedSequence(Sequence sequence, long modified, long size, long bytes) {
+			this.sequence = sequence;
+			this.modified = modified;
+			this.size = size;
+			this.bytes = bytes;
+		}
+
+		boolean matches(File aFile) {
+			return aFile.lastModified() == modified && aFile.length() == size;
+		}
+	}
+
+	/**
+	 * @return The file's sequence, or null if it is not cached or the file has
+	 *         changed since it was read.
+	 */
+	public synchronized Sequence get(File aFile) {
+		String key = aFile.getPath();
+		CachedSequence cached = sequences.get(key);
+		if (cached != null && !cached.matches(aFile)) {
+			remove(key);
+			cached = null;
+		}
+		if (cached == null) {
+			misses++;
+			return null;
+		}
+		hits++;
+		return cached.sequence;
+	}
+
+	/**
+	 * Adds a file's sequence, once every event of it has been read, then drops
+	 * the songs used least recently until the cache is back within its limit.
+	 *
+	 * @param aFile
+	 *            - The file the sequence was read from.
+	 * @param sequence
+	 *            - The file's complete sequence.
+	 */
+	public void put(File aFile, Sequence sequence) {
+		long bytes = estimateBytes(sequence);
+		if (bytes > MAX_BYTES) {
+			return;
+		}
+		CachedSequence cached = new CachedSequence(sequence, aFile.lastModified(), aFile.length(), bytes);
+		synchronized (this) {
+			String key = aFile.getPath();
+			remove(key);
+			sequences.put(key, cached);
+			cachedBytes += bytes;
+
+			Iterator<Map.Entry<String, CachedSequence>> eldest = sequences.entrySet().iterator();
+			while (cachedBytes > MAX_BYTES && eldest.hasNext()) {
+				CachedSequence dropped = eldest.next().getValue();
+				if (dropped != cached) {
+					cachedBytes -= dropped.bytes;
+					eldest.remove();
+				}
+			}
+		}
+	}
+
+	private void remove(String key) {
+		CachedSequence removed = sequences.remove(key);
+		if (removed != null) {
+			cachedBytes -= removed.bytes;
+		}
+	}
+
+	/**
+	 * Reads a file into the cache in the background, unless it is already
+	 * cached or being read.
+	 *
+	 * @param aFile
+	 *            - The file of a song likely to be played next.
+	 */
+	public void prefetch(final File aFile) {
+		if (aFile == null) {
+			return;
+		}
+		synchronized (this) {
+			CachedSequence cached = sequences.get(aFile.getPath());
+			if (cached != null && cached.matches(aFile) || !prefetching.add(aFile.getPath())) {
+				return;
+			}
+		}
+		PlaybackExecutor.getInstance().startSession(taskTypes.Prefetch);
+		CancellationToken token = PlaybackExecutor.getInstance().submit(taskTypes.Prefetch, new PlaybackTask() {
+			@Override
+			public void run(CancellationToken token) throws Exception {
+				try {
+					put(aFile, MIDIFileStreamer.read(aFile));
+				} finally {
+					synchronized (SequenceCache.this) {
+						prefetching.remove(aFile.getPath());
+					}
+				}
+			}
+		});
+		// Rejected when the queue is full, so the file can be read again later
+		if (token == null) {
+			synchronized (this) {
+				prefetching.remove(aFile.getPath());
+			}
+		}
+	}
+
+	private static long estimateBytes(Sequence sequence) {
+		long bytes = 0;
+		for (Track aTrack : sequence.getTracks()) {
+			int size = aTrack.size();
+			bytes += (long) size * EVENT_BYTES;
+			for (int i = 0; i < size; i++) {
+				MidiEvent event = aTrack.get(i);
+				bytes += event.getMessage().getLength();
+			}
+		}
+		return bytes;
+	}
+
+	public synchronized void clear() {
+		sequences.clear();
+		cachedBytes = 0;
+	}
+
+	public synchronized String getMetrics() {
+		return "Sequence cache - songs: " + sequences.size() + ", bytes: " + cachedBytes + " of " + MAX_BYTES
+				+ ", hits: " + hits + ", misses: " + misses;
+	}
+}
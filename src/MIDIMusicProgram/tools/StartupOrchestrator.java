@@ -0,0 +1,254 @@
+package tools;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import javax.swing.SwingUtilities;
+
+/**
+ * This class loads the program in stages, running each stage as soon as the
+ * stages it depends on have finished. Independent stages, such as opening the
+ * MIDI devices, building the theory catalogue and decoding images, run at the
+ * same time on a small pool of threads, while stages that build Swing
+ * components run on the Event Dispatch Thread. A stage can only depend on
+ * stages added before it, so the stages cannot wait on each other in a loop.
+ *
+ * The start and end of each stage is recorded, and can be printed as a
+ * timeline to find what makes the program slow to start.
+ */
+public class StartupOrchestrator {
+
+	private static final int POOL_THREADS = 3;
+
+	/**
+	 * A stage of the program's start up.
+	 */
+	public interface StartupStage {
+		void run() throws Exception;
+	}
+
+	/**
+	 * Work to do on the Event Dispatch Thread once a stage has finished, e.g.
+	 * resetting the cursor whichever way the stage finished.
+	 */
+	public interface StageListener {
+		void ready();
+
+		/**
+		 * @param failure
+		 *            - Why the stage, or a stage it depends on, failed.
+		 */
+		void failed(Throwable failure);
+	}
+
+	/** When a stage ran, and on which thread. */
+	private static class StageTiming {
+		final String name;
+		final String thread;
+		final long startNanos;
+		final long endNanos;
+		final Throwable failure;
+
+		StageTiming(String name, String thread, long startNanos, long endNanos, Throwable failure) {
+			this.name = name;
+			this.thread = thread;
+			this.startNanos = startNanos;
+			this.endNanos = endNanos;
+			this.failure = failure;
+		}
+	}
+
+	private static final Executor EVENT_DISPATCH_THREAD = new Executor() {
+		@Override
+		public void execute(Runnable task) {
+			SwingUtilities.invokeLater(task);
+		}
+	};
+
+	private final long launchNanos;
+	private final ExecutorService pool;
+	private final CompletableFuture<Void> started = new CompletableFuture<Void>();
+	private final LinkedHashMap<String, CompletableFuture<Void>> stages = new LinkedHashMap<String, CompletableFuture<Void>>();
+	private final ArrayList<StageTiming> timeline = new ArrayList<StageTiming>();
+
+	/**
+	 * @param launchNanos
+	 *            - The System.nanoTime() the program was launched at, which
+	 *            the timeline is measured from.
+	 */
+	public StartupOrchestrator(long launchNanos) {
+		this.launchNanos = launchNanos;
+		pool = Executors.newFixedThreadPool(POOL_THREADS, new ThreadFactory() {
+			private final AtomicInteger count = new AtomicInteger();
+
+			@Override
+			public Thread newThread(Runnable r) {
+				Thread t = new Thread(r, "MIDIMusicProgram-startup-" + count.incrementAndGet());
+				t.setDaemon(true);
+				return t;
+			}
+		});
+	}
+
+	/**
+	 * Adds a stage, which runs once start has been called and every stage it
+	 * depends on has finished. If one of those stages fails, this stage is not
+	 * run and fails too.
+	 *
+	 * @param name
+	 *            - The stage's name, used by later stages and the timeline.
+	 * @param onEventDispatchThread
+	 *            - True if the stage creates or changes Swing components.
+	 * @param stage
+	 *            - The work of the stage.
+	 * @param dependsOn
+	 *            - The names of the stages that must finish first.
+	 */
+	public synchronized void addStage(final String name, boolean onEventDispatchThread, final StartupStage stage,
+			String... dependsOn) {
+		if (stages.containsKey(name)) {
+			throw new IllegalArgumentException("Start up stage " + name + " has already been added");
+		}
+		CompletableFuture<?>[] dependencies = new CompletableFuture<?>[dependsOn.length + 1];
+		dependencies[0] = started;
+		for (int i = 0; i < dependsOn.length; i++) {
+			dependencies[i + 1] = stages.get(dependsOn[i]);
+			if (dependencies[i + 1] == null) {
+				throw new IllegalArgumentException("Start up stage " + name + " depends on " + dependsOn[i]
+						+ ", which has not been added");
+			}
+		}
+		CompletableFuture<Void> done = CompletableFuture.allOf(dependencies).thenRunAsync(new Runnable() {
+			@Override
+			public void run() {
+				long start = System.nanoTime();
+				Throwable failure = null;
+				try {
+					stage.run();
+				} catch (Exception e) {
+					failure = e;
+					throw new CompletionException(e);
+				} finally {
+					record(new StageTiming(name, Thread.currentThread().getName(), start, System.nanoTime(),
+							failure));
+				}
+			}
+		}, onEventDispatchThread ? EVENT_DISPATCH_THREAD : pool);
+		stages.put(name, done);
+	}
+
+	/**
+	 * Starts running the stages. Stages added after this run as soon as their
+	 * dependencies have finished.
+	 */
+	public void start() {
+		started.complete(null);
+		all().whenComplete(new BiConsumer<Void, Throwable>() {
+			@Override
+			public void accept(Void result, Throwable failure) {
+				pool.shutdown();
+			}
+		});
+	}
+
+	/**
+	 * Tells a listener on the Event Dispatch Thread once a stage has finished,
+	 * e.g. when a button that needs the MIDI devices is clicked while the
+	 * program is still starting. If the stage has already finished, the
+	 * listener is told straight away when called on the Event Dispatch Thread.
+	 *
+	 * @param name
+	 *            - The stage to wait for.
+	 * @param listener
+	 *            - Told that the stage is ready, or why it failed.
+	 */
+	public void whenReady(String name, final StageListener listener) {
+		CompletableFuture<Void> stage;
+		synchronized (this) {
+			stage = stages.get(name);
+		}
+		if (stage == null) {
+			throw new IllegalArgumentException("No start up stage is called " + name);
+		}
+		BiConsumer<Void, Throwable> tell = new BiConsumer<Void, Throwable>() {
+			@Override
+			public void accept(Void result, Throwable failure) {
+				if (failure == null) {
+					listener.ready();
+				} else {
+					listener.failed(failure instanceof CompletionException && failure.getCause() != null
+							? failure.getCause() : failure);
+				}
+			}
+		};
+		if (stage.isDone() && SwingUtilities.isEventDispatchThread()) {
+			stage.whenComplete(tell);
+			return;
+		}
+		stage.whenCompleteAsync(tell, EVENT_DISPATCH_THREAD);
+	}
+
+	public synchronized boolean isReady(String name) {
+		CompletableFuture<Void> stage = stages.get(name);
+		return stage != null && stage.isDone() && !stage.isCompletedExceptionally();
+	}
+
+	/** @return A future completed once every stage added so far has finished. */
+	public synchronized CompletableFuture<Void> all() {
+		return CompletableFuture.allOf(stages.values().toArray(new CompletableFuture<?>[stages.size()]));
+	}
+
+	private synchronized void record(StageTiming timing) {
+		timeline.add(timing);
+		if (timing.failure != null) {
+			System.err.println("Start up stage " + timing.name + " failed");
+			timing.failure.printStackTrace();
+		}
+	}
+
+	/**
+	 * Prints each stage that has run, in the order they finished, with its
+	 * start and end time since launch and the thread it ran on.
+	 *
+	 * @param out
+	 *            - The stream to print to, e.g. System.err.
+	 */
+	public synchronized void printTimeline(PrintStream out) {
+		out.println("Start up timeline (ms since launch)");
+		out.println(String.format(Locale.ROOT, "  %-12s %9s %9s %9s  %s", "Stage", "Start", "End", "Took",
+				"Thread"));
+		for (StageTiming timing : timeline) {
+			out.println(String.format(Locale.ROOT, "  %-12s %9.1f %9.1f %9.1f  %s%s", timing.name,
+					millisSinceLaunch(timing.startNanos), millisSinceLaunch(timing.endNanos),
+					(timing.endNanos - timing.startNanos) / 1e6, timing.thread,
+					timing.failure == null ? "" : "  FAILED: " + timing.failure));
+		}
+		for (String name : stages.keySet()) {
+			if (stages.get(name).isCompletedExceptionally() && !hasTiming(name)) {
+				out.println(String.format(Locale.ROOT, "  %-12s not run, as a stage it depends on failed", name));
+			}
+		}
+	}
+
+	private boolean hasTiming(String name) {
+		for (StageTiming timing : timeline) {
+			if (timing.name.equals(name)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private double millisSinceLaunch(long nanos) {
+		return (nanos - launchNanos) / 1e6;
+	}
+}
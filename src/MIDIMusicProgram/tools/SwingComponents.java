@@ -5,14 +5,15 @@ import java.awt.Component;
 import java.awt.Dimension;
 import java.awt.Font;
 import java.awt.GridBagConstraints;
-import java.awt.Image;
 import java.awt.LayoutManager;
 import java.awt.Toolkit;
 import java.awt.event.ActionListener;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
 import java.awt.image.BufferedImage;
+import java.util.List;
 import javax.swing.BorderFactory;
+import javax.swing.DefaultListModel;
 import javax.swing.DefaultListCellRenderer;
 import javax.swing.ImageIcon;
 import javax.swing.JButton;
@@ -32,6 +33,7 @@ import javax.swing.border.LineBorder;
 import javax.swing.text.BadLocationException;
 import javax.swing.text.DefaultHighlighter;
 import javax.swing.text.Highlighter;
+import midi.MidiMessageTypes;
 import midi.TypesOfArpeggios;
 
 /**
@@ -40,7 +42,6 @@ import midi.TypesOfArpeggios;
  */
 public class SwingComponents implements MouseListener {
 
-	private boolean colorToggleState = false;
 	private boolean colorRangeToggleState = false;
 	private boolean displayScaleNotesOnly = false;
 	private TypesOfArpeggios arpeggioType = TypesOfArpeggios.getInstance();
@@ -82,12 +83,13 @@ public class SwingComponents implements MouseListener {
 		return displayScaleNotesOnly;
 	}
 
+	/** Colour mode is kept by MidiMessageTypes, so it can be used without a display */
 	public void changeColorToggle(boolean state) {
-		colorToggleState = state;
+		MidiMessageTypes.getInstance().setColourMode(state);
 	}
 
 	public boolean getColorToggleStatus() {
-		return colorToggleState;
+		return MidiMessageTypes.getInstance().isColourMode();
 	}
 
 	public void changeRangeColorToggle(boolean rangeState) {
@@ -113,6 +115,21 @@ public class SwingComponents implements MouseListener {
 		area.getHighlighter().addHighlight(startIndex, endIndex, painter);
 	}
 
+	/**
+	 * Copies a list of names kept by the theory or device classes into a
+	 * model a JList can show.
+	 * 
+	 * @param names
+	 *            - The names to show, in order.
+	 */
+	public DefaultListModel<String> listModel(List<String> names) {
+		DefaultListModel<String> model = new DefaultListModel<String>();
+		for (String name : names) {
+			model.addElement(name);
+		}
+		return model;
+	}
+
 	public static int getJListWidth() {
 		return jListTableWidth;
 	}
@@ -326,9 +343,7 @@ public class SwingComponents implements MouseListener {
 		JButton aButton = new JButton();
 		aButton.setPreferredSize(new Dimension(width, height));
 		aButton.setName(name);
-		Image image = buff.getScaledInstance(width, height, Image.SCALE_SMOOTH);
-		ImageIcon imageIcon = new ImageIcon(image);
-		aButton.setIcon(imageIcon);
+		aButton.setIcon(ImageAssets.getInstance().scaledIcon(buff, width, height));
 		aButton.setBackground(c);
 		aButton.setBorder(new LineBorder(cTwo));
 		aButton.setFocusPainted(con);
@@ -358,12 +373,8 @@ public class SwingComponents implements MouseListener {
 		aJToggleButton.setBorder(new LineBorder(borderColor));
 		aJToggleButton.setFocusPainted(focus);
 		aJToggleButton.setContentAreaFilled(content);
-		Image scaledOff = aImageOff.getScaledInstance(50, 42, Image.SCALE_SMOOTH);
-		ImageIcon aIcon = new ImageIcon(scaledOff);
-		Image scaledOn = aImageOn.getScaledInstance(50, 42, Image.SCALE_SMOOTH);
-		ImageIcon aIconTwo = new ImageIcon(scaledOn);
-		aJToggleButton.setIcon(aIcon);
-		aJToggleButton.setSelectedIcon(aIconTwo);
+		aJToggleButton.setIcon(ImageAssets.getInstance().scaledIcon(aImageOff, 50, 42));
+		aJToggleButton.setSelectedIcon(ImageAssets.getInstance().scaledIcon(aImageOn, 50, 42));
 		return aJToggleButton;
 	}
 
@@ -382,9 +393,7 @@ public class SwingComponents implements MouseListener {
 		aJToggleButton.setFocusPainted(focus);
 		aJToggleButton.setContentAreaFilled(contentFilled);
 		if (!toggle) {
-			Image scaled = buff.getScaledInstance(width, height, Image.SCALE_SMOOTH);
-			ImageIcon aIcon = new ImageIcon(scaled);
-			aJToggleButton.setIcon(aIcon);
+			aJToggleButton.setIcon(ImageAssets.getInstance().scaledIcon(buff, width, height));
 		} else {
 			ImageIcon recOffIcon = new ImageIcon(buff);
 			aJToggleButton.setIcon(recOffIcon);
@@ -434,10 +443,7 @@ public class SwingComponents implements MouseListener {
 	}
 
 	public JLabel customiseImageAsJLabel(BufferedImage carriedBufferedImage, int width, int height) {
-		Image scaledOff = null;
-		scaledOff = carriedBufferedImage.getScaledInstance(width, height, Image.SCALE_SMOOTH);
-		JLabel picLabel = new JLabel(new ImageIcon(scaledOff));
-		return picLabel;
+		return new JLabel(ImageAssets.getInstance().scaledIcon(carriedBufferedImage, width, height));
 	}
 
 	public JPanel customizeFeaturePanel(int width, int height, MouseListener listen, BufferedImage carriedBufferedImage,
@@ -450,10 +456,7 @@ public class SwingComponents implements MouseListener {
 			carriedJPanel.setName(name);
 		}
 		carriedJPanel.addMouseListener(listen);
-		Image scaledOff = null;
-		scaledOff = carriedBufferedImage.getScaledInstance(width, height, Image.SCALE_SMOOTH);
-
-		JLabel picLabel = new JLabel(new ImageIcon(scaledOff));
+		JLabel picLabel = new JLabel(ImageAssets.getInstance().scaledIcon(carriedBufferedImage, width, height));
 		carriedJPanel.add(picLabel);
 		return carriedJPanel;
 	}
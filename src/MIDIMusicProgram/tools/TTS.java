@@ -9,6 +9,8 @@ import javax.speech.synthesis.Synthesizer;
 import javax.speech.synthesis.SynthesizerModeDesc;
 import midi.Chord;
 import midi.ChordProgression;
+import tools.PlaybackExecutor.PlaybackTask;
+import tools.PlaybackExecutor.taskTypes;
 
 /**
  * This class utilises the "FreetTTS" engine to output speech for given feature
@@ -62,7 +64,7 @@ public class TTS {
 	 * @return  The natural language version of the chord argument's name.
 	 */
 	public String theoryToTTS(Chord foundChord) {
-		PlaybackFunctions.timeDelay(1000);
+		PlaybackScheduler.getInstance().delay(1000);
 		String name = foundChord.getChordNotes().get(0).getName();
 		String editedNote = name.substring(0, name.length() - 1);
 		editedNote = editedNote.contains("#") ? editedNote.replace("#", " SHARP") : editedNote;
@@ -144,15 +146,13 @@ public class TTS {
 	public void prepareFunction(String feature, String text)
 			throws EngineException, EngineStateError, IllegalArgumentException, InterruptedException, AudioException {
 
-		new Thread(new Runnable() {
+		PlaybackExecutor.getInstance().submit(taskTypes.Speech, new PlaybackTask() {
 			@Override
-			public void run() {
+			public void run(CancellationToken token) {
 				try {
-					// Use shared volatile boolean, is triggered to true
-					// depending on which feature state uses it.
-					// This is because previous and home makes it true and this
-					// is reflected here
-					if (!ScreenPrompt.getInstance().getShared()) {
+					// The token is cancelled when previous or home is pressed,
+					// as the feature's speech is no longer needed
+					if (!token.isCancelled()) {
 						ArrayList<String> conditionalData = new ArrayList<String>();
 						switch (feature) {
 
@@ -187,14 +187,14 @@ public class TTS {
 
 						
 						if(feature.equals("Progression")){
-							PlaybackFunctions.timeDelay(400);
+							PlaybackScheduler.getInstance().delay(400);
 							synthesizer.speakPlainText(conditionalData.get(0), null);
 						}
 						else {
 						for (String aString : conditionalData) {
 							// speaks the given text until queue is empty.
 							synthesizer.speakPlainText(aString, null);
-							PlaybackFunctions.timeDelay(1000);
+							PlaybackScheduler.getInstance().delay(1000);
 						}
 						}
 						synthesizer.waitEngineState(Synthesizer.QUEUE_EMPTY);
@@ -203,6 +203,6 @@ public class TTS {
 					e.printStackTrace();
 				}
 			}
-		}).start();
+		});
 	}
 }
\ No newline at end of file